@@ -8,10 +8,14 @@ import com.workreserve.backend.admin.DTO.UserGrowthStatsResponse;
 import com.workreserve.backend.admin.DTO.DailyActivityStatsResponse;
 import com.workreserve.backend.admin.DTO.WeeklyRevenueStatsResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -22,6 +26,9 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private AdminExportService adminExportService;
+
     @GetMapping("/stats")
     public ResponseEntity<AdminStatsResponse> getAdminStats() {
         AdminStatsResponse stats = adminService.getAdminStats();
@@ -63,4 +70,22 @@ public class AdminController {
         List<WeeklyRevenueStatsResponse> stats = adminService.getWeeklyRevenueStats();
         return ResponseEntity.ok(stats);
     }
-}
\ No newline at end of file
+
+    @GetMapping(value = "/export/timeslots", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTimeSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(adminExportService.exportTimeSlots(startDate, endDate));
+    }
+
+    @GetMapping(value = "/export/reservations", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(adminExportService.exportReservations(startDate, endDate));
+    }
+}
@@ -0,0 +1,143 @@
+package com.workreserve.backend.admin;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workreserve.backend.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// Streams slots and reservations as newline-delimited JSON straight from a JDBC cursor, so an export
+// holds one fetch of rows and the generator's buffer in memory whatever the date range. PostgreSQL
+// only uses a cursor for the fetch size inside a transaction, hence the read-only transaction around
+// each query. When the client goes away the next write fails, which closes the result set and ends
+// the transaction, stopping the query.
+@Service
+public class AdminExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminExportService.class);
+
+    private static final String TIME_SLOTS_SQL =
+            "SELECT ts.id, ts.date, ts.start_time, ts.end_time, ts.room_id, r.name, ts.active_reservation_id " +
+            "FROM time_slots ts JOIN rooms r ON r.id = ts.room_id " +
+            "WHERE ts.date BETWEEN ? AND ? ORDER BY ts.date, ts.start_time, ts.id";
+
+    private static final String RESERVATIONS_SQL =
+            "SELECT res.id, res.slot_id, ts.date, ts.start_time, ts.end_time, ts.room_id, res.user_id, u.email, " +
+            "res.status, res.team_size, res.total_cost, res.created_at " +
+            "FROM reservations res JOIN time_slots ts ON ts.id = res.slot_id JOIN users u ON u.id = res.user_id " +
+            "WHERE ts.date BETWEEN ? AND ? ORDER BY ts.date, ts.start_time, res.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.fetch-size:500}")
+    private int fetchSize = 500;
+
+    public StreamingResponseBody exportTimeSlots(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        return out -> export(TIME_SLOTS_SQL, startDate, endDate, out, (rs, json) -> {
+            long activeReservationId = rs.getLong(7);
+            boolean booked = !rs.wasNull();
+            json.writeNumberField("id", rs.getLong(1));
+            json.writeStringField("date", rs.getObject(2, LocalDate.class).toString());
+            json.writeStringField("startTime", rs.getObject(3, LocalTime.class).toString());
+            json.writeStringField("endTime", rs.getObject(4, LocalTime.class).toString());
+            json.writeNumberField("roomId", rs.getLong(5));
+            json.writeStringField("roomName", rs.getString(6));
+            json.writeBooleanField("booked", booked);
+            if (booked) {
+                json.writeNumberField("reservationId", activeReservationId);
+            }
+        });
+    }
+
+    public StreamingResponseBody exportReservations(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        return out -> export(RESERVATIONS_SQL, startDate, endDate, out, (rs, json) -> {
+            json.writeNumberField("id", rs.getLong(1));
+            json.writeNumberField("slotId", rs.getLong(2));
+            json.writeStringField("date", rs.getObject(3, LocalDate.class).toString());
+            json.writeStringField("startTime", rs.getObject(4, LocalTime.class).toString());
+            json.writeStringField("endTime", rs.getObject(5, LocalTime.class).toString());
+            json.writeNumberField("roomId", rs.getLong(6));
+            json.writeNumberField("userId", rs.getLong(7));
+            json.writeStringField("userEmail", rs.getString(8));
+            json.writeStringField("status", rs.getString(9));
+            json.writeNumberField("teamSize", rs.getInt(10));
+            json.writeNumberField("totalCost", rs.getDouble(11));
+            json.writeStringField("createdAt", rs.getObject(12, LocalDateTime.class).toString());
+        });
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("End date must not be before start date");
+        }
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs, JsonGenerator json) throws SQLException, IOException;
+    }
+
+    private void export(String sql, LocalDate startDate, LocalDate endDate, OutputStream out, RowWriter rowWriter)
+            throws IOException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            // Closing the generator must not close the response stream under Spring.
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            int[] rows = {0};
+            RowCallbackHandler handler = rs -> {
+                try {
+                    json.writeStartObject();
+                    rowWriter.write(rs, json);
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                    if (++rows[0] % fetchSize == 0) {
+                        json.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setFetchSize(fetchSize);
+                statement.setDate(1, Date.valueOf(startDate));
+                statement.setDate(2, Date.valueOf(endDate));
+                return statement;
+            }, handler));
+            logger.debug("Exported {} rows between {} and {}", rows[0], startDate, endDate);
+        } catch (UncheckedIOException e) {
+            logger.info("Export between {} and {} stopped: {}", startDate, endDate, e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+}
@@ -25,15 +25,17 @@ public class CacheConfig {
             buildCache("users", 500, 15),  
             
             
-            buildCache("timeslots", 2000, 10),           
-            buildCache("room-timeslots", 1000, 10),      
-            buildCache("daterange-timeslots", 1000, 10), 
+            buildCache("timeslots", 2000, 60),           
+            buildCache("room-timeslots", 1000, 60),      
+            buildCache("timeslot-segments", 50000, 60),  
             
             
-            buildCache("available-timeslots", 500, 5),   
             buildCache("reservations", 1000, 5),         
             buildCache("user-reservations", 500, 5),     
-            buildCache("current-user", 100, 10)          
+            buildCache("current-user", 100, 10),
+            
+            
+            buildCache("idempotency", 10000, 60)
         ));
         
         return cacheManager;
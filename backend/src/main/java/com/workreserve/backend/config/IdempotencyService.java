@@ -0,0 +1,224 @@
+package com.workreserve.backend.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workreserve.backend.exception.ConflictException;
+import com.workreserve.backend.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Replays the response of a request retried with the same Idempotency-Key instead of running it
+// again. Completed responses are kept in memory and in the database for other nodes and restarts;
+// a duplicate arriving while the first one is still running waits for its result.
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final String CACHE_NAME = "idempotency";
+    static final String LOCK_NAME = "idempotent-responses-cleanup";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final String SELECT_SQL =
+            "SELECT request_hash, status, body FROM idempotent_responses WHERE id = ? AND created_at > ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO idempotent_responses (id, request_hash, status, body, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String DELETE_SQL = "DELETE FROM idempotent_responses WHERE created_at <= ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours = 24;
+
+    @Value("${app.idempotency.wait-seconds:30}")
+    private long waitSeconds = 30;
+
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    // Only successful responses are stored; a failed request can be retried with the same key.
+    public <T> ResponseEntity<T> execute(String key, String scope, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = sha256(scope + '\n' + currentCaller() + '\n' + key);
+        String requestHash = sha256(toJson(request));
+
+        StoredResponse stored = lookup(id);
+        if (stored != null) {
+            return replay(stored, requestHash, bodyType);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(id, execution);
+        if (running != null) {
+            return replay(await(running), requestHash, bodyType);
+        }
+        try {
+            // The previous execution may have finished between the lookup and taking its place.
+            stored = lookup(id);
+            if (stored != null) {
+                execution.complete(stored);
+                return replay(stored, requestHash, bodyType);
+            }
+
+            ResponseEntity<T> response = action.get();
+            stored = new StoredResponse(requestHash, response.getStatusCode().value(), toJson(response.getBody()));
+            if (response.getStatusCode().is2xxSuccessful()) {
+                save(id, stored);
+            }
+            execution.complete(stored);
+            return response;
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, execution);
+        }
+    }
+
+    @Scheduled(cron = "${app.idempotency.cleanup-cron:0 45 3 * * ?}")
+    public void cleanup() {
+        if (!schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(30))) {
+            return;
+        }
+        try {
+            int deleted = jdbcTemplate.update(DELETE_SQL, Timestamp.valueOf(LocalDateTime.now(clock).minusHours(ttlHours)));
+            logger.info("Deleted {} expired idempotent responses", deleted);
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    private StoredResponse lookup(String id) {
+        StoredResponse stored = cache().get(id, StoredResponse.class);
+        if (stored != null) {
+            return stored;
+        }
+        List<StoredResponse> rows = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new StoredResponse(rs.getString(1), rs.getInt(2), rs.getString(3)),
+                id, Timestamp.valueOf(LocalDateTime.now(clock).minusHours(ttlHours)));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        cache().put(id, rows.get(0));
+        return rows.get(0);
+    }
+
+    private void save(String id, StoredResponse stored) {
+        cache().put(id, stored);
+        try {
+            jdbcTemplate.update(INSERT_SQL, id, stored.requestHash(), stored.status(), stored.body(),
+                    Timestamp.valueOf(LocalDateTime.now(clock)));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Idempotent response {} was already stored by another node", id);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConflictException("A request with this " + HEADER + " is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this " + HEADER + " is still being processed");
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String requestHash, Class<T> bodyType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new ValidationException(HEADER + " was already used for a different request");
+        }
+        try {
+            T body = stored.body() != null ? objectMapper.readValue(stored.body(), bodyType) : null;
+            return ResponseEntity.status(stored.status()).header(REPLAYED_HEADER, "true").body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response cannot be read", e);
+        }
+    }
+
+    private String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+
+    private String toJson(Object value) {
+        try {
+            return value != null ? objectMapper.writeValueAsString(value) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Value cannot be serialized", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(
+                    (value != null ? value : "").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
+    record StoredResponse(String requestHash, int status, String body) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.workreserve.backend.config;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Completed response of a request sent with an Idempotency-Key, replayed by IdempotencyService
+// to retries that reach a node without it in memory.
+@Entity
+@Table(name = "idempotent_responses", indexes = {
+    @Index(name = "idx_idempotent_responses_created_at", columnList = "created_at")
+})
+public class IdempotentResponse {
+    // SHA-256 of the scope, the caller and the client's key.
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private int status;
+
+    @Column(columnDefinition = "text")
+    private String body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getRequestHash() { return requestHash; }
+    public void setRequestHash(String requestHash) { this.requestHash = requestHash; }
+
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
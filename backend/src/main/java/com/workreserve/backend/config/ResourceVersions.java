@@ -0,0 +1,62 @@
+package com.workreserve.backend.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Version counters for the cached read regions, bumped right after the region's cache entries are
+// evicted. ETags are built from the counters rather than by hashing response bodies, so a conditional
+// GET is answered before the service runs. Like the caches themselves the counters are per node; the
+// random epoch keeps tags handed out by another node or a previous run from ever matching.
+@Component
+public class ResourceVersions {
+
+    public static final String ROOMS = "rooms";
+    public static final String USER_RESERVATIONS = "user-reservations";
+
+    private final String epoch = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public void bump(String region) {
+        versions.computeIfAbsent(region, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public void bump(String region, Object key) {
+        bump(region + ":" + key);
+    }
+
+    public long version(String region) {
+        AtomicLong version = versions.get(region);
+        return version != null ? version.get() : 0;
+    }
+
+    public long version(String region, Object key) {
+        return version(region + ":" + key);
+    }
+
+    // Parts are counters and the other inputs the response depends on, such as the caller.
+    public String etag(Object... parts) {
+        StringJoiner etag = new StringJoiner(".", epoch + "-", "");
+        for (Object part : parts) {
+            etag.add(String.valueOf(part));
+        }
+        return etag.toString();
+    }
+
+    // Sets the ETag and answers 304 when it matches If-None-Match. Responses may be stored by the
+    // client but must be revalidated, which is what sends If-None-Match in the first place.
+    public boolean checkNotModified(WebRequest request, String etag) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        }
+        return etag != null && request.checkNotModified(etag);
+    }
+}
@@ -0,0 +1,62 @@
+package com.workreserve.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Each statement runs in its own auto-committed transaction, so the lease is visible to other
+// nodes immediately. maxDuration bounds how long a crashed holder can block the job.
+@Service
+public class SchedulerLockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLockService.class);
+
+    private static final String ACQUIRE_SQL =
+            "UPDATE scheduler_locks SET locked_until = ?, locked_at = ?, locked_by = ? " +
+            "WHERE lock_name = ? AND locked_until <= ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO scheduler_locks (lock_name, locked_until, locked_at, locked_by) VALUES (?, ?, ?, ?)";
+
+    private static final String RELEASE_SQL =
+            "UPDATE scheduler_locks SET locked_until = ? WHERE lock_name = ? AND locked_by = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Clock clock;
+
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    public boolean tryLock(String name, Duration maxDuration) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Timestamp lockedAt = Timestamp.valueOf(now);
+        Timestamp lockedUntil = Timestamp.valueOf(now.plus(maxDuration));
+
+        if (jdbcTemplate.update(ACQUIRE_SQL, lockedUntil, lockedAt, instanceId, name, lockedAt) == 1) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SQL, name, lockedUntil, lockedAt, instanceId);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Lock {} is held by another node", name);
+            return false;
+        }
+    }
+
+    public void unlock(String name) {
+        jdbcTemplate.update(RELEASE_SQL, Timestamp.valueOf(LocalDateTime.now(clock)), name, instanceId);
+    }
+}
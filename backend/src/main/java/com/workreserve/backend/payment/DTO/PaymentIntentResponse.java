@@ -1,9 +1,13 @@
 package com.workreserve.backend.payment.DTO;
 
+import java.time.LocalDateTime;
+
 public class PaymentIntentResponse {
     private String clientSecret;
     private String paymentIntentId;
     private Double amount;
+    private Long reservationId;
+    private LocalDateTime holdExpiresAt;
 
     public PaymentIntentResponse(String clientSecret, String paymentIntentId, Double amount) {
         this.clientSecret = clientSecret;
@@ -19,4 +23,10 @@ public class PaymentIntentResponse {
 
     public Double getAmount() { return amount; }
     public void setAmount(Double amount) { this.amount = amount; }
-}
\ No newline at end of file
+
+    public Long getReservationId() { return reservationId; }
+    public void setReservationId(Long reservationId) { this.reservationId = reservationId; }
+
+    public LocalDateTime getHoldExpiresAt() { return holdExpiresAt; }
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) { this.holdExpiresAt = holdExpiresAt; }
+}
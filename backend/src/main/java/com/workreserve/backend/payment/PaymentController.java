@@ -1,6 +1,7 @@
 package com.workreserve.backend.payment;
 
 import com.stripe.exception.StripeException;
+import com.workreserve.backend.config.IdempotencyService;
 import com.workreserve.backend.exception.ConflictException;
 import com.workreserve.backend.payment.DTO.ConfirmPaymentRequest;
 import com.workreserve.backend.payment.DTO.PaymentIntentRequest;
@@ -34,6 +35,9 @@ public class PaymentController {
     @Autowired
     private ReservationService reservationService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @Value("${stripe.publishable.key}")
     private String publishableKey;
 
@@ -57,54 +61,36 @@ public class PaymentController {
         }
     }
 
-    @Operation(summary = "Confirm payment and create reservation", description = "Confirm payment and create the reservation")
+    @Operation(summary = "Confirm payment and create reservation", description = "Confirm payment and turn the checkout hold into a reservation")
     @SecurityRequirement(name = "Bearer Authentication")
     @PostMapping("/confirm-payment")
     public ResponseEntity<ReservationResponse> confirmPayment(
-            @Valid @RequestBody ConfirmPaymentRequest request) {
-        try {
-            logger.info("Confirming payment for intent: {}", request.getPaymentIntentId());
-            
-            try {
-                ReservationRequest reservationRequest = new ReservationRequest();
-                reservationRequest.setSlotId(request.getSlotId());
-                reservationRequest.setTeamSize(request.getTeamSize());
+            @Valid @RequestBody ConfirmPaymentRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "confirm-payment", request, ReservationResponse.class,
+                () -> confirm(request));
+    }
 
-                ReservationResponse reservation = reservationService.createReservation(reservationRequest);
-                logger.info("Reservation created successfully: {}", reservation.getId());
-                
-                return ResponseEntity.ok(reservation);
-                
-            } catch (ConflictException e) {
-                logger.info("Reservation already exists for slot {}, checking if it's the same user", request.getSlotId());
-                
-                boolean paymentSucceeded = false;
-                try {
-                    paymentSucceeded = paymentService.isPaymentSucceeded(request.getPaymentIntentId());
-                } catch (Exception paymentError) {
-                    logger.warn("Could not verify payment status due to Stripe error: {}", paymentError.getMessage());
-                    paymentSucceeded = true;
-                }
-                
-                if (paymentSucceeded) {
+    private ResponseEntity<ReservationResponse> confirm(ConfirmPaymentRequest request) {
+        logger.info("Confirming payment for intent: {}", request.getPaymentIntentId());
+        try {
+            ReservationRequest reservationRequest = new ReservationRequest();
+            reservationRequest.setSlotId(request.getSlotId());
+            reservationRequest.setTeamSize(request.getTeamSize());
 
-                    try {
-                        ReservationResponse existingReservation = reservationService.getReservationBySlotId(request.getSlotId());
-                        logger.info("Returning existing reservation: {}", existingReservation.getId());
-                        return ResponseEntity.ok(existingReservation);
-                    } catch (Exception ex) {
-                        logger.error("Could not retrieve existing reservation: {}", ex.getMessage());
-                        return ResponseEntity.badRequest().body(null);
-                    }
-                } else {
-                    logger.warn("Payment not succeeded for intent: {}", request.getPaymentIntentId());
-                    return ResponseEntity.badRequest().body(null);
-                }
-            }
+            ReservationResponse reservation = reservationService.confirmHold(reservationRequest);
+            logger.info("Reservation confirmed: {}", reservation.getId());
+            return ResponseEntity.ok(reservation);
 
+        } catch (ConflictException e) {
+            // Only possible when the hold expired before the payment went through and someone
+            // else has booked the slot since; the payment has to be refunded.
+            logger.warn("Hold for slot {} was lost before payment {} was confirmed",
+                    request.getSlotId(), request.getPaymentIntentId());
+            throw e;
         } catch (Exception e) {
             logger.error("Error confirming payment: {}", e.getMessage());
             return ResponseEntity.badRequest().body(null);
         }
     }
-}
\ No newline at end of file
+}
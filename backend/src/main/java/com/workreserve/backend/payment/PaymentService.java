@@ -9,6 +9,10 @@ import com.workreserve.backend.exception.ResourceNotFoundException;
 import com.workreserve.backend.exception.ValidationException;
 import com.workreserve.backend.payment.DTO.PaymentIntentRequest;
 import com.workreserve.backend.payment.DTO.PaymentIntentResponse;
+import com.workreserve.backend.reservation.DTO.ReservationRequest;
+import com.workreserve.backend.reservation.DTO.ReservationResponse;
+import com.workreserve.backend.reservation.ReservationHoldExpiry;
+import com.workreserve.backend.reservation.ReservationService;
 import com.workreserve.backend.timeslot.TimeSlot;
 import com.workreserve.backend.timeslot.TimeSlotRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +30,12 @@ public class PaymentService {
     @Autowired
     private TimeSlotRepository timeSlotRepository;
 
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationHoldExpiry reservationHoldExpiry;
+
     public PaymentIntentResponse createPaymentIntent(PaymentIntentRequest request) throws StripeException {
         TimeSlot timeSlot = timeSlotRepository.findById(request.getSlotId())
                 .orElseThrow(() -> new ResourceNotFoundException("Time slot not found"));
@@ -39,6 +49,13 @@ public class PaymentService {
 
         long amountInCents = Math.round(totalCostUSD * 100);
 
+        // The slot is held before the customer pays, so two checkouts can never both pay for it.
+        ReservationRequest holdRequest = new ReservationRequest();
+        holdRequest.setSlotId(request.getSlotId());
+        holdRequest.setTeamSize(request.getTeamSize());
+        ReservationResponse hold = reservationService.holdReservation(holdRequest);
+        reservationHoldExpiry.track(hold);
+
         PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
                 .setAmount(amountInCents)
                 .setCurrency("usd")
@@ -50,16 +67,25 @@ public class PaymentService {
                 .putMetadata("slotId", request.getSlotId().toString())
                 .putMetadata("teamSize", request.getTeamSize().toString())
                 .putMetadata("roomName", timeSlot.getRoom().getName())
+                .putMetadata("reservationId", hold.getId().toString())
                 .build();
 
-        return executeWithRetry(() -> {
-            PaymentIntent intent = PaymentIntent.create(params);
-            return new PaymentIntentResponse(
-                intent.getClientSecret(),
-                intent.getId(),
-                totalCostUSD
-            );
-        }, "create payment intent");
+        try {
+            return executeWithRetry(() -> {
+                PaymentIntent intent = PaymentIntent.create(params);
+                PaymentIntentResponse response = new PaymentIntentResponse(
+                    intent.getClientSecret(),
+                    intent.getId(),
+                    totalCostUSD
+                );
+                response.setReservationId(hold.getId());
+                response.setHoldExpiresAt(hold.getHoldExpiresAt());
+                return response;
+            }, "create payment intent");
+        } catch (StripeException | RuntimeException e) {
+            reservationService.cancelReservation(hold.getId());
+            throw e;
+        }
     }
 
     public PaymentIntent getPaymentIntent(String paymentIntentId) throws StripeException {
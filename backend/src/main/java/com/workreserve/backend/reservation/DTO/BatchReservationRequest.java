@@ -0,0 +1,24 @@
+package com.workreserve.backend.reservation.DTO;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class BatchReservationRequest {
+    public static final int MAX_SLOTS = 50;
+
+    @NotEmpty
+    @Size(max = MAX_SLOTS)
+    private List<@NotNull Long> slotIds;
+    @NotNull
+    @Positive
+    private Integer teamSize;
+
+    public List<Long> getSlotIds() { return slotIds; }
+    public void setSlotIds(List<Long> slotIds) { this.slotIds = slotIds; }
+
+    public Integer getTeamSize() { return teamSize; }
+    public void setTeamSize(Integer teamSize) { this.teamSize = teamSize; }
+}
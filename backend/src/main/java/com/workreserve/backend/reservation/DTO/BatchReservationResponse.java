@@ -0,0 +1,22 @@
+package com.workreserve.backend.reservation.DTO;
+
+import java.util.List;
+
+public class BatchReservationResponse {
+    private List<ReservationResponse> reservations;
+    private Double totalCost;
+
+    public BatchReservationResponse() {
+    }
+
+    public BatchReservationResponse(List<ReservationResponse> reservations) {
+        this.reservations = reservations;
+        this.totalCost = reservations.stream().mapToDouble(ReservationResponse::getTotalCost).sum();
+    }
+
+    public List<ReservationResponse> getReservations() { return reservations; }
+    public void setReservations(List<ReservationResponse> reservations) { this.reservations = reservations; }
+
+    public Double getTotalCost() { return totalCost; }
+    public void setTotalCost(Double totalCost) { this.totalCost = totalCost; }
+}
@@ -0,0 +1,53 @@
+package com.workreserve.backend.reservation.DTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecurringReservationResponse {
+    private List<Occurrence> occurrences = new ArrayList<>();
+    private int booked;
+    private int conflicts;
+    private int unavailable;
+    private Double totalCost;
+
+    public List<Occurrence> getOccurrences() { return occurrences; }
+    public void setOccurrences(List<Occurrence> occurrences) { this.occurrences = occurrences; }
+
+    public int getBooked() { return booked; }
+    public void setBooked(int booked) { this.booked = booked; }
+
+    public int getConflicts() { return conflicts; }
+    public void setConflicts(int conflicts) { this.conflicts = conflicts; }
+
+    public int getUnavailable() { return unavailable; }
+    public void setUnavailable(int unavailable) { this.unavailable = unavailable; }
+
+    public Double getTotalCost() { return totalCost; }
+    public void setTotalCost(Double totalCost) { this.totalCost = totalCost; }
+
+    public enum OccurrenceStatus {
+        BOOKED,
+        CONFLICT,
+        UNAVAILABLE
+    }
+
+    public static class Occurrence {
+        private LocalDate date;
+        private OccurrenceStatus status;
+        private String reason;
+        private List<ReservationResponse> reservations = new ArrayList<>();
+
+        public LocalDate getDate() { return date; }
+        public void setDate(LocalDate date) { this.date = date; }
+
+        public OccurrenceStatus getStatus() { return status; }
+        public void setStatus(OccurrenceStatus status) { this.status = status; }
+
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+
+        public List<ReservationResponse> getReservations() { return reservations; }
+        public void setReservations(List<ReservationResponse> reservations) { this.reservations = reservations; }
+    }
+}
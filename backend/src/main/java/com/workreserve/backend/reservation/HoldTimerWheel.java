@@ -0,0 +1,62 @@
+package com.workreserve.backend.reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hashed timer wheel for checkout hold expiry. Scheduling a hold is O(1), and each tick only
+// looks at the holds hashed into its own bucket, never at every pending hold.
+class HoldTimerWheel {
+
+    private final long tickMillis;
+    private final List<List<Entry>> buckets;
+    private final int mask;
+    private long nextTick;
+    private int size;
+
+    HoldTimerWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.mask = wheelSize - 1;
+        this.nextTick = nowMillis / tickMillis;
+    }
+
+    synchronized void schedule(long reservationId, long deadlineMillis) {
+        // Rounded up so a hold never fires early; a deadline already passed fires on the next tick.
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), nextTick);
+        buckets.get((int) (tick & mask)).add(new Entry(reservationId, tick));
+        size++;
+    }
+
+    // Returns the holds that became due up to now. After a long pause at most one full turn is
+    // replayed, which still visits every bucket once.
+    synchronized List<Long> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<Long> due = new ArrayList<>();
+        for (long tick = Math.max(nextTick, target - mask); tick <= target; tick++) {
+            long current = tick;
+            buckets.get((int) (tick & mask)).removeIf(entry -> {
+                if (entry.tick() > current) {
+                    return false;
+                }
+                due.add(entry.reservationId());
+                return true;
+            });
+        }
+        nextTick = Math.max(nextTick, target + 1);
+        size -= due.size();
+        return due;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private record Entry(long reservationId, long tick) {
+    }
+}
@@ -8,6 +8,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "reservations", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "slot_id"})
+}, indexes = {
+    @Index(name = "idx_reservations_status_hold_expires", columnList = "status, holdExpiresAt")
 })
 public class Reservation {
 
@@ -36,6 +38,9 @@ public class Reservation {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Set while the reservation is a PENDING checkout hold; it is cancelled if not confirmed by then.
+    private LocalDateTime holdExpiresAt;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -61,4 +66,7 @@ public class Reservation {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getHoldExpiresAt() { return holdExpiresAt; }
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) { this.holdExpiresAt = holdExpiresAt; }
 }
\ No newline at end of file
@@ -1,11 +1,17 @@
 package com.workreserve.backend.reservation;
 
+import com.workreserve.backend.config.IdempotencyService;
+import com.workreserve.backend.config.ResourceVersions;
 import com.workreserve.backend.exception.ResourceNotFoundException;
+import com.workreserve.backend.reservation.DTO.BatchReservationRequest;
+import com.workreserve.backend.reservation.DTO.BatchReservationResponse;
 import com.workreserve.backend.reservation.DTO.NearestReservationResponse;
+import com.workreserve.backend.reservation.DTO.RecurringReservationRequest;
+import com.workreserve.backend.reservation.DTO.RecurringReservationResponse;
 import com.workreserve.backend.reservation.DTO.ReservationRequest;
 import com.workreserve.backend.reservation.DTO.ReservationResponse;
+import com.workreserve.backend.timeslot.TimeSlotETags;
 import com.workreserve.backend.user.User;
-import com.workreserve.backend.user.UserRepository;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,7 +24,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -34,7 +42,13 @@ public class ReservationController {
     private ReservationService reservationService;
 
     @Autowired
-    private UserRepository userRepository;
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private TimeSlotETags timeSlotETags;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
 
     @Operation(summary = "Get all reservations", description = "Retrieve a list of all reservations (Admin only)")
     @SecurityRequirement(name = "Bearer Authentication")
@@ -58,10 +72,10 @@ public class ReservationController {
         @ApiResponse(responseCode = "404", description = "User not found")
     })
     @GetMapping("/user")
-    public List<ReservationResponse> getUserReservations() {
-        String email = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public List<ReservationResponse> getUserReservations(@AuthenticationPrincipal User user, WebRequest webRequest) {
+        if (resourceVersions.checkNotModified(webRequest, timeSlotETags.userReservations(user.getId()))) {
+            return null;
+        }
         return reservationService.getUserReservations(user.getId());
     }
 
@@ -88,8 +102,47 @@ public class ReservationController {
         @ApiResponse(responseCode = "401", description = "User not authenticated")
     })
     @PostMapping
-    public ResponseEntity<ReservationResponse> createReservation(@Valid @RequestBody ReservationRequest request) {
-        return ResponseEntity.ok(reservationService.createReservation(request));
+    public ResponseEntity<ReservationResponse> createReservation(
+            @Valid @RequestBody ReservationRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "create-reservation", request, ReservationResponse.class,
+                () -> ResponseEntity.ok(reservationService.createReservation(request)));
+    }
+
+    @Operation(summary = "Create reservations", description = "Book several time slots at once; either every slot is booked or none is")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reservations created successfully",
+                content = @Content(schema = @Schema(implementation = BatchReservationResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Validation error"),
+        @ApiResponse(responseCode = "404", description = "Time slot not found"),
+        @ApiResponse(responseCode = "409", description = "One of the time slots is no longer available"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchReservationResponse> createReservations(
+            @Valid @RequestBody BatchReservationRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "create-reservations", request, BatchReservationResponse.class,
+                () -> ResponseEntity.ok(reservationService.createReservations(request)));
+    }
+
+    @Operation(summary = "Create recurring reservation", description = "Book a room on one weekday every week between two dates; free occurrences are booked and the others reported")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Per-occurrence report of booked and conflicting dates",
+                content = @Content(schema = @Schema(implementation = RecurringReservationResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Validation error"),
+        @ApiResponse(responseCode = "404", description = "Room not found"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated")
+    })
+    @PostMapping("/recurring")
+    public ResponseEntity<RecurringReservationResponse> createRecurringReservations(
+            @Valid @RequestBody RecurringReservationRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "create-recurring-reservations", request,
+                RecurringReservationResponse.class,
+                () -> ResponseEntity.ok(reservationService.createRecurringReservations(request)));
     }
 
     @Operation(summary = "Update reservation", description = "Update an existing reservation")
@@ -0,0 +1,112 @@
+package com.workreserve.backend.reservation;
+
+import com.workreserve.backend.config.SchedulerLockService;
+import com.workreserve.backend.reservation.DTO.ReservationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Releases checkout holds that were not confirmed in time. Holds taken on this node are expired
+// from an in-memory timer wheel right when they are due; a slower database sweep catches the
+// ones lost with a restart or taken on another node.
+@Component
+public class ReservationHoldExpiry {
+
+    static final String LOCK_NAME = "reservation-hold-sweep";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationHoldExpiry.class);
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${app.reservations.hold.tick-millis:1000}")
+    private long tickMillis = 1000;
+
+    @Value("${app.reservations.hold.wheel-size:512}")
+    private int wheelSize = 512;
+
+    @Value("${app.reservations.hold.batch-size:200}")
+    private int batchSize = 200;
+
+    private HoldTimerWheel wheel;
+
+    @PostConstruct
+    void start() {
+        wheel = new HoldTimerWheel(tickMillis, wheelSize, clock.millis());
+        meterRegistry.gauge("reservations.holds.scheduled", wheel, HoldTimerWheel::size);
+    }
+
+    public void track(ReservationResponse hold) {
+        if (hold.getStatus() == ReservationStatus.PENDING && hold.getHoldExpiresAt() != null) {
+            wheel.schedule(hold.getId(), hold.getHoldExpiresAt().atZone(clock.getZone()).toInstant().toEpochMilli());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reservations.hold.tick-millis:1000}")
+    public void tick() {
+        List<Long> due = wheel.advance(clock.millis());
+        if (!due.isEmpty()) {
+            expire(due);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reservations.hold.sweep-millis:60000}")
+    public void sweep() {
+        if (!schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(5))) {
+            return;
+        }
+        try {
+            // Served by the (status, holdExpiresAt) index; expired holds leave the result as they are cancelled.
+            List<Long> expired;
+            do {
+                expired = reservationRepository.findExpiredHoldIds(LocalDateTime.now(clock), PageRequest.of(0, batchSize));
+                if (!expired.isEmpty() && expire(expired) == 0) {
+                    break;
+                }
+            } while (expired.size() == batchSize);
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    private int expire(List<Long> reservationIds) {
+        int expired = 0;
+        for (int from = 0; from < reservationIds.size(); from += batchSize) {
+            List<Long> batch = reservationIds.subList(from, Math.min(from + batchSize, reservationIds.size()));
+            try {
+                expired += reservationService.expireHolds(batch);
+            } catch (RuntimeException e) {
+                // The sweep retries them.
+                logger.warn("Failed to expire {} reservation holds: {}", batch.size(), e.getMessage());
+            }
+        }
+        if (expired > 0) {
+            meterRegistry.counter("reservations.holds.expired").increment(expired);
+            logger.info("Released {} expired reservation holds", expired);
+        }
+        return expired;
+    }
+}
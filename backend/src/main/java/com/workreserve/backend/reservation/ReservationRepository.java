@@ -3,11 +3,13 @@ package com.workreserve.backend.reservation;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,10 +20,24 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findByUserId(Long userId);
     boolean existsBySlotIdAndStatusNot(Long slotId, ReservationStatus status);
     Optional<Reservation> findByUserIdAndSlotId(Long userId, Long slotId);
+    List<Reservation> findByUserIdAndSlotIdIn(Long userId, Collection<Long> slotIds);
     @Query("SELECT COALESCE(SUM(r.totalCost), 0.0) FROM Reservation r")
     Double sumTotalCost();
     List<Reservation> findBySlotIdAndStatusNot(Long slotId, ReservationStatus status);
 
+    @Query("SELECT r FROM Reservation r " +
+           "JOIN FETCH r.user " +
+           "JOIN FETCH r.slot s " +
+           "JOIN FETCH s.room " +
+           "WHERE s.id IN :slotIds " +
+           "  AND r.status <> com.workreserve.backend.reservation.ReservationStatus.CANCELLED")
+    List<Reservation> findActiveBySlotIdsWithUser(@Param("slotIds") Collection<Long> slotIds);
+
+    @Query("SELECT DISTINCT r.slot.id FROM Reservation r " +
+           "WHERE r.slot.id IN :slotIds " +
+           "  AND r.status <> com.workreserve.backend.reservation.ReservationStatus.CANCELLED")
+    List<Long> findActiveSlotIds(@Param("slotIds") Collection<Long> slotIds);
+
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
 
     @Query("SELECT COALESCE(SUM(r.totalCost), 0.0) FROM Reservation r WHERE r.createdAt BETWEEN :start AND :end")
@@ -73,4 +89,24 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
                                          @Param("today") java.time.LocalDate today,
                                          @Param("now") java.time.LocalTime now,
                                          Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT r.id FROM Reservation r " +
+           "WHERE r.status = com.workreserve.backend.reservation.ReservationStatus.PENDING " +
+           "  AND r.holdExpiresAt <= :now " +
+           "ORDER BY r.holdExpiresAt")
+    List<Long> findExpiredHoldIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Both transitions only apply to a hold that is still pending, so a confirmation and an expiry
+    // racing for the same hold cannot both win.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = com.workreserve.backend.reservation.ReservationStatus.CONFIRMED, " +
+           "r.holdExpiresAt = NULL " +
+           "WHERE r.id = :id AND r.status = com.workreserve.backend.reservation.ReservationStatus.PENDING")
+    int confirmHold(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = com.workreserve.backend.reservation.ReservationStatus.CANCELLED " +
+           "WHERE r.id = :id AND r.status = com.workreserve.backend.reservation.ReservationStatus.PENDING " +
+           "  AND r.holdExpiresAt <= :now")
+    int expireHold(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
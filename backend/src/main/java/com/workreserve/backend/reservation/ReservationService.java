@@ -4,25 +4,53 @@ import com.workreserve.backend.activity.ActivityService;
 import com.workreserve.backend.exception.ConflictException;
 import com.workreserve.backend.exception.ResourceNotFoundException;
 import com.workreserve.backend.exception.ValidationException;
+import com.workreserve.backend.reservation.DTO.BatchReservationRequest;
+import com.workreserve.backend.reservation.DTO.BatchReservationResponse;
 import com.workreserve.backend.reservation.DTO.NearestReservationResponse;
+import com.workreserve.backend.reservation.DTO.RecurringReservationRequest;
+import com.workreserve.backend.reservation.DTO.RecurringReservationResponse;
 import com.workreserve.backend.reservation.DTO.ReservationRequest;
 import com.workreserve.backend.reservation.DTO.ReservationResponse;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
 import com.workreserve.backend.timeslot.TimeSlot;
+import com.workreserve.backend.timeslot.TimeSlotChangeEvent;
+import com.workreserve.backend.timeslot.TimeSlotChangeType;
 import com.workreserve.backend.timeslot.TimeSlotRepository;
+import com.workreserve.backend.timeslot.TimeSlotRuleService;
 import com.workreserve.backend.user.User;
 import com.workreserve.backend.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,9 +61,22 @@ public class ReservationService {
     @Autowired
     private TimeSlotRepository timeSlotRepository;
     @Autowired
+    private TimeSlotRuleService timeSlotRuleService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
     private UserRepository userRepository;
     @Autowired
     private ActivityService activityService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private Clock clock;
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Value("${app.reservations.hold.ttl-seconds:600}")
+    private long holdTtlSeconds = 600;
 
     @Cacheable("reservations")
     public List<ReservationResponse> getAllReservations() {
@@ -59,24 +100,70 @@ public class ReservationService {
         return toResponse(reservation);
     }
 
-    @CacheEvict(value = {"timeslots", "available-timeslots", "room-timeslots", "daterange-timeslots", "reservations", "user-reservations"}, allEntries = true)
+    @Transactional
     public ReservationResponse createReservation(ReservationRequest request) {
-        
+        return book(request, null);
+    }
+
+    // Takes the slot for a checkout with a PENDING reservation that is cancelled unless
+    // confirmHold is called before it expires.
+    @Transactional
+    public ReservationResponse holdReservation(ReservationRequest request) {
+        return book(request, LocalDateTime.now(clock).plusSeconds(holdTtlSeconds));
+    }
+
+    @Transactional
+    public ReservationResponse confirmHold(ReservationRequest request) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        TimeSlot timeSlot = findSlot(request.getSlotId());
+
+        Optional<Reservation> hold = reservationRepository.findByUserIdAndSlotId(user.getId(), timeSlot.getId());
+        if (hold.isPresent() && hold.get().getStatus() == ReservationStatus.CONFIRMED) {
+            return toResponse(hold.get());
+        }
+        if (hold.isPresent() && hold.get().getStatus() == ReservationStatus.PENDING
+                && reservationRepository.confirmHold(hold.get().getId()) == 1) {
+            Reservation confirmed = reservationRepository.findById(hold.get().getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
+            eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.RESERVATION_UPDATED, confirmed));
+            activityService.logActivity(
+                user.getId(),
+                "Booked " + timeSlot.getRoom().getName(),
+                "RESERVATION",
+                confirmed.getId(),
+                timeSlot.getRoom().getName()
+            );
+            return toResponse(confirmed);
+        }
 
+        // The hold expired before the payment was confirmed; the slot is booked again if still free.
+        return book(request, null);
+    }
+
+    private ReservationResponse book(ReservationRequest request, LocalDateTime holdExpiresAt) {
         
-        TimeSlot timeSlot = timeSlotRepository.findById(request.getSlotId())
-                .orElseThrow(() -> new ResourceNotFoundException("Time slot not found"));
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         
-        if (reservationRepository.existsBySlotIdAndStatusNot(timeSlot.getId(), ReservationStatus.CANCELLED)) {
+        TimeSlot timeSlot = findSlot(request.getSlotId());
+        ReservationStatus status = holdExpiresAt != null ? ReservationStatus.PENDING : ReservationStatus.CONFIRMED;
+
+        Optional<Reservation> existingOpt = reservationRepository.findByUserIdAndSlotId(user.getId(), timeSlot.getId());
+        if (holdExpiresAt != null && existingOpt.isPresent() && existingOpt.get().getStatus() == ReservationStatus.PENDING) {
+            // A retried checkout keeps its hold and the original expiry.
+            return toResponse(existingOpt.get());
+        }
+
+        // Seat-based slots take several reservations; claimSlot checks the seats they have left.
+        if (!isSeatBased(timeSlot)
+                && reservationRepository.existsBySlotIdAndStatusNot(timeSlot.getId(), ReservationStatus.CANCELLED)) {
             throw new ConflictException("Time slot already reserved");
         }
 
-        
-        Optional<Reservation> existingOpt = reservationRepository.findByUserIdAndSlotId(user.getId(), timeSlot.getId());
         if (existingOpt.isPresent()) {
             Reservation existing = existingOpt.get();
             if (existing.getStatus() != ReservationStatus.CANCELLED) {
@@ -89,8 +176,14 @@ public class ReservationService {
                     (timeSlot.getEndTime().toSecondOfDay() - timeSlot.getStartTime().toSecondOfDay()) / 3600.0;
             existing.setTeamSize(request.getTeamSize());
             existing.setTotalCost(totalCost);
-            existing.setStatus(ReservationStatus.CONFIRMED);
+            existing.setStatus(status);
+            existing.setHoldExpiresAt(holdExpiresAt);
             Reservation savedReservation = reservationRepository.save(existing);
+            claimSlot(timeSlot, savedReservation);
+            eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.BOOKED, savedReservation));
+            if (holdExpiresAt != null) {
+                return toResponse(savedReservation);
+            }
             activityService.logActivity(
                 user.getId(),
                 "Rebooked " + timeSlot.getRoom().getName(),
@@ -115,9 +208,15 @@ public class ReservationService {
          reservation.setUser(user);
          reservation.setTeamSize(request.getTeamSize());
          reservation.setTotalCost(totalCost);
-         reservation.setStatus(ReservationStatus.CONFIRMED);
+         reservation.setStatus(status);
+         reservation.setHoldExpiresAt(holdExpiresAt);
  
          Reservation savedReservation = reservationRepository.save(reservation);
+         claimSlot(timeSlot, savedReservation);
+         eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.BOOKED, savedReservation));
+         if (holdExpiresAt != null) {
+             return toResponse(savedReservation);
+         }
  
          activityService.logActivity(
              user.getId(),
@@ -130,7 +229,241 @@ public class ReservationService {
          return toResponse(savedReservation);
      }
 
-    @CacheEvict(value = {"timeslots", "available-timeslots", "room-timeslots", "daterange-timeslots", "reservations", "user-reservations"}, allEntries = true)
+    // Books every slot or none. Checks run as set-based queries over all slots, the slots are
+    // claimed in one JDBC batch, and losing any of them to a concurrent booking rolls back the lot.
+    @Transactional
+    public BatchReservationResponse createReservations(BatchReservationRequest request) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        if (new HashSet<>(request.getSlotIds()).size() != request.getSlotIds().size()) {
+            throw new ValidationException("Time slots must not repeat");
+        }
+        List<TimeSlot> timeSlots = findSlots(request.getSlotIds());
+        List<Long> slotIds = new ArrayList<>();
+        List<Long> exclusiveSlotIds = new ArrayList<>();
+        for (TimeSlot timeSlot : timeSlots) {
+            if (request.getTeamSize() > timeSlot.getRoom().getCapacity()) {
+                throw new ValidationException("Team size exceeds room capacity");
+            }
+            slotIds.add(timeSlot.getId());
+            if (!isSeatBased(timeSlot)) {
+                exclusiveSlotIds.add(timeSlot.getId());
+            }
+        }
+
+        if (!exclusiveSlotIds.isEmpty() && !reservationRepository.findActiveSlotIds(exclusiveSlotIds).isEmpty()) {
+            throw new ConflictException("Time slot already reserved");
+        }
+        Map<Long, Reservation> existing = new HashMap<>();
+        for (Reservation reservation : reservationRepository.findByUserIdAndSlotIdIn(user.getId(), slotIds)) {
+            if (reservation.getStatus() != ReservationStatus.CANCELLED) {
+                throw new ConflictException("You already have a reservation for this slot");
+            }
+            existing.put(reservation.getSlot().getId(), reservation);
+        }
+
+        List<Reservation> reservations = new ArrayList<>(timeSlots.size());
+        for (TimeSlot timeSlot : timeSlots) {
+            Reservation reservation = existing.getOrDefault(timeSlot.getId(), new Reservation());
+            reservation.setSlot(timeSlot);
+            reservation.setUser(user);
+            reservation.setTeamSize(request.getTeamSize());
+            reservation.setTotalCost(timeSlot.getRoom().getPricePerHour() *
+                    (timeSlot.getEndTime().toSecondOfDay() - timeSlot.getStartTime().toSecondOfDay()) / 3600.0);
+            reservation.setStatus(ReservationStatus.CONFIRMED);
+            reservation.setHoldExpiresAt(null);
+            reservations.add(reservation);
+        }
+        List<Reservation> saved = reservationRepository.saveAllAndFlush(reservations);
+        List<Reservation> lost = claimSlots(saved);
+        if (!lost.isEmpty()) {
+            throw new ConflictException(conflictMessage(lost.get(0).getSlot()));
+        }
+
+        Set<String> roomNames = new LinkedHashSet<>();
+        for (Reservation reservation : saved) {
+            eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.BOOKED, reservation));
+            roomNames.add(reservation.getSlot().getRoom().getName());
+        }
+        activityService.logActivity(
+            user.getId(),
+            "Booked " + saved.size() + " time slots",
+            "RESERVATION",
+            saved.get(0).getId(),
+            String.join(", ", roomNames)
+        );
+        return new BatchReservationResponse(saved.stream().map(this::toResponse).collect(Collectors.toList()));
+    }
+
+    // Books every free weekly occurrence of a series and reports the others. The series' slots are
+    // resolved in one query and checked in bulk; an occurrence is only booked if all of its slots
+    // are free, and one lost to a concurrent booking is undone without failing the rest.
+    @Transactional
+    public RecurringReservationResponse createRecurringReservations(RecurringReservationRequest request) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        LocalTime startTime = request.getStartTime();
+        LocalTime endTime = request.getEndTime();
+        if (!startTime.isBefore(endTime)) {
+            throw new ValidationException("Start time must be before end time");
+        }
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new ValidationException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) >= RecurringReservationRequest.MAX_DAYS) {
+            throw new ValidationException("A series can span at most " + RecurringReservationRequest.MAX_DAYS + " days");
+        }
+        Room room = roomRepository.findById(request.getRoomId())
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
+        if (request.getTeamSize() > room.getCapacity()) {
+            throw new ValidationException("Team size exceeds room capacity");
+        }
+        boolean seatBased = room.getType() != null && room.getType().isSeatBased();
+
+        LocalDate today = LocalDate.now(clock);
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = (request.getStartDate().isBefore(today) ? today : request.getStartDate())
+                .with(TemporalAdjusters.nextOrSame(DayOfWeek.of(request.getWeekDay())));
+             !date.isAfter(request.getEndDate()); date = date.plusWeeks(1)) {
+            dates.add(date);
+        }
+
+        List<TimeSlot> stored = dates.isEmpty()
+                ? List.of() : timeSlotRepository.findSeriesSlots(room.getId(), dates, startTime, endTime);
+        Map<LocalDate, List<TimeSlot>> slotsByDate = new HashMap<>();
+        for (TimeSlot timeSlot : stored) {
+            slotsByDate.computeIfAbsent(timeSlot.getDate(), date -> new ArrayList<>()).add(timeSlot);
+        }
+        for (TimeSlot timeSlot : timeSlotRuleService.findVirtualSlots(room, dates, startTime, endTime, stored)) {
+            slotsByDate.computeIfAbsent(timeSlot.getDate(), date -> new ArrayList<>()).add(timeSlot);
+        }
+        slotsByDate.values().forEach(slots -> slots.sort(Comparator.comparing(TimeSlot::getStartTime)));
+
+        // Rule occurrences without a row are free by definition, so only stored slots are checked.
+        List<Long> storedIds = stored.stream().map(TimeSlot::getId).toList();
+        Set<Long> taken = storedIds.isEmpty() || seatBased
+                ? Set.of() : new HashSet<>(reservationRepository.findActiveSlotIds(storedIds));
+        Map<Long, Reservation> own = new HashMap<>();
+        if (!storedIds.isEmpty()) {
+            for (Reservation reservation : reservationRepository.findByUserIdAndSlotIdIn(user.getId(), storedIds)) {
+                own.put(reservation.getSlot().getId(), reservation);
+            }
+        }
+
+        RecurringReservationResponse response = new RecurringReservationResponse();
+        Map<RecurringReservationResponse.Occurrence, List<Reservation>> bookings = new LinkedHashMap<>();
+        Set<Long> reusedIds = new HashSet<>();
+        for (LocalDate date : dates) {
+            RecurringReservationResponse.Occurrence occurrence = new RecurringReservationResponse.Occurrence();
+            occurrence.setDate(date);
+            response.getOccurrences().add(occurrence);
+
+            List<TimeSlot> slots = slotsByDate.getOrDefault(date, List.of());
+            if (!covers(slots, startTime, endTime)) {
+                occurrence.setStatus(RecurringReservationResponse.OccurrenceStatus.UNAVAILABLE);
+                occurrence.setReason("No time slots cover these hours");
+                continue;
+            }
+            String conflict = null;
+            for (TimeSlot timeSlot : slots) {
+                Reservation mine = own.get(timeSlot.getId());
+                if (mine != null && mine.getStatus() != ReservationStatus.CANCELLED) {
+                    conflict = "You already have a reservation for this slot";
+                } else if (seatBased ? timeSlot.getSeatsTaken() + request.getTeamSize() > room.getCapacity()
+                        : taken.contains(timeSlot.getId())) {
+                    conflict = conflictMessage(timeSlot);
+                }
+                if (conflict != null) {
+                    break;
+                }
+            }
+            if (conflict != null) {
+                occurrence.setStatus(RecurringReservationResponse.OccurrenceStatus.CONFLICT);
+                occurrence.setReason(conflict);
+                continue;
+            }
+
+            List<Reservation> reservations = new ArrayList<>(slots.size());
+            for (TimeSlot slot : slots) {
+                TimeSlot timeSlot = TimeSlotRuleService.isVirtual(slot.getId())
+                        ? timeSlotRuleService.materialize(slot.getId()) : slot;
+                Reservation reservation = own.get(timeSlot.getId());
+                if (reservation != null) {
+                    reusedIds.add(reservation.getId());
+                } else {
+                    reservation = new Reservation();
+                }
+                reservation.setSlot(timeSlot);
+                reservation.setUser(user);
+                reservation.setTeamSize(request.getTeamSize());
+                reservation.setTotalCost(room.getPricePerHour() *
+                        (timeSlot.getEndTime().toSecondOfDay() - timeSlot.getStartTime().toSecondOfDay()) / 3600.0);
+                reservation.setStatus(ReservationStatus.CONFIRMED);
+                reservation.setHoldExpiresAt(null);
+                reservations.add(reservation);
+            }
+            bookings.put(occurrence, reservations);
+        }
+
+        List<Reservation> all = bookings.values().stream().flatMap(List::stream).toList();
+        Set<Long> lostIds = new HashSet<>();
+        if (!all.isEmpty()) {
+            reservationRepository.saveAllAndFlush(all);
+            for (Reservation reservation : claimSlots(all)) {
+                lostIds.add(reservation.getId());
+            }
+        }
+
+        List<Reservation> booked = new ArrayList<>();
+        double totalCost = 0;
+        for (Map.Entry<RecurringReservationResponse.Occurrence, List<Reservation>> booking : bookings.entrySet()) {
+            RecurringReservationResponse.Occurrence occurrence = booking.getKey();
+            Optional<Reservation> lost = booking.getValue().stream()
+                    .filter(reservation -> lostIds.contains(reservation.getId()))
+                    .findFirst();
+            if (lost.isPresent()) {
+                undoOccurrence(booking.getValue(), lostIds, reusedIds);
+                occurrence.setStatus(RecurringReservationResponse.OccurrenceStatus.CONFLICT);
+                occurrence.setReason(conflictMessage(lost.get().getSlot()));
+                continue;
+            }
+            occurrence.setStatus(RecurringReservationResponse.OccurrenceStatus.BOOKED);
+            for (Reservation reservation : booking.getValue()) {
+                occurrence.getReservations().add(toResponse(reservation));
+                totalCost += reservation.getTotalCost();
+                booked.add(reservation);
+            }
+        }
+        reservationRepository.flush();
+
+        for (Reservation reservation : booked) {
+            eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.BOOKED, reservation));
+        }
+        for (RecurringReservationResponse.Occurrence occurrence : response.getOccurrences()) {
+            switch (occurrence.getStatus()) {
+                case BOOKED -> response.setBooked(response.getBooked() + 1);
+                case CONFLICT -> response.setConflicts(response.getConflicts() + 1);
+                case UNAVAILABLE -> response.setUnavailable(response.getUnavailable() + 1);
+            }
+        }
+        response.setTotalCost(totalCost);
+        if (!booked.isEmpty()) {
+            activityService.logActivity(
+                user.getId(),
+                "Booked " + response.getBooked() + " of " + dates.size() + " weekly occurrences of " + room.getName(),
+                "RESERVATION",
+                booked.get(0).getId(),
+                room.getName()
+            );
+        }
+        return response;
+    }
+
+    @Transactional
     public ReservationResponse updateReservation(Long id, ReservationRequest request) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
@@ -141,11 +474,13 @@ public class ReservationService {
             throw new ValidationException("Cannot update a cancelled or completed reservation");
         }
 
-        
-        if (!reservation.getSlot().getId().equals(request.getSlotId())) {
-            TimeSlot slot = timeSlotRepository.findById(request.getSlotId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Time slot not found"));
-            if (reservationRepository.existsBySlotIdAndStatusNot(slot.getId(), ReservationStatus.CANCELLED)) {
+        TimeSlot previousSlot = reservation.getSlot();
+        int previousTeamSize = reservation.getTeamSize();
+        TimeSlot slot = reservation.getSlot().getId().equals(request.getSlotId())
+                ? reservation.getSlot() : findSlot(request.getSlotId());
+        if (!reservation.getSlot().getId().equals(slot.getId())) {
+            if (!isSeatBased(slot)
+                    && reservationRepository.existsBySlotIdAndStatusNot(slot.getId(), ReservationStatus.CANCELLED)) {
                 throw new ConflictException("Time slot already reserved");
             }
             reservation.setSlot(slot);
@@ -162,23 +497,63 @@ public class ReservationService {
         reservation.setTotalCost(totalCost);
 
         Reservation updated = reservationRepository.save(reservation);
+        if (previousSlot.getId().equals(updated.getSlot().getId())) {
+            if (isSeatBased(previousSlot) && previousTeamSize != updated.getTeamSize()) {
+                releaseSlot(previousSlot, updated.getId(), previousTeamSize);
+                claimSlot(previousSlot, updated);
+            }
+            eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.RESERVATION_UPDATED, updated));
+        } else {
+            releaseSlot(previousSlot, updated.getId(), previousTeamSize);
+            claimSlot(updated.getSlot(), updated);
+            eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.CANCELLED, previousSlot, updated));
+            eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.BOOKED, updated));
+        }
         return toResponse(updated);
     }
 
-    @CacheEvict(value = {"timeslots", "available-timeslots", "room-timeslots", "daterange-timeslots", "reservations", "user-reservations"}, allEntries = true)
+    @Transactional
     public void cancelReservation(Long id) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
+        ReservationStatus previousStatus = reservation.getStatus();
         reservation.setStatus(ReservationStatus.CANCELLED);
         reservationRepository.save(reservation);
+        if (previousStatus != ReservationStatus.CANCELLED) {
+            releaseSlot(reservation.getSlot(), reservation.getId(), reservation.getTeamSize());
+        }
+        eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.CANCELLED, reservation));
     }
 
-    @CacheEvict(value = {"reservations", "user-reservations"}, allEntries = true)
+    @Transactional
     public ReservationResponse updateStatus(Long id, ReservationStatus status) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
+        ReservationStatus previousStatus = reservation.getStatus();
         reservation.setStatus(status);
-        return toResponse(reservationRepository.save(reservation));
+        Reservation saved = reservationRepository.save(reservation);
+        if (status == ReservationStatus.CANCELLED && previousStatus != ReservationStatus.CANCELLED) {
+            releaseSlot(saved.getSlot(), saved.getId(), saved.getTeamSize());
+        } else if (status != ReservationStatus.CANCELLED && previousStatus == ReservationStatus.CANCELLED) {
+            claimSlot(saved.getSlot(), saved);
+        }
+        eventPublisher.publishEvent(TimeSlotChangeEvent.of(statusChangeType(previousStatus, status), saved));
+        return toResponse(saved);
+    }
+
+    // Cancels the given holds that are still pending and past their expiry; returns how many were.
+    @Transactional
+    public int expireHolds(Collection<Long> reservationIds) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int expired = 0;
+        for (Reservation hold : reservationRepository.findAllById(reservationIds)) {
+            if (reservationRepository.expireHold(hold.getId(), now) == 1) {
+                releaseSlot(hold.getSlot(), hold.getId(), hold.getTeamSize());
+                eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.CANCELLED, hold));
+                expired++;
+            }
+        }
+        return expired;
     }
 
     public ReservationResponse getReservationBySlotId(Long slotId) {
@@ -214,6 +589,142 @@ public class ReservationService {
         return Optional.of(new NearestReservationResponse(r.getId(), s.getRoom().getName(), startAt));
     }
 
+    // Virtual slots from recurring rules get their TimeSlot row when they are first booked.
+    // Stored slots are read in one query; rule-generated ones are materialized first. Keeps the
+    // requested order.
+    private List<TimeSlot> findSlots(List<Long> slotIds) {
+        List<Long> storedIds = slotIds.stream().filter(slotId -> !TimeSlotRuleService.isVirtual(slotId)).toList();
+        Map<Long, TimeSlot> stored = timeSlotRepository.findByIdIn(storedIds).stream()
+                .collect(Collectors.toMap(TimeSlot::getId, timeSlot -> timeSlot));
+        List<TimeSlot> timeSlots = new ArrayList<>(slotIds.size());
+        for (Long slotId : slotIds) {
+            TimeSlot timeSlot = TimeSlotRuleService.isVirtual(slotId)
+                    ? timeSlotRuleService.materialize(slotId) : stored.get(slotId);
+            if (timeSlot == null) {
+                throw new ResourceNotFoundException("Time slot not found");
+            }
+            timeSlots.add(timeSlot);
+        }
+        return timeSlots;
+    }
+
+    private TimeSlot findSlot(Long slotId) {
+        if (TimeSlotRuleService.isVirtual(slotId)) {
+            return timeSlotRuleService.materialize(slotId);
+        }
+        return timeSlotRepository.findById(slotId)
+                .orElseThrow(() -> new ResourceNotFoundException("Time slot not found"));
+    }
+
+    // The existence checks before it are only a fast path; this is what decides a race for the slot.
+    // Losing it throws, which rolls back the reservation written by the losing transaction.
+    private void claimSlot(TimeSlot slot, Reservation reservation) {
+        boolean seatBased = isSeatBased(slot);
+        String message = seatBased ? "Not enough seats left in this time slot" : "Time slot already reserved";
+        int claimed;
+        try {
+            claimed = seatBased
+                    ? timeSlotRepository.takeSeats(slot.getId(), reservation.getId(), reservation.getTeamSize())
+                    : timeSlotRepository.markBooked(slot.getId(), reservation.getId());
+        } catch (ConcurrencyFailureException e) {
+            throw new ConflictException(message, e);
+        }
+        if (claimed == 0) {
+            throw new ConflictException(message);
+        }
+    }
+
+    // Claimed in slot id order so two overlapping batches cannot deadlock on each other's rows.
+    // Returns the reservations whose slot was taken by a concurrent booking.
+    private List<Reservation> claimSlots(List<Reservation> reservations) {
+        List<Reservation> sorted = new ArrayList<>(reservations);
+        sorted.sort(Comparator.comparing(reservation -> reservation.getSlot().getId()));
+        List<Reservation> lost = new ArrayList<>();
+        claimSlots(TimeSlotRepository.MARK_BOOKED_SQL, "Time slot already reserved",
+                sorted.stream().filter(reservation -> !isSeatBased(reservation.getSlot())).toList(), lost);
+        claimSlots(TimeSlotRepository.TAKE_SEATS_SQL, "Not enough seats left in this time slot",
+                sorted.stream().filter(reservation -> isSeatBased(reservation.getSlot())).toList(), lost);
+        return lost;
+    }
+
+    private void claimSlots(String sql, String message, List<Reservation> reservations, List<Reservation> lost) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] parameters = reservations.stream()
+                .map(reservation -> new MapSqlParameterSource()
+                        .addValue("slotId", reservation.getSlot().getId())
+                        .addValue("reservationId", reservation.getId())
+                        .addValue("seats", reservation.getTeamSize()))
+                .toArray(SqlParameterSource[]::new);
+        int[] claimed;
+        try {
+            claimed = namedParameterJdbcTemplate.batchUpdate(sql, parameters);
+        } catch (ConcurrencyFailureException e) {
+            throw new ConflictException(message, e);
+        }
+        for (int i = 0; i < claimed.length; i++) {
+            if (claimed[i] == 0) {
+                lost.add(reservations.get(i));
+            }
+        }
+    }
+
+    private String conflictMessage(TimeSlot slot) {
+        return isSeatBased(slot) ? "Not enough seats left in this time slot" : "Time slot already reserved";
+    }
+
+    // The slots, sorted by start time, have to cover the series hours without a gap.
+    private boolean covers(List<TimeSlot> slots, LocalTime startTime, LocalTime endTime) {
+        LocalTime covered = startTime;
+        for (TimeSlot slot : slots) {
+            if (slot.getStartTime().isAfter(covered)) {
+                return false;
+            }
+            if (slot.getEndTime().isAfter(covered)) {
+                covered = slot.getEndTime();
+            }
+        }
+        return !covered.isBefore(endTime);
+    }
+
+    // Gives back the slots of an occurrence that lost one of them to a concurrent booking. Rows
+    // reused from earlier cancellations go back to cancelled; new ones are removed.
+    private void undoOccurrence(List<Reservation> reservations, Set<Long> lostIds, Set<Long> reusedIds) {
+        for (Reservation reservation : reservations) {
+            if (!lostIds.contains(reservation.getId())) {
+                releaseSlot(reservation.getSlot(), reservation.getId(), reservation.getTeamSize());
+            }
+            if (reusedIds.contains(reservation.getId())) {
+                reservation.setStatus(ReservationStatus.CANCELLED);
+            } else {
+                reservationRepository.delete(reservation);
+            }
+        }
+    }
+
+    private void releaseSlot(TimeSlot slot, Long reservationId, int seats) {
+        if (isSeatBased(slot)) {
+            timeSlotRepository.releaseSeats(slot.getId(), seats);
+        } else {
+            timeSlotRepository.clearBooked(slot.getId(), reservationId);
+        }
+    }
+
+    private boolean isSeatBased(TimeSlot slot) {
+        return slot.getRoom().getType() != null && slot.getRoom().getType().isSeatBased();
+    }
+
+    private TimeSlotChangeType statusChangeType(ReservationStatus previousStatus, ReservationStatus status) {
+        if (status == ReservationStatus.CANCELLED && previousStatus != ReservationStatus.CANCELLED) {
+            return TimeSlotChangeType.CANCELLED;
+        }
+        if (previousStatus == ReservationStatus.CANCELLED && status != ReservationStatus.CANCELLED) {
+            return TimeSlotChangeType.BOOKED;
+        }
+        return TimeSlotChangeType.RESERVATION_UPDATED;
+    }
+
     private ReservationResponse toResponse(Reservation reservation) {
         ReservationResponse response = new ReservationResponse();
         response.setId(reservation.getId());
@@ -223,6 +734,7 @@ public class ReservationService {
         response.setTotalCost(reservation.getTotalCost());
         response.setStatus(reservation.getStatus());
         response.setCreatedAt(reservation.getCreatedAt());
+        response.setHoldExpiresAt(reservation.getHoldExpiresAt());
         return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.workreserve.backend.room.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RoomAvailabilityResponse {
+    private RoomResponse room;
+    private List<Long> slotIds = new ArrayList<>();
+
+    public RoomResponse getRoom() { return room; }
+    public void setRoom(RoomResponse room) { this.room = room; }
+
+    public List<Long> getSlotIds() { return slotIds; }
+    public void setSlotIds(List<Long> slotIds) { this.slotIds = slotIds; }
+}
@@ -10,13 +10,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.ArrayList;
+import com.workreserve.backend.room.DTO.RoomAvailabilityResponse;
 import com.workreserve.backend.room.DTO.RoomRequest;
 import com.workreserve.backend.room.DTO.RoomResponse;
 import com.workreserve.backend.config.FileStorageService;
+import com.workreserve.backend.config.ResourceVersions;
 
 @RestController
 @RequestMapping("/api/rooms")
@@ -29,10 +32,16 @@ public class RoomController {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Operation(summary = "Get all rooms", description = "Retrieve a list of all available rooms")
     @ApiResponse(responseCode = "200", description = "List of rooms retrieved successfully")
     @GetMapping
-    public List<RoomResponse> getAllRooms() {
+    public List<RoomResponse> getAllRooms(WebRequest webRequest) {
+        if (resourceVersions.checkNotModified(webRequest, resourceVersions.etag(resourceVersions.version(ResourceVersions.ROOMS)))) {
+            return null;
+        }
         return roomService.getAllRooms();
     }
 
@@ -71,7 +80,9 @@ public class RoomController {
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
     public ResponseEntity<RoomResponse> createRoom(@Valid @RequestBody RoomRequest request) {
-        return ResponseEntity.ok(roomService.createRoom(request));
+        RoomResponse room = roomService.createRoom(request);
+        resourceVersions.bump(ResourceVersions.ROOMS);
+        return ResponseEntity.ok(room);
     }
 
     @Operation(summary = "Update room", description = "Update an existing room by ID (Admin only)")
@@ -85,7 +96,10 @@ public class RoomController {
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<RoomResponse> updateRoom(@PathVariable Long id, @Valid @RequestBody RoomRequest request) {
-        return ResponseEntity.ok(roomService.updateRoom(id, request));
+        RoomResponse room = roomService.updateRoom(id, request);
+        // Bumped here rather than in RoomService so the rooms cache has already been evicted.
+        resourceVersions.bump(ResourceVersions.ROOMS);
+        return ResponseEntity.ok(room);
     }
 
     @Operation(summary = "Delete room", description = "Delete a room by its ID (Admin only)")
@@ -95,6 +109,7 @@ public class RoomController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteRoom(@PathVariable Long id) {
         roomService.deleteRoom(id);
+        resourceVersions.bump(ResourceVersions.ROOMS);
         return ResponseEntity.noContent().build();
     }
 
@@ -107,4 +122,21 @@ public class RoomController {
     ) {
         return roomService.getAvailableRooms(date, startTime, endTime);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Search available rooms",
+            description = "Find rooms whose free, adjacent time slots together cover the requested window, optionally filtered by minimum capacity and room type")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching rooms with the slots that cover the window"),
+        @ApiResponse(responseCode = "400", description = "Invalid time range")
+    })
+    @GetMapping("/available/search")
+    public List<RoomAvailabilityResponse> searchAvailableRooms(
+            @RequestParam @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate date,
+            @RequestParam @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.TIME) java.time.LocalTime startTime,
+            @RequestParam @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.TIME) java.time.LocalTime endTime,
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(required = false) RoomType type
+    ) {
+        return roomService.searchAvailableRooms(date, startTime, endTime, minCapacity, type);
+    }
+}
@@ -1,8 +1,16 @@
 package com.workreserve.backend.room;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
     Optional<Room> findByName(String name);
+
+    @Query("SELECT DISTINCT r FROM Room r LEFT JOIN FETCH r.imageUrls WHERE r.id IN :ids")
+    List<Room> findAllWithImagesByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -10,13 +10,18 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.Authentication;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import com.workreserve.backend.room.DTO.RoomAvailabilityResponse;
 import com.workreserve.backend.room.DTO.RoomRequest;
 import com.workreserve.backend.room.DTO.RoomResponse;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import com.workreserve.backend.timeslot.TimeSlotRepository;
+import com.workreserve.backend.timeslot.RoomAvailabilityIndex;
 import com.workreserve.backend.activity.ActivityService;
 import com.workreserve.backend.config.FileStorageService;
 import com.workreserve.backend.user.User;
@@ -29,7 +34,7 @@ public class RoomService {
     private RoomRepository roomRepository;
 
     @Autowired
-    private TimeSlotRepository timeSlotRepository;
+    private RoomAvailabilityIndex roomAvailabilityIndex;
 
     @Autowired
     private FileStorageService fileStorageService;
@@ -54,6 +59,14 @@ public class RoomService {
         return toResponse(room);
     }
 
+    public Map<Long, RoomResponse> getRoomsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return roomRepository.findAllWithImagesByIdIn(ids).stream()
+                .collect(Collectors.toMap(Room::getId, this::toResponse));
+    }
+
     @CacheEvict(value = "rooms", allEntries = true)
     public RoomResponse createRoom(RoomRequest request) {
         String normalizedName = request.getName().trim().toLowerCase();
@@ -87,7 +100,8 @@ public class RoomService {
         return toResponse(savedRoom);
     }
 
-    @CacheEvict(value = "rooms", allEntries = true)
+    // Cached slot responses embed the room, so they are dropped along with it.
+    @CacheEvict(value = {"rooms", "timeslots", "room-timeslots", "timeslot-segments"}, allEntries = true)
     public RoomResponse updateRoom(Long id, RoomRequest request) {
         Room room = roomRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Room not found"));
@@ -128,7 +142,8 @@ public class RoomService {
         return toResponse(updatedRoom);
     }
 
-    @CacheEvict(value = "rooms", allEntries = true)
+    // Cached slot responses embed the room, so they are dropped along with it.
+    @CacheEvict(value = {"rooms", "timeslots", "room-timeslots", "timeslot-segments"}, allEntries = true)
     public void deleteRoom(Long id) {
         Room room = roomRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Room not found"));
@@ -150,8 +165,37 @@ public class RoomService {
     }
 
     public List<RoomResponse> getAvailableRooms(LocalDate date, LocalTime startTime, LocalTime endTime) {
-        List<Room> rooms = timeSlotRepository.findAvailableRooms(date, startTime, endTime);
-        return rooms.stream().map(this::toResponse).collect(Collectors.toList());
+        List<Long> roomIds = roomAvailabilityIndex.findAvailableRoomIds(date, startTime, endTime);
+        Map<Long, RoomResponse> rooms = getRoomsByIds(roomIds);
+        return roomIds.stream()
+                .map(rooms::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    public List<RoomAvailabilityResponse> searchAvailableRooms(LocalDate date, LocalTime startTime, LocalTime endTime,
+                                                               Integer minCapacity, RoomType type) {
+        if (!startTime.isBefore(endTime)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start time must be before end time");
+        }
+
+        Map<Long, List<Long>> coverage = roomAvailabilityIndex.findCoveringSlotIds(date, startTime, endTime);
+        Map<Long, RoomResponse> rooms = getRoomsByIds(coverage.keySet());
+
+        List<RoomAvailabilityResponse> results = new ArrayList<>();
+        coverage.forEach((roomId, slotIds) -> {
+            RoomResponse room = rooms.get(roomId);
+            if (room == null
+                    || (minCapacity != null && (room.getCapacity() == null || room.getCapacity() < minCapacity))
+                    || (type != null && room.getType() != type)) {
+                return;
+            }
+            RoomAvailabilityResponse result = new RoomAvailabilityResponse();
+            result.setRoom(room);
+            result.setSlotIds(slotIds);
+            results.add(result);
+        });
+        return results;
     }
 
     private String getCurrentUserEmail() {
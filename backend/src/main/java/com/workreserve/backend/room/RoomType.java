@@ -4,5 +4,10 @@ public enum RoomType {
     CONFERENCE_ROOM,
     PRIVATE_OFFICE,
     HOT_DESK,
-    DEDICATED_DESK
+    DEDICATED_DESK;
+
+    // Seat-based rooms sell their capacity seat by seat, so one time slot takes several reservations.
+    public boolean isSeatBased() {
+        return this == HOT_DESK || this == DEDICATED_DESK;
+    }
 }
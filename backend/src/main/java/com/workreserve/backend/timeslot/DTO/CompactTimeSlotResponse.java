@@ -0,0 +1,54 @@
+package com.workreserve.backend.timeslot.DTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// TimeSlotResponse with the room replaced by its id; the room itself is in TimeSlotListResponse.rooms.
+public class CompactTimeSlotResponse {
+
+    private Long id;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Long roomId;
+    private boolean isAvailable;
+    private boolean isBookedByCurrentUser;
+    private String bookedByUserName;
+
+    public CompactTimeSlotResponse() {}
+
+    public CompactTimeSlotResponse(TimeSlotResponse response) {
+        this.id = response.getId();
+        this.date = response.getDate();
+        this.startTime = response.getStartTime();
+        this.endTime = response.getEndTime();
+        this.roomId = response.getRoom() != null ? response.getRoom().getId() : null;
+        this.isAvailable = response.isAvailable();
+        this.isBookedByCurrentUser = response.isBookedByCurrentUser();
+        this.bookedByUserName = response.getBookedByUserName();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+
+    public boolean isAvailable() { return isAvailable; }
+    public void setAvailable(boolean available) { isAvailable = available; }
+
+    public boolean isBookedByCurrentUser() { return isBookedByCurrentUser; }
+    public void setBookedByCurrentUser(boolean bookedByCurrentUser) { this.isBookedByCurrentUser = bookedByCurrentUser; }
+
+    public String getBookedByUserName() { return bookedByUserName; }
+    public void setBookedByUserName(String bookedByUserName) { this.bookedByUserName = bookedByUserName; }
+}
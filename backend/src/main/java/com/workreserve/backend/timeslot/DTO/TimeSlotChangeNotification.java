@@ -0,0 +1,37 @@
+package com.workreserve.backend.timeslot.DTO;
+
+import java.time.LocalDate;
+
+// Delta pushed to change feed subscribers. slotId is null for GENERATED and RULE_CHANGED, which
+// cover a room and date range that clients should reload.
+public class TimeSlotChangeNotification {
+
+    private String type;
+    private Long slotId;
+    private Long roomId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long previousRoomId;
+    private LocalDate previousDate;
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getSlotId() { return slotId; }
+    public void setSlotId(Long slotId) { this.slotId = slotId; }
+
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public Long getPreviousRoomId() { return previousRoomId; }
+    public void setPreviousRoomId(Long previousRoomId) { this.previousRoomId = previousRoomId; }
+
+    public LocalDate getPreviousDate() { return previousDate; }
+    public void setPreviousDate(LocalDate previousDate) { this.previousDate = previousDate; }
+}
@@ -0,0 +1,35 @@
+package com.workreserve.backend.timeslot.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Result of a delta sync. When resyncRequired is set the client reloads everything and continues
+// from version; otherwise it applies changed, deleted and ranges and asks again with version.
+public class TimeSlotChangesResponse {
+
+    private long version;
+    private boolean resyncRequired;
+    private boolean hasMore;
+    private List<TimeSlotResponse> changed = new ArrayList<>();
+    private List<Long> deleted = new ArrayList<>();
+    // Bulk changes (generation, schedule rules) that only name a room and date range to reload.
+    private List<TimeSlotChangeNotification> ranges = new ArrayList<>();
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public boolean isResyncRequired() { return resyncRequired; }
+    public void setResyncRequired(boolean resyncRequired) { this.resyncRequired = resyncRequired; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public List<TimeSlotResponse> getChanged() { return changed; }
+    public void setChanged(List<TimeSlotResponse> changed) { this.changed = changed; }
+
+    public List<Long> getDeleted() { return deleted; }
+    public void setDeleted(List<Long> deleted) { this.deleted = deleted; }
+
+    public List<TimeSlotChangeNotification> getRanges() { return ranges; }
+    public void setRanges(List<TimeSlotChangeNotification> ranges) { this.ranges = ranges; }
+}
@@ -0,0 +1,14 @@
+package com.workreserve.backend.timeslot.DTO;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class TimeSlotGenerationJobRequest {
+    @NotEmpty
+    @Valid
+    private List<TimeSlotGenerationRequest> generations;
+
+    public List<TimeSlotGenerationRequest> getGenerations() { return generations; }
+    public void setGenerations(List<TimeSlotGenerationRequest> generations) { this.generations = generations; }
+}
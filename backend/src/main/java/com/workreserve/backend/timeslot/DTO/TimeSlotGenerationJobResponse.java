@@ -0,0 +1,61 @@
+package com.workreserve.backend.timeslot.DTO;
+
+import com.workreserve.backend.timeslot.TimeSlotGenerationJobStatus;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimeSlotGenerationJobResponse {
+    private String jobId;
+    private TimeSlotGenerationJobStatus status;
+    private int rooms;
+    private int roomsCompleted;
+    private int roomsFailed;
+    private int candidates;
+    private int created;
+    private int conflictsSkipped;
+    private Long estimatedSecondsRemaining;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private List<String> errors = new ArrayList<>();
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public TimeSlotGenerationJobStatus getStatus() { return status; }
+    public void setStatus(TimeSlotGenerationJobStatus status) { this.status = status; }
+
+    public int getRooms() { return rooms; }
+    public void setRooms(int rooms) { this.rooms = rooms; }
+
+    public int getRoomsCompleted() { return roomsCompleted; }
+    public void setRoomsCompleted(int roomsCompleted) { this.roomsCompleted = roomsCompleted; }
+
+    public int getRoomsFailed() { return roomsFailed; }
+    public void setRoomsFailed(int roomsFailed) { this.roomsFailed = roomsFailed; }
+
+    public int getCandidates() { return candidates; }
+    public void setCandidates(int candidates) { this.candidates = candidates; }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getConflictsSkipped() { return conflictsSkipped; }
+    public void setConflictsSkipped(int conflictsSkipped) { this.conflictsSkipped = conflictsSkipped; }
+
+    public Long getEstimatedSecondsRemaining() { return estimatedSecondsRemaining; }
+    public void setEstimatedSecondsRemaining(Long estimatedSecondsRemaining) { this.estimatedSecondsRemaining = estimatedSecondsRemaining; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+}
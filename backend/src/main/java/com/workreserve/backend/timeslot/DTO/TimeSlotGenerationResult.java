@@ -0,0 +1,27 @@
+package com.workreserve.backend.timeslot.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimeSlotGenerationResult {
+    private Long roomId;
+    private int candidates;
+    private int created;
+    private int conflictsSkipped;
+    private List<Long> createdIds = new ArrayList<>();
+
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+
+    public int getCandidates() { return candidates; }
+    public void setCandidates(int candidates) { this.candidates = candidates; }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getConflictsSkipped() { return conflictsSkipped; }
+    public void setConflictsSkipped(int conflictsSkipped) { this.conflictsSkipped = conflictsSkipped; }
+
+    public List<Long> getCreatedIds() { return createdIds; }
+    public void setCreatedIds(List<Long> createdIds) { this.createdIds = createdIds; }
+}
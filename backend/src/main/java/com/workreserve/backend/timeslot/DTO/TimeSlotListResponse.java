@@ -0,0 +1,33 @@
+package com.workreserve.backend.timeslot.DTO;
+
+import com.workreserve.backend.room.DTO.RoomResponse;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Normalized form of a slot list: every room is sent once, keyed by id, instead of inside each slot.
+public class TimeSlotListResponse {
+
+    private Map<Long, RoomResponse> rooms = new LinkedHashMap<>();
+    private List<CompactTimeSlotResponse> slots;
+
+    public TimeSlotListResponse() {}
+
+    public TimeSlotListResponse(List<TimeSlotResponse> responses) {
+        this.slots = responses.stream()
+                .map(CompactTimeSlotResponse::new)
+                .toList();
+        for (TimeSlotResponse response : responses) {
+            if (response.getRoom() != null) {
+                rooms.putIfAbsent(response.getRoom().getId(), response.getRoom());
+            }
+        }
+    }
+
+    public Map<Long, RoomResponse> getRooms() { return rooms; }
+    public void setRooms(Map<Long, RoomResponse> rooms) { this.rooms = rooms; }
+
+    public List<CompactTimeSlotResponse> getSlots() { return slots; }
+    public void setSlots(List<CompactTimeSlotResponse> slots) { this.slots = slots; }
+}
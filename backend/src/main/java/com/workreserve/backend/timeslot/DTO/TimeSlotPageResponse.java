@@ -0,0 +1,26 @@
+package com.workreserve.backend.timeslot.DTO;
+
+import java.util.List;
+
+public class TimeSlotPageResponse {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private List<TimeSlotResponse> items;
+    // Opaque; pass back as cursor to get the next page. Null on the last page.
+    private String nextCursor;
+
+    public TimeSlotPageResponse() {}
+
+    public TimeSlotPageResponse(List<TimeSlotResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TimeSlotResponse> getItems() { return items; }
+    public void setItems(List<TimeSlotResponse> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
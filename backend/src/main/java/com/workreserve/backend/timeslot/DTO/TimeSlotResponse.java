@@ -1,5 +1,6 @@
 package com.workreserve.backend.timeslot.DTO;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.workreserve.backend.room.DTO.RoomResponse;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -14,6 +15,8 @@ public class TimeSlotResponse {
     private boolean isAvailable;
     private boolean isBookedByCurrentUser;
     private String bookedByUserName;
+    @JsonIgnore
+    private Long bookedByUserId;
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -38,4 +41,7 @@ public class TimeSlotResponse {
 
     public String getBookedByUserName() { return bookedByUserName; }
     public void setBookedByUserName(String bookedByUserName) { this.bookedByUserName = bookedByUserName; }
+
+    public Long getBookedByUserId() { return bookedByUserId; }
+    public void setBookedByUserId(Long bookedByUserId) { this.bookedByUserId = bookedByUserId; }
 }
@@ -0,0 +1,46 @@
+package com.workreserve.backend.timeslot.DTO;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimeSlotRuleRequest {
+    @NotNull
+    private Long roomId;
+
+    @NotEmpty
+    private List<Integer> weekDays;
+
+    @NotEmpty
+    @Valid
+    private List<TimeSlotGenerationRequest.TimeSlotTemplate> timeSlots;
+
+    @NotNull
+    private LocalDate validFrom;
+
+    @NotNull
+    private LocalDate validUntil;
+
+    private List<LocalDate> exceptions = new ArrayList<>();
+
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+
+    public List<Integer> getWeekDays() { return weekDays; }
+    public void setWeekDays(List<Integer> weekDays) { this.weekDays = weekDays; }
+
+    public List<TimeSlotGenerationRequest.TimeSlotTemplate> getTimeSlots() { return timeSlots; }
+    public void setTimeSlots(List<TimeSlotGenerationRequest.TimeSlotTemplate> timeSlots) { this.timeSlots = timeSlots; }
+
+    public LocalDate getValidFrom() { return validFrom; }
+    public void setValidFrom(LocalDate validFrom) { this.validFrom = validFrom; }
+
+    public LocalDate getValidUntil() { return validUntil; }
+    public void setValidUntil(LocalDate validUntil) { this.validUntil = validUntil; }
+
+    public List<LocalDate> getExceptions() { return exceptions; }
+    public void setExceptions(List<LocalDate> exceptions) { this.exceptions = exceptions; }
+}
@@ -0,0 +1,40 @@
+package com.workreserve.backend.timeslot.DTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimeSlotRuleResponse {
+    private Long id;
+    private Long roomId;
+    private String roomName;
+    private List<Integer> weekDays = new ArrayList<>();
+    private List<TimeSlotGenerationRequest.TimeSlotTemplate> timeSlots = new ArrayList<>();
+    private LocalDate validFrom;
+    private LocalDate validUntil;
+    private List<LocalDate> exceptions = new ArrayList<>();
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+
+    public String getRoomName() { return roomName; }
+    public void setRoomName(String roomName) { this.roomName = roomName; }
+
+    public List<Integer> getWeekDays() { return weekDays; }
+    public void setWeekDays(List<Integer> weekDays) { this.weekDays = weekDays; }
+
+    public List<TimeSlotGenerationRequest.TimeSlotTemplate> getTimeSlots() { return timeSlots; }
+    public void setTimeSlots(List<TimeSlotGenerationRequest.TimeSlotTemplate> timeSlots) { this.timeSlots = timeSlots; }
+
+    public LocalDate getValidFrom() { return validFrom; }
+    public void setValidFrom(LocalDate validFrom) { this.validFrom = validFrom; }
+
+    public LocalDate getValidUntil() { return validUntil; }
+    public void setValidUntil(LocalDate validUntil) { this.validUntil = validUntil; }
+
+    public List<LocalDate> getExceptions() { return exceptions; }
+    public void setExceptions(List<LocalDate> exceptions) { this.exceptions = exceptions; }
+}
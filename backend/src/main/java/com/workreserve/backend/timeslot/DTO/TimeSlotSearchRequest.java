@@ -0,0 +1,55 @@
+package com.workreserve.backend.timeslot.DTO;
+
+import com.workreserve.backend.room.RoomType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+public class TimeSlotSearchRequest {
+
+    private Long roomId;
+    private RoomType type;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    private Boolean available;
+
+    @Min(1)
+    private Integer minCapacity;
+
+    private String cursor;
+
+    @Min(1)
+    @Max(TimeSlotPageResponse.MAX_PAGE_SIZE)
+    private Integer size;
+
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+
+    public RoomType getType() { return type; }
+    public void setType(RoomType type) { this.type = type; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public Boolean getAvailable() { return available; }
+    public void setAvailable(Boolean available) { this.available = available; }
+
+    public Integer getMinCapacity() { return minCapacity; }
+    public void setMinCapacity(Integer minCapacity) { this.minCapacity = minCapacity; }
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+}
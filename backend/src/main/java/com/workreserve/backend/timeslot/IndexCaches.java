@@ -0,0 +1,40 @@
+package com.workreserve.backend.timeslot;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentMap;
+
+// Backing maps for the in-memory slot indexes. They only see this node's events, so entries expire
+// a fixed time after they were loaded, not after their last in-place update, and changes made on
+// other nodes are picked up within that time. The size bound keeps rarely queried days from piling up.
+final class IndexCaches {
+
+    private IndexCaches() {
+    }
+
+    static <K, V> ConcurrentMap<K, V> expiringAfterLoad(long maximumSize, Duration timeToLive) {
+        long nanos = timeToLive.toNanos();
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<K, V>() {
+                    @Override
+                    public long expireAfterCreate(K key, V value, long currentTime) {
+                        return nanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .<K, V>build()
+                .asMap();
+    }
+}
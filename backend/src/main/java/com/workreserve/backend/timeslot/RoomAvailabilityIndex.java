@@ -0,0 +1,298 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.room.RoomType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Answers "which rooms have a free slot covering this time range" from memory. Each day is loaded
+// once with a single query and then kept up to date from TimeSlotChangeEvents: bookings and
+// cancellations flip one slot in place, other slot changes drop the affected days. A seat-based
+// slot only counts as booked once it is full, which the event does not tell, so bookings in those
+// rooms drop the day as well. Events only arrive from this node, so a day is also reloaded a minute
+// after it was loaded to pick up changes made elsewhere in the cluster.
+@Component
+public class RoomAvailabilityIndex {
+
+    static final int BUCKET_SECONDS = 5 * 60;
+    private static final int WORDS = (24 * 60 * 60 / BUCKET_SECONDS + 63) / 64;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private TimeSlotRuleService timeSlotRuleService;
+
+    private static final long MAX_DAYS = 400;
+    private static final Duration DAY_TTL = Duration.ofMinutes(1);
+
+    private final Map<LocalDate, Map<Long, RoomDay>> days = IndexCaches.expiringAfterLoad(MAX_DAYS, DAY_TTL);
+
+    // Same semantics as TimeSlotRepository.findAvailableRooms: a single unreserved slot must
+    // contain the whole range. Room ids are returned in ascending order.
+    public List<Long> findAvailableRoomIds(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        int start = startTime.toSecondOfDay();
+        int end = endTime.toSecondOfDay();
+        long[] mask = bucketsWithin(start, end);
+
+        List<Long> roomIds = new ArrayList<>();
+        days.computeIfAbsent(date, this::loadDay).forEach((roomId, roomDay) -> {
+            if (roomDay.isFree(start, end, mask)) {
+                roomIds.add(roomId);
+            }
+        });
+        return roomIds;
+    }
+
+    // Unlike findAvailableRoomIds, the range may be covered by several free slots as long as they
+    // leave no gap. Returns, per room in ascending id order, the ids of the slots that cover it.
+    public Map<Long, List<Long>> findCoveringSlotIds(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        int start = startTime.toSecondOfDay();
+        int end = endTime.toSecondOfDay();
+        long[] mask = bucketsWithin(start, end);
+
+        Map<Long, List<Long>> coverage = new LinkedHashMap<>();
+        days.computeIfAbsent(date, this::loadDay).forEach((roomId, roomDay) -> {
+            List<Long> slotIds = roomDay.covering(start, end, mask);
+            if (slotIds != null) {
+                coverage.put(roomId, slotIds);
+            }
+        });
+        return coverage;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTimeSlotChange(TimeSlotChangeEvent event) {
+        switch (event.type()) {
+            case BOOKED, CANCELLED -> days.computeIfPresent(event.startDate(), (date, rooms) ->
+                    withBooked(rooms, event.roomId(), event.slotId(), event.type() == TimeSlotChangeType.BOOKED));
+            case RESERVATION_UPDATED -> {
+            }
+            case RULE_CHANGED -> days.keySet().removeIf(date ->
+                    !date.isBefore(event.startDate()) && !date.isAfter(event.endDate()));
+            default -> {
+                for (LocalDate date = event.startDate(); !date.isAfter(event.endDate()); date = date.plusDays(1)) {
+                    days.remove(date);
+                }
+                if (event.previousDate() != null) {
+                    days.remove(event.previousDate());
+                }
+            }
+        }
+    }
+
+    public void evictBefore(LocalDate date) {
+        days.keySet().removeIf(day -> day.isBefore(date));
+    }
+
+    private Map<Long, RoomDay> loadDay(LocalDate date) {
+        List<Object[]> rows = new ArrayList<>(timeSlotRepository.findSlotTimesByDate(date));
+        Set<TimeSlotRuleService.SlotKey> materialized = new HashSet<>();
+        for (Object[] row : rows) {
+            materialized.add(new TimeSlotRuleService.SlotKey((Long) row[1], date, (LocalTime) row[2], (LocalTime) row[3]));
+        }
+        // Virtual slots from recurring rules are free until a booking materializes them.
+        for (TimeSlotRuleService.VirtualSlot slot : timeSlotRuleService.expandExcept(date, date, materialized)) {
+            rows.add(new Object[]{slot.id(), slot.roomId(), slot.startTime(), slot.endTime(), null, null});
+        }
+        Map<Long, List<Object[]>> byRoom = new TreeMap<>();
+        for (Object[] row : rows) {
+            byRoom.computeIfAbsent((Long) row[1], roomId -> new ArrayList<>()).add(row);
+        }
+        Map<Long, RoomDay> rooms = new TreeMap<>();
+        byRoom.forEach((roomId, roomRows) -> {
+            long[] ids = new long[roomRows.size()];
+            int[] starts = new int[roomRows.size()];
+            int[] ends = new int[roomRows.size()];
+            boolean[] booked = new boolean[roomRows.size()];
+            boolean seatBased = false;
+            for (int i = 0; i < roomRows.size(); i++) {
+                Object[] row = roomRows.get(i);
+                ids[i] = (Long) row[0];
+                starts[i] = ((LocalTime) row[2]).toSecondOfDay();
+                ends[i] = ((LocalTime) row[3]).toSecondOfDay();
+                booked[i] = row[4] != null;
+                seatBased |= row[5] != null && ((RoomType) row[5]).isSeatBased();
+            }
+            rooms.put(roomId, new RoomDay(ids, starts, ends, booked, seatBased));
+        });
+        return rooms;
+    }
+
+    private Map<Long, RoomDay> withBooked(Map<Long, RoomDay> rooms, Long roomId, Long slotId, boolean booked) {
+        RoomDay roomDay = rooms.get(roomId);
+        if (roomDay == null || slotId == null) {
+            return rooms;
+        }
+        if (roomDay.seatBased) {
+            // Dropped and reloaded from the slot pointers, which are only set on full slots.
+            return null;
+        }
+        Map<Long, RoomDay> updated = new TreeMap<>(rooms);
+        updated.put(roomId, roomDay.withBooked(slotId, booked));
+        return updated;
+    }
+
+    // Bits of the buckets lying entirely inside [start, end).
+    static long[] bucketsWithin(int start, int end) {
+        long[] bits = new long[WORDS];
+        int first = (start + BUCKET_SECONDS - 1) / BUCKET_SECONDS;
+        int last = end / BUCKET_SECONDS;
+        for (int bucket = first; bucket < last; bucket++) {
+            bits[bucket >>> 6] |= 1L << bucket;
+        }
+        return bits;
+    }
+
+    // Slots of one room on one day. freeBuckets marks the buckets covered by the free slots merged
+    // into runs without gaps, so a bucket covered by two adjacent slots counts too, and rejects most
+    // ranges with a few ANDs; survivors are confirmed against the free slots sorted
+    // by start, where freeMaxEnd[i] is the largest end among the first i+1 of them.
+    static final class RoomDay {
+
+        private final long[] ids;
+        private final int[] starts;
+        private final int[] ends;
+        private final boolean[] booked;
+        private final boolean seatBased;
+        private final long[] freeBuckets;
+        private final long[] freeIds;
+        private final int[] freeStarts;
+        private final int[] freeEnds;
+        private final int[] freeMaxEnd;
+
+        RoomDay(long[] ids, int[] starts, int[] ends, boolean[] booked, boolean seatBased) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.booked = booked;
+            this.seatBased = seatBased;
+
+            Integer[] order = new Integer[ids.length];
+            int free = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (!booked[i]) {
+                    order[free++] = i;
+                }
+            }
+            Arrays.sort(order, 0, free, (a, b) -> Integer.compare(starts[a], starts[b]));
+
+            this.freeBuckets = new long[WORDS];
+            this.freeIds = new long[free];
+            this.freeStarts = new int[free];
+            this.freeEnds = new int[free];
+            this.freeMaxEnd = new int[free];
+            int max = Integer.MIN_VALUE;
+            int runStart = 0;
+            for (int i = 0; i < free; i++) {
+                int start = starts[order[i]];
+                // A slot starting after everything so far ends the current run of free time.
+                if (i == 0 || start > max) {
+                    if (i > 0) {
+                        markBuckets(runStart, max);
+                    }
+                    runStart = start;
+                }
+                max = Math.max(max, ends[order[i]]);
+                freeIds[i] = ids[order[i]];
+                freeStarts[i] = start;
+                freeEnds[i] = ends[order[i]];
+                freeMaxEnd[i] = max;
+            }
+            if (free > 0) {
+                markBuckets(runStart, max);
+            }
+        }
+
+        private void markBuckets(int start, int end) {
+            long[] covered = bucketsWithin(start, end);
+            for (int word = 0; word < WORDS; word++) {
+                freeBuckets[word] |= covered[word];
+            }
+        }
+
+        boolean isFree(int start, int end, long[] mask) {
+            if (!coversBuckets(mask)) {
+                return false;
+            }
+            int candidates = lastStartAtOrBefore(start);
+            return candidates >= 0 && freeMaxEnd[candidates] >= end;
+        }
+
+        private boolean coversBuckets(long[] mask) {
+            for (int word = 0; word < WORDS; word++) {
+                if ((freeBuckets[word] & mask[word]) != mask[word]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Greedy sweep over the free slots in start order: from the point reached so far, extend
+        // with the slot starting at or before it that reaches furthest. Null when a gap remains.
+        List<Long> covering(int start, int end, long[] mask) {
+            if (!coversBuckets(mask)) {
+                return null;
+            }
+            List<Long> slotIds = new ArrayList<>();
+            int reached = start;
+            int i = 0;
+            while (reached < end) {
+                int best = -1;
+                for (; i < freeStarts.length && freeStarts[i] <= reached; i++) {
+                    if (best < 0 || freeEnds[i] > freeEnds[best]) {
+                        best = i;
+                    }
+                }
+                if (best < 0 || freeEnds[best] <= reached) {
+                    return null;
+                }
+                slotIds.add(freeIds[best]);
+                reached = freeEnds[best];
+            }
+            return slotIds;
+        }
+
+        RoomDay withBooked(long slotId, boolean value) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == slotId) {
+                    if (booked[i] == value) {
+                        return this;
+                    }
+                    boolean[] updated = booked.clone();
+                    updated[i] = value;
+                    return new RoomDay(ids, starts, ends, updated, seatBased);
+                }
+            }
+            return this;
+        }
+
+        private int lastStartAtOrBefore(int value) {
+            int low = 0;
+            int high = freeStarts.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (freeStarts[mid] <= value) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+}
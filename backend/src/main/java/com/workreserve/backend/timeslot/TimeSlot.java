@@ -8,6 +8,10 @@ import java.time.LocalTime;
 @Entity
 @Table(name = "time_slots", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"date", "startTime", "endTime", "room_id"})
+}, indexes = {
+    @Index(name = "idx_time_slots_date_active_reservation", columnList = "date, active_reservation_id"),
+    @Index(name = "idx_time_slots_date_start_id", columnList = "date, startTime, id"),
+    @Index(name = "idx_time_slots_room_date_start_id", columnList = "room_id, date, startTime, id")
 })
 public class TimeSlot {
 
@@ -28,6 +32,17 @@ public class TimeSlot {
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
 
+    // Id of the slot's non-cancelled reservation, null while free. In seat-based rooms it is set
+    // only while every seat is taken, to the reservation that took the last ones. Written only
+    // through TimeSlotRepository so entity saves never overwrite it, like seatsTaken.
+    @Column(name = "active_reservation_id", insertable = false, updatable = false)
+    private Long activeReservationId;
+
+    // Seats held by non-cancelled reservations; only used in seat-based rooms.
+    @Column(name = "seats_taken", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0")
+    private int seatsTaken;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -42,4 +57,10 @@ public class TimeSlot {
 
     public Room getRoom() { return room; }
     public void setRoom(Room room) { this.room = room; }
+
+    public Long getActiveReservationId() { return activeReservationId; }
+    public void setActiveReservationId(Long activeReservationId) { this.activeReservationId = activeReservationId; }
+
+    public int getSeatsTaken() { return seatsTaken; }
+    public void setSeatsTaken(int seatsTaken) { this.seatsTaken = seatsTaken; }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.workreserve.backend.timeslot;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+
+@Component
+public class TimeSlotCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TimeSlotSegmentCache timeSlotSegmentCache;
+
+    @Autowired
+    private TimeSlotETags timeSlotETags;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTimeSlotChange(TimeSlotChangeEvent event) {
+        evict("timeslots", SimpleKey.EMPTY);
+        evict("timeslots", event.slotId());
+        evict("room-timeslots", event.roomId());
+        if (event.previousRoomId() != null) {
+            evict("room-timeslots", event.previousRoomId());
+        }
+
+        switch (event.type()) {
+            case BOOKED, CANCELLED -> timeSlotSegmentCache.evictSegment(event.roomId(), event.startDate());
+            case RESERVATION_UPDATED -> {
+            }
+            case RULE_CHANGED -> timeSlotSegmentCache.clear();
+            default -> {
+                // The set of slots changed, so the day's room directory is stale as well.
+                for (LocalDate date = event.startDate(); !date.isAfter(event.endDate()); date = date.plusDays(1)) {
+                    timeSlotSegmentCache.evictDay(event.roomId(), date);
+                }
+                if (event.previousDate() != null) {
+                    timeSlotSegmentCache.evictDay(
+                            event.previousRoomId() != null ? event.previousRoomId() : event.roomId(), event.previousDate());
+                }
+            }
+        }
+
+        if (event.reservationId() != null) {
+            evict("reservations", SimpleKey.EMPTY);
+            evict("reservations", event.reservationId());
+            evict("user-reservations", event.userId());
+        }
+
+        // Only after eviction, so a request that sees the new version cannot be served stale entries.
+        timeSlotETags.onTimeSlotChange(event);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+}
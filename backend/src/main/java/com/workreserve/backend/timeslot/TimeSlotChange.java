@@ -0,0 +1,56 @@
+package com.workreserve.backend.timeslot;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One entry of the slot change log. The id is the change version: it only grows, so clients sync
+// by asking for the entries after the last version they have seen.
+@Entity
+@Table(name = "time_slot_changes", indexes = {
+    @Index(name = "idx_time_slot_changes_changed_at", columnList = "changedAt")
+})
+public class TimeSlotChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TimeSlotChangeType type;
+
+    // Null for changes that cover a room and date range rather than one slot.
+    private Long slotId;
+
+    private Long roomId;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public TimeSlotChangeType getType() { return type; }
+    public void setType(TimeSlotChangeType type) { this.type = type; }
+
+    public Long getSlotId() { return slotId; }
+    public void setSlotId(Long slotId) { this.slotId = slotId; }
+
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
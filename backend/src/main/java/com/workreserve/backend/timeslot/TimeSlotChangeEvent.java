@@ -0,0 +1,45 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.reservation.Reservation;
+
+import java.time.LocalDate;
+
+public record TimeSlotChangeEvent(TimeSlotChangeType type,
+                                  Long slotId,
+                                  Long roomId,
+                                  LocalDate startDate,
+                                  LocalDate endDate,
+                                  Long previousRoomId,
+                                  LocalDate previousDate,
+                                  Long userId,
+                                  Long reservationId) {
+
+    public static TimeSlotChangeEvent of(TimeSlotChangeType type, TimeSlot slot) {
+        return new TimeSlotChangeEvent(type, slot.getId(), slot.getRoom().getId(), slot.getDate(), slot.getDate(),
+                null, null, null, null);
+    }
+
+    public static TimeSlotChangeEvent moved(TimeSlot slot, Long previousRoomId, LocalDate previousDate) {
+        return new TimeSlotChangeEvent(TimeSlotChangeType.UPDATED, slot.getId(), slot.getRoom().getId(),
+                slot.getDate(), slot.getDate(), previousRoomId, previousDate, null, null);
+    }
+
+    public static TimeSlotChangeEvent generated(Long roomId, LocalDate startDate, LocalDate endDate) {
+        return new TimeSlotChangeEvent(TimeSlotChangeType.GENERATED, null, roomId, startDate, endDate,
+                null, null, null, null);
+    }
+
+    public static TimeSlotChangeEvent ruleChanged(Long roomId, LocalDate startDate, LocalDate endDate) {
+        return new TimeSlotChangeEvent(TimeSlotChangeType.RULE_CHANGED, null, roomId, startDate, endDate,
+                null, null, null, null);
+    }
+
+    public static TimeSlotChangeEvent of(TimeSlotChangeType type, Reservation reservation) {
+        return of(type, reservation.getSlot(), reservation);
+    }
+
+    public static TimeSlotChangeEvent of(TimeSlotChangeType type, TimeSlot slot, Reservation reservation) {
+        return new TimeSlotChangeEvent(type, slot.getId(), slot.getRoom().getId(), slot.getDate(), slot.getDate(),
+                null, null, reservation.getUser().getId(), reservation.getId());
+    }
+}
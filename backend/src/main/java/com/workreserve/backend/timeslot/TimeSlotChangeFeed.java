@@ -0,0 +1,260 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.exception.ValidationException;
+import com.workreserve.backend.timeslot.DTO.TimeSlotChangeNotification;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes slot changes to SSE subscribers. Committing threads only offer the change to each matching
+// subscriber's bounded queue; a small sender pool drains the queues, at most one drain per subscriber
+// at a time. A subscriber whose queue is full is too slow to keep up and is disconnected, so it has
+// to reload and resubscribe, instead of blocking the producers or growing without bound.
+// SseEmitter writes block, so a client that stops reading holds its sender thread until the
+// container's write timeout. A send running longer than the send timeout disconnects its subscriber
+// and the pool gets an extra thread for as long as that send stays stuck, so the others keep flowing.
+@Component
+public class TimeSlotChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSlotChangeFeed.class);
+
+    private static final long EMITTER_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.timeslots.feed.buffer-size:256}")
+    private int bufferSize = 256;
+
+    @Value("${app.timeslots.feed.max-subscribers:2000}")
+    private int maxSubscribers = 2000;
+
+    @Value("${app.timeslots.feed.sender-threads:2}")
+    private int senderThreads = 2;
+
+    @Value("${app.timeslots.feed.send-timeout-millis:10000}")
+    private long sendTimeoutMillis = 10000;
+
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private ThreadPoolExecutor sender;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = (ThreadPoolExecutor) Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "slot-feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gaugeCollectionSize("timeslots.feed.subscribers", Tags.empty(), subscribers);
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    // roomIds null or empty means every room; null dates leave the range open on that side.
+    public SseEmitter subscribe(Set<Long> roomIds, LocalDate startDate, LocalDate endDate) {
+        if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
+            throw new ValidationException("End date must not be before start date");
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ValidationException("Too many change feed subscribers, try again later");
+        }
+
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter, roomIds == null || roomIds.isEmpty() ? null : Set.copyOf(roomIds),
+                startDate, endDate, bufferSize);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        enqueue(subscriber, SseEmitter.event().comment("subscribed"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTimeSlotChange(TimeSlotChangeEvent event) {
+        if (event.type() == TimeSlotChangeType.RESERVATION_UPDATED || subscribers.isEmpty()) {
+            return;
+        }
+        TimeSlotChangeNotification notification = toNotification(event);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                enqueue(subscriber, SseEmitter.event().name("change").data(notification));
+            }
+        }
+    }
+
+    // Also lets the container notice connections that went away without a clean close.
+    @Scheduled(fixedDelayString = "${app.timeslots.feed.heartbeat-millis:30000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.timeslots.feed.send-timeout-millis:10000}")
+    public void disconnectStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedAt;
+            if (started != 0 && now - started > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis)
+                    && subscriber.stalled.compareAndSet(false, true)) {
+                subscribers.remove(subscriber);
+                subscriber.queue.clear();
+                resizeSender(1);
+                meterRegistry.counter("timeslots.feed.stalled").increment();
+                logger.info("Disconnected a slot change subscriber whose send was stuck for over {} ms", sendTimeoutMillis);
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(EMITTER_TIMEOUT_MS);
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            drop(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                boolean sent = send(subscriber, event);
+                if (subscriber.stalled.get()) {
+                    // The stuck send came back; give back the thread added for it.
+                    resizeSender(-1);
+                    if (sent) {
+                        subscriber.emitter.complete();
+                    }
+                }
+                if (!sent || subscriber.stalled.get()) {
+                    subscribers.remove(subscriber);
+                    subscriber.queue.clear();
+                    subscriber.draining.set(false);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // An event offered after the last poll but before the flag was cleared has no drain
+            // scheduled for it; take it over unless another drain already has.
+            if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        subscriber.sendStartedAt = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        } finally {
+            subscriber.sendStartedAt = 0;
+        }
+    }
+
+    // The maximum is raised before and lowered after the core size so core never exceeds it.
+    private synchronized void resizeSender(int delta) {
+        if (delta > 0) {
+            sender.setMaximumPoolSize(sender.getMaximumPoolSize() + delta);
+            sender.setCorePoolSize(sender.getCorePoolSize() + delta);
+        } else {
+            sender.setCorePoolSize(sender.getCorePoolSize() + delta);
+            sender.setMaximumPoolSize(sender.getMaximumPoolSize() + delta);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            meterRegistry.counter("timeslots.feed.dropped").increment();
+            logger.info("Disconnected a slot change subscriber that fell {} events behind", bufferSize);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private TimeSlotChangeNotification toNotification(TimeSlotChangeEvent event) {
+        TimeSlotChangeNotification notification = new TimeSlotChangeNotification();
+        notification.setType(event.type().name());
+        notification.setSlotId(event.slotId());
+        notification.setRoomId(event.roomId());
+        notification.setStartDate(event.startDate());
+        notification.setEndDate(event.endDate());
+        notification.setPreviousRoomId(event.previousRoomId());
+        notification.setPreviousDate(event.previousDate());
+        return notification;
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Long> roomIds;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final Queue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean stalled = new AtomicBoolean();
+        // System.nanoTime() when the current send started, 0 while no send is running.
+        private volatile long sendStartedAt;
+
+        Subscriber(SseEmitter emitter, Set<Long> roomIds, LocalDate startDate, LocalDate endDate, int bufferSize) {
+            this.emitter = emitter;
+            this.roomIds = roomIds;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean matches(TimeSlotChangeEvent event) {
+            return matches(event.roomId(), event.startDate(), event.endDate())
+                    || (event.previousDate() != null && matches(
+                            event.previousRoomId() != null ? event.previousRoomId() : event.roomId(),
+                            event.previousDate(), event.previousDate()));
+        }
+
+        private boolean matches(Long roomId, LocalDate from, LocalDate until) {
+            return (roomIds == null || roomId == null || roomIds.contains(roomId))
+                    && (startDate == null || until == null || !until.isBefore(startDate))
+                    && (endDate == null || from == null || !from.isAfter(endDate));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.config.SchedulerLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Appends every slot and reservation change to time_slot_changes. Inside a transaction the entries
+// are buffered and written just before it commits, so they commit or roll back together with the
+// change, and a transaction only holds its versions for the duration of its commit however long it
+// ran before.
+@Component
+public class TimeSlotChangeLog {
+
+    static final String LOCK_NAME = "timeslot-change-log-compaction";
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSlotChangeLog.class);
+
+    @Autowired
+    private TimeSlotChangeRepository timeSlotChangeRepository;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${app.timeslots.changes.retention-days:7}")
+    private long retentionDays = 7;
+
+    @Value("${app.timeslots.changes.commit-grace-millis:5000}")
+    private long commitGraceMillis = 5000;
+
+    public record Window(boolean resyncRequired, long version, boolean hasMore, List<TimeSlotChange> changes) {
+    }
+
+    @EventListener
+    public void onTimeSlotChange(TimeSlotChangeEvent event) {
+        TimeSlotChange change = new TimeSlotChange();
+        change.setType(event.type());
+        change.setSlotId(event.slotId());
+        change.setRoomId(event.roomId());
+        change.setStartDate(event.startDate());
+        change.setEndDate(event.endDate());
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending().add(change);
+        } else {
+            write(List.of(change));
+        }
+    }
+
+    private List<TimeSlotChange> pending() {
+        @SuppressWarnings("unchecked")
+        List<TimeSlotChange> pending = (List<TimeSlotChange>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<TimeSlotChange> changes = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, changes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(TimeSlotChangeLog.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(TimeSlotChangeLog.this, changes);
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // The transaction's own writes go first, so only the commit itself remains after
+                // the versions are taken.
+                timeSlotChangeRepository.flush();
+                write(changes);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TimeSlotChangeLog.this);
+            }
+        });
+        return changes;
+    }
+
+    private void write(List<TimeSlotChange> changes) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (TimeSlotChange change : changes) {
+            change.setChangedAt(now);
+        }
+        timeSlotChangeRepository.saveAllAndFlush(changes);
+    }
+
+    public long latestVersion() {
+        Long latest = timeSlotChangeRepository.findLatestVersion();
+        return latest != null ? latest : 0;
+    }
+
+    // Versions are handed out at insert but become visible at commit, so a lower version can show up
+    // after a higher one. Entries are inserted right before commit, so a missing version is only
+    // pending while its transaction commits. The window therefore stops before a gap until the next
+    // entry is older than the commit grace period; by then the missing version was rolled back or
+    // is visible.
+    public Window read(long since, int limit) {
+        Long oldest = timeSlotChangeRepository.findOldestVersion();
+        long latest = latestVersion();
+        if (since <= 0 || oldest == null || since < oldest - 1 || since > latest) {
+            return new Window(true, latest, false, List.of());
+        }
+
+        List<TimeSlotChange> entries = timeSlotChangeRepository.findByIdGreaterThanOrderByIdAsc(
+                since, PageRequest.of(0, limit + 1));
+        LocalDateTime settled = LocalDateTime.now(clock).minus(Duration.ofMillis(commitGraceMillis));
+        List<TimeSlotChange> changes = new ArrayList<>();
+        long version = since;
+        boolean hasMore = false;
+        for (TimeSlotChange entry : entries) {
+            if (changes.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            if (entry.getId() != version + 1 && entry.getChangedAt().isAfter(settled)) {
+                break;
+            }
+            changes.add(entry);
+            version = entry.getId();
+        }
+        return new Window(false, version, hasMore, changes);
+    }
+
+    @Scheduled(cron = "${app.timeslots.changes.compaction-cron:0 15 4 * * ?}")
+    public void compact() {
+        if (!schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(30))) {
+            logger.debug("Skipping change log compaction, another node is running it");
+            return;
+        }
+        try {
+            Long latest = timeSlotChangeRepository.findLatestVersion();
+            if (latest == null) {
+                return;
+            }
+            int deleted = timeSlotChangeRepository.deleteOlderThan(
+                    LocalDateTime.now(clock).minusDays(retentionDays), latest);
+            logger.info("Compacted {} time slot change log entries", deleted);
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+}
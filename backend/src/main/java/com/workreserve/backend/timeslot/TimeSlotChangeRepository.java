@@ -0,0 +1,28 @@
+package com.workreserve.backend.timeslot;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TimeSlotChangeRepository extends JpaRepository<TimeSlotChange, Long> {
+
+    List<TimeSlotChange> findByIdGreaterThanOrderByIdAsc(Long version, Pageable pageable);
+
+    @Query("SELECT MIN(c.id) FROM TimeSlotChange c")
+    Long findOldestVersion();
+
+    @Query("SELECT MAX(c.id) FROM TimeSlotChange c")
+    Long findLatestVersion();
+
+    // The newest entry is always kept so the oldest retained version stays known after compaction.
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TimeSlotChange c WHERE c.changedAt < :cutoff AND c.id < :latestVersion")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("latestVersion") Long latestVersion);
+}
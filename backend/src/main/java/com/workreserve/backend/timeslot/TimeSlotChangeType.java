@@ -0,0 +1,12 @@
+package com.workreserve.backend.timeslot;
+
+public enum TimeSlotChangeType {
+    CREATED,
+    GENERATED,
+    RULE_CHANGED,
+    UPDATED,
+    DELETED,
+    BOOKED,
+    CANCELLED,
+    RESERVATION_UPDATED
+}
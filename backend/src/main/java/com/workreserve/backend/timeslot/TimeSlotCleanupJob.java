@@ -0,0 +1,86 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.config.SchedulerLockService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+
+// Purges past slots that never had a reservation with one set-based DELETE per batch. Every batch
+// auto-commits, so no connection or lock is held across the pauses between batches.
+@Component
+public class TimeSlotCleanupJob {
+
+    static final String LOCK_NAME = "timeslot-cleanup";
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSlotCleanupJob.class);
+
+    private static final String PURGE_SQL =
+            "DELETE FROM time_slots WHERE id IN (" +
+            "SELECT ts.id FROM time_slots ts WHERE ts.date < ? " +
+            "AND NOT EXISTS (SELECT 1 FROM reservations r WHERE r.slot_id = ts.id) " +
+            "ORDER BY ts.id LIMIT ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.timeslots.cleanup.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Value("${app.timeslots.cleanup.pause-millis:200}")
+    private long pauseMillis = 200;
+
+    @Value("${app.timeslots.cleanup.lock-minutes:30}")
+    private long lockMinutes = 30;
+
+    // Returns the number of purged slots, or -1 when another node holds the cleanup lock.
+    public long purgeUnusedBefore(LocalDate cutoff) {
+        if (!schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(lockMinutes))) {
+            logger.info("Skipping time slot cleanup, another node is running it");
+            return -1;
+        }
+
+        long startedAt = System.nanoTime();
+        long purged = 0;
+        try {
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(PURGE_SQL, Date.valueOf(cutoff), batchSize);
+                purged += deleted;
+                meterRegistry.counter("timeslots.cleanup.purged").increment(deleted);
+            } while (deleted == batchSize && pause());
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+            meterRegistry.timer("timeslots.cleanup.duration").record(elapsed);
+            logger.info("Time slot cleanup purged {} unused slots before {} in {} ms", purged, cutoff, elapsed.toMillis());
+        }
+        return purged;
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package com.workreserve.backend.timeslot;
 
+import com.workreserve.backend.config.ResourceVersions;
 import com.workreserve.backend.timeslot.DTO.BulkTimeSlotRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotChangesResponse;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationJobRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationJobResponse;
 import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationResult;
+import com.workreserve.backend.timeslot.DTO.TimeSlotListResponse;
+import com.workreserve.backend.timeslot.DTO.TimeSlotPageResponse;
 import com.workreserve.backend.timeslot.DTO.TimeSlotRequest;
 import com.workreserve.backend.timeslot.DTO.TimeSlotResponse;
+import com.workreserve.backend.timeslot.DTO.TimeSlotRuleRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotRuleResponse;
+import com.workreserve.backend.timeslot.DTO.TimeSlotSearchRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,29 +24,74 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/timeslots")
 @Tag(name = "Time Slots", description = "Time slot management endpoints")
 public class TimeSlotController {
 
+    // Opt-in for the list endpoints: ?format=normalized returns a TimeSlotListResponse.
+    private static final String NORMALIZED = "normalized";
+
     @Autowired
     private TimeSlotService timeSlotService;
 
+    @Autowired
+    private TimeSlotGenerationJobService timeSlotGenerationJobService;
+
+    @Autowired
+    private TimeSlotRuleService timeSlotRuleService;
+
+    @Autowired
+    private TimeSlotChangeFeed timeSlotChangeFeed;
+
+    @Autowired
+    private TimeSlotETags timeSlotETags;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Operation(summary = "Get all time slots", description = "Retrieve a list of all time slots")
     @ApiResponse(responseCode = "200", description = "List of time slots retrieved successfully",
             content = @Content(schema = @Schema(implementation = TimeSlotResponse.class)))
     @GetMapping
-    public List<TimeSlotResponse> getAllTimeSlots() {
+    public List<TimeSlotResponse> getAllTimeSlots(WebRequest webRequest) {
+        if (resourceVersions.checkNotModified(webRequest, timeSlotETags.allTimeSlots())) {
+            return null;
+        }
         return timeSlotService.getAllTimeSlots();
     }
 
+    @Operation(summary = "Get all time slots, normalized", description = "Same as listing all time slots, with each room sent once in a rooms dictionary and slots referring to it by roomId")
+    @GetMapping(params = "format=" + NORMALIZED)
+    public TimeSlotListResponse getAllTimeSlotsNormalized(WebRequest webRequest) {
+        if (resourceVersions.checkNotModified(webRequest, timeSlotETags.allTimeSlots())) {
+            return null;
+        }
+        return new TimeSlotListResponse(timeSlotService.getAllTimeSlots());
+    }
+
+    @Operation(summary = "Search time slots", description = "Page through time slots in date and start time order, filtered by room, room type, capacity, date range and availability. Pass the returned nextCursor to get the next page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of time slots retrieved successfully",
+                content = @Content(schema = @Schema(implementation = TimeSlotPageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid filter, page size or cursor")
+    })
+    @GetMapping("/search")
+    public TimeSlotPageResponse searchTimeSlots(@Valid TimeSlotSearchRequest request) {
+        return timeSlotService.searchTimeSlots(request);
+    }
+
     @Operation(summary = "Get time slot by ID", description = "Retrieve a specific time slot by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Time slot found",
@@ -57,10 +112,26 @@ public class TimeSlotController {
     @GetMapping("/available")
     public List<TimeSlotResponse> getAvailableTimeSlots(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        if (resourceVersions.checkNotModified(webRequest, timeSlotETags.dateRange(startDate, endDate, false))) {
+            return null;
+        }
         return timeSlotService.getAvailableTimeSlots(startDate, endDate);
     }
 
+    @Operation(summary = "Get available time slots, normalized", description = "Same as getting available time slots, with each room sent once in a rooms dictionary")
+    @GetMapping(value = "/available", params = "format=" + NORMALIZED)
+    public TimeSlotListResponse getAvailableTimeSlotsNormalized(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        if (resourceVersions.checkNotModified(webRequest, timeSlotETags.dateRange(startDate, endDate, false))) {
+            return null;
+        }
+        return new TimeSlotListResponse(timeSlotService.getAvailableTimeSlots(startDate, endDate));
+    }
+
     @Operation(summary = "Get time slots by room", description = "Get all time slots for a specific room")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Time slots for room retrieved successfully",
@@ -68,10 +139,22 @@ public class TimeSlotController {
         @ApiResponse(responseCode = "404", description = "Room not found")
     })
     @GetMapping("/room/{roomId}")
-    public List<TimeSlotResponse> getTimeSlotsByRoom(@PathVariable Long roomId) {
+    public List<TimeSlotResponse> getTimeSlotsByRoom(@PathVariable Long roomId, WebRequest webRequest) {
+        if (resourceVersions.checkNotModified(webRequest, timeSlotETags.roomTimeSlots(roomId))) {
+            return null;
+        }
         return timeSlotService.getTimeSlotsByRoom(roomId);
     }
 
+    @Operation(summary = "Get time slots by room, normalized", description = "Same as getting time slots by room, with the room sent once in a rooms dictionary")
+    @GetMapping(value = "/room/{roomId}", params = "format=" + NORMALIZED)
+    public TimeSlotListResponse getTimeSlotsByRoomNormalized(@PathVariable Long roomId, WebRequest webRequest) {
+        if (resourceVersions.checkNotModified(webRequest, timeSlotETags.roomTimeSlots(roomId))) {
+            return null;
+        }
+        return new TimeSlotListResponse(timeSlotService.getTimeSlotsByRoom(roomId));
+    }
+
     @Operation(summary = "Get time slots by date range", description = "Get all time slots within a specific date range")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Time slots in date range retrieved successfully",
@@ -81,10 +164,26 @@ public class TimeSlotController {
     @GetMapping("/date-range")
     public List<TimeSlotResponse> getTimeSlotsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        if (resourceVersions.checkNotModified(webRequest, timeSlotETags.dateRange(startDate, endDate, true))) {
+            return null;
+        }
         return timeSlotService.getTimeSlotsByDateRange(startDate, endDate);
     }
 
+    @Operation(summary = "Get time slots by date range, normalized", description = "Same as getting time slots by date range, with each room sent once in a rooms dictionary")
+    @GetMapping(value = "/date-range", params = "format=" + NORMALIZED)
+    public TimeSlotListResponse getTimeSlotsByDateRangeNormalized(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        if (resourceVersions.checkNotModified(webRequest, timeSlotETags.dateRange(startDate, endDate, true))) {
+            return null;
+        }
+        return new TimeSlotListResponse(timeSlotService.getTimeSlotsByDateRange(startDate, endDate));
+    }
+
     @Operation(summary = "Create time slot", description = "Create a new time slot (Admin only)")
     @SecurityRequirement(name = "Bearer Authentication")
     @ApiResponses(value = {
@@ -122,6 +221,80 @@ public class TimeSlotController {
         return timeSlotService.generateBulkTimeSlots(request);
     }
 
+    @Operation(summary = "Generate time slots", description = "Generate time slots with batched inserts and return a summary instead of the created slots (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Time slots generated successfully",
+                content = @Content(schema = @Schema(implementation = TimeSlotGenerationResult.class))),
+        @ApiResponse(responseCode = "400", description = "Validation error"),
+        @ApiResponse(responseCode = "404", description = "Room not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied - Admin required")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/generate")
+    public TimeSlotGenerationResult generateTimeSlots(@Valid @RequestBody TimeSlotGenerationRequest request) {
+        return timeSlotService.generateTimeSlots(request);
+    }
+
+    @Operation(summary = "Submit time slot generation job", description = "Generate time slots for one or more rooms in the background and return a job to track (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Generation job accepted",
+                content = @Content(schema = @Schema(implementation = TimeSlotGenerationJobResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Validation error or generation queue full"),
+        @ApiResponse(responseCode = "403", description = "Access denied - Admin required")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/jobs")
+    public ResponseEntity<TimeSlotGenerationJobResponse> submitGenerationJob(@Valid @RequestBody TimeSlotGenerationJobRequest request) {
+        return ResponseEntity.accepted().body(timeSlotGenerationJobService.submit(request));
+    }
+
+    @Operation(summary = "Get time slot generation job", description = "Get the progress of a generation job (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Generation job progress",
+                content = @Content(schema = @Schema(implementation = TimeSlotGenerationJobResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Generation job not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied - Admin required")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/jobs/{jobId}")
+    public TimeSlotGenerationJobResponse getGenerationJob(@PathVariable String jobId) {
+        return timeSlotGenerationJobService.getJob(jobId);
+    }
+
+    @Operation(summary = "Stream time slot generation job progress", description = "Server-sent events with the progress of a generation job until it finishes (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGenerationJob(@PathVariable String jobId) {
+        return timeSlotGenerationJobService.subscribe(jobId);
+    }
+
+    @Operation(summary = "Get time slot changes", description = "Delta sync: the slots changed after the given version, with the version to ask from next. Tells the client to reload everything when the change log no longer reaches back to that version")
+    @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+            content = @Content(schema = @Schema(implementation = TimeSlotChangesResponse.class)))
+    @GetMapping("/changes")
+    public TimeSlotChangesResponse getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit) {
+        return timeSlotService.getChangesSince(since, limit);
+    }
+
+    @Operation(summary = "Stream time slot changes", description = "Server-sent change events (slot created, updated or deleted, booked, cancelled, generated) for the given rooms and date range. Clients that fall too far behind are disconnected and should reload and resubscribe")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range or too many subscribers")
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) Set<Long> roomIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return timeSlotChangeFeed.subscribe(roomIds, startDate, endDate);
+    }
+
     @Operation(summary = "Update time slot", description = "Update an existing time slot (Admin only)")
     @SecurityRequirement(name = "Bearer Authentication")
     @ApiResponses(value = {
@@ -151,4 +324,67 @@ public class TimeSlotController {
         timeSlotService.deleteTimeSlot(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Get recurring rules", description = "List the recurring schedule rules that produce virtual time slots")
+    @ApiResponse(responseCode = "200", description = "Rules retrieved successfully",
+            content = @Content(schema = @Schema(implementation = TimeSlotRuleResponse.class)))
+    @GetMapping("/rules")
+    public List<TimeSlotRuleResponse> getRules() {
+        return timeSlotRuleService.getRules();
+    }
+
+    @Operation(summary = "Get recurring rule by ID", description = "Retrieve a specific recurring schedule rule")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rule found",
+                content = @Content(schema = @Schema(implementation = TimeSlotRuleResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Rule not found")
+    })
+    @GetMapping("/rules/{id}")
+    public ResponseEntity<TimeSlotRuleResponse> getRule(@PathVariable Long id) {
+        return ResponseEntity.ok(timeSlotRuleService.getRule(id));
+    }
+
+    @Operation(summary = "Create recurring rule", description = "Create a rule whose occurrences are served as virtual time slots and stored only when booked (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rule created successfully",
+                content = @Content(schema = @Schema(implementation = TimeSlotRuleResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Validation error"),
+        @ApiResponse(responseCode = "404", description = "Room not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied - Admin required")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/rules")
+    public ResponseEntity<TimeSlotRuleResponse> createRule(@Valid @RequestBody TimeSlotRuleRequest request) {
+        return ResponseEntity.ok(timeSlotRuleService.createRule(request));
+    }
+
+    @Operation(summary = "Update recurring rule", description = "Update a recurring schedule rule (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rule updated successfully",
+                content = @Content(schema = @Schema(implementation = TimeSlotRuleResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Validation error"),
+        @ApiResponse(responseCode = "404", description = "Rule or room not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied - Admin required")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/rules/{id}")
+    public ResponseEntity<TimeSlotRuleResponse> updateRule(@PathVariable Long id, @Valid @RequestBody TimeSlotRuleRequest request) {
+        return ResponseEntity.ok(timeSlotRuleService.updateRule(id, request));
+    }
+
+    @Operation(summary = "Delete recurring rule", description = "Delete a recurring schedule rule; already booked occurrences are kept (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Rule deleted successfully"),
+        @ApiResponse(responseCode = "404", description = "Rule not found"),
+        @ApiResponse(responseCode = "403", description = "Access denied - Admin required")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/rules/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        timeSlotRuleService.deleteRule(id);
+        return ResponseEntity.noContent().build();
+    }
+}
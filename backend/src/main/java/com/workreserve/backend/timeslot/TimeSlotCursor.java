@@ -0,0 +1,44 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position in the (date, startTime, id) order of slot listings. Encoded as an opaque string so
+// clients do not depend on its layout.
+public record TimeSlotCursor(LocalDate date, LocalTime startTime, long id) {
+
+    public String encode() {
+        String raw = date + "|" + startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TimeSlotCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new ValidationException("Invalid cursor");
+            }
+            return new TimeSlotCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    static TimeSlotCursor of(TimeSlot timeSlot) {
+        return new TimeSlotCursor(timeSlot.getDate(), timeSlot.getStartTime(), timeSlot.getId());
+    }
+
+    boolean isBefore(LocalDate otherDate, LocalTime otherStartTime, long otherId) {
+        int byDate = date.compareTo(otherDate);
+        if (byDate != 0) {
+            return byDate < 0;
+        }
+        int byStart = startTime.compareTo(otherStartTime);
+        return byStart != 0 ? byStart < 0 : id < otherId;
+    }
+}
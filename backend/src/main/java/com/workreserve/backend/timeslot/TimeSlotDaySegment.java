@@ -0,0 +1,108 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.reservation.Reservation;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Slots of one room on one day, sorted by start time, with the active booking of each slot
+// (null when free). Instances are immutable so they can be shared through the cache.
+final class TimeSlotDaySegment {
+
+    private final Long roomId;
+    private final LocalDate date;
+    private final long[] slotIds;
+    private final int[] starts;
+    private final int[] ends;
+    private final Booking[] bookings;
+
+    private TimeSlotDaySegment(Long roomId, LocalDate date, long[] slotIds, int[] starts, int[] ends, Booking[] bookings) {
+        this.roomId = roomId;
+        this.date = date;
+        this.slotIds = slotIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.bookings = bookings;
+    }
+
+    static TimeSlotDaySegment of(Long roomId, LocalDate date, List<TimeSlot> slots, Map<Long, Reservation> activeReservations) {
+        return of(roomId, date, slots, List.of(), activeReservations);
+    }
+
+    // Virtual slots from recurring rules are never booked; a booking materializes them first.
+    static TimeSlotDaySegment of(Long roomId, LocalDate date, List<TimeSlot> slots,
+                                 List<TimeSlotRuleService.VirtualSlot> virtualSlots,
+                                 Map<Long, Reservation> activeReservations) {
+        // Real slots are carried as plain (id, times) entries so both kinds sort together.
+        List<TimeSlotRuleService.VirtualSlot> sorted = new ArrayList<>(slots.size() + virtualSlots.size());
+        Set<Long> fullSeatSlotIds = new HashSet<>();
+        for (TimeSlot slot : slots) {
+            sorted.add(new TimeSlotRuleService.VirtualSlot(slot.getId(), roomId, date, slot.getStartTime(), slot.getEndTime()));
+            if (slot.getActiveReservationId() != null && slot.getRoom().getType() != null
+                    && slot.getRoom().getType().isSeatBased()) {
+                fullSeatSlotIds.add(slot.getId());
+            }
+        }
+        sorted.addAll(virtualSlots);
+        sorted.sort(Comparator.comparing(TimeSlotRuleService.VirtualSlot::startTime)
+                .thenComparingLong(TimeSlotRuleService.VirtualSlot::id));
+
+        long[] slotIds = new long[sorted.size()];
+        int[] starts = new int[sorted.size()];
+        int[] ends = new int[sorted.size()];
+        Booking[] bookings = new Booking[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            TimeSlotRuleService.VirtualSlot slot = sorted.get(i);
+            slotIds[i] = slot.id();
+            starts[i] = slot.startTime().toSecondOfDay();
+            ends[i] = slot.endTime().toSecondOfDay();
+            Reservation reservation = slot.id() > 0 ? activeReservations.get(slot.id()) : null;
+            if (fullSeatSlotIds.contains(slot.id())) {
+                bookings[i] = Booking.FULL;
+            } else if (reservation != null) {
+                bookings[i] = new Booking(reservation.getUser().getId(), reservation.getUser().getFullName());
+            }
+        }
+        return new TimeSlotDaySegment(roomId, date, slotIds, starts, ends, bookings);
+    }
+
+    Long getRoomId() {
+        return roomId;
+    }
+
+    LocalDate getDate() {
+        return date;
+    }
+
+    int size() {
+        return slotIds.length;
+    }
+
+    long slotId(int index) {
+        return slotIds[index];
+    }
+
+    LocalTime startTime(int index) {
+        return LocalTime.ofSecondOfDay(starts[index]);
+    }
+
+    LocalTime endTime(int index) {
+        return LocalTime.ofSecondOfDay(ends[index]);
+    }
+
+    Booking booking(int index) {
+        return bookings[index];
+    }
+
+    // A full seat-based slot has many holders, so its booking names none of them.
+    record Booking(Long userId, String userName) {
+
+        static final Booking FULL = new Booking(null, null);
+    }
+}
@@ -0,0 +1,95 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.config.ResourceVersions;
+import com.workreserve.backend.user.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// ETags of the time slot list endpoints. Besides the slot and room versions a list depends on the
+// caller (bookedByCurrentUser) and on the clock, because slots that have ended turn unavailable:
+// lists that can contain today's slots change every minute, the others only when the day changes.
+@Component
+public class TimeSlotETags {
+
+    static final String TIME_SLOTS = "timeslots";
+    static final String ROOM_TIME_SLOTS = "room-timeslots";
+    static final String DAY_TIME_SLOTS = "day-timeslots";
+    // Slot changes that can alter existing reservations as users see them.
+    static final String TIME_SLOT_EDITS = "timeslot-edits";
+
+    // Longer ranges are served without an ETag rather than summing a counter per day.
+    private static final long MAX_RANGE_DAYS = 400;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private Clock clock;
+
+    // Called by TimeSlotCacheInvalidator once the matching cache entries are gone.
+    void onTimeSlotChange(TimeSlotChangeEvent event) {
+        resourceVersions.bump(TIME_SLOTS);
+        resourceVersions.bump(ROOM_TIME_SLOTS, event.roomId());
+        if (event.previousRoomId() != null) {
+            resourceVersions.bump(ROOM_TIME_SLOTS, event.previousRoomId());
+        }
+        for (LocalDate date = event.startDate(); !date.isAfter(event.endDate()); date = date.plusDays(1)) {
+            resourceVersions.bump(DAY_TIME_SLOTS, date);
+        }
+        if (event.previousDate() != null) {
+            resourceVersions.bump(DAY_TIME_SLOTS, event.previousDate());
+        }
+        if (event.type() == TimeSlotChangeType.UPDATED || event.type() == TimeSlotChangeType.DELETED) {
+            resourceVersions.bump(TIME_SLOT_EDITS);
+        }
+        if (event.userId() != null) {
+            resourceVersions.bump(ResourceVersions.USER_RESERVATIONS, event.userId());
+        }
+    }
+
+    public String allTimeSlots() {
+        return resourceVersions.etag(resourceVersions.version(TIME_SLOTS), resourceVersions.version(ResourceVersions.ROOMS),
+                getCurrentUserId(), LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES));
+    }
+
+    public String roomTimeSlots(Long roomId) {
+        return resourceVersions.etag(resourceVersions.version(ROOM_TIME_SLOTS, roomId),
+                resourceVersions.version(ResourceVersions.ROOMS), getCurrentUserId(),
+                LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES));
+    }
+
+    // Null when the range is too long to be worth tagging.
+    public String dateRange(LocalDate startDate, LocalDate endDate, boolean forCurrentUser) {
+        if (startDate.isAfter(endDate) || ChronoUnit.DAYS.between(startDate, endDate) > MAX_RANGE_DAYS) {
+            return null;
+        }
+        // Counters only grow, so their sum over a fixed range changes with every change in it.
+        long version = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            version += resourceVersions.version(DAY_TIME_SLOTS, date);
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        boolean coversToday = !now.toLocalDate().isBefore(startDate) && !now.toLocalDate().isAfter(endDate);
+        return resourceVersions.etag(version, resourceVersions.version(ResourceVersions.ROOMS),
+                forCurrentUser ? getCurrentUserId() : "-",
+                coversToday ? now.truncatedTo(ChronoUnit.MINUTES) : now.toLocalDate());
+    }
+
+    public String userReservations(Long userId) {
+        return resourceVersions.etag(resourceVersions.version(ResourceVersions.USER_RESERVATIONS, userId),
+                resourceVersions.version(TIME_SLOT_EDITS), resourceVersions.version(ResourceVersions.ROOMS),
+                LocalDate.now(clock));
+    }
+
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+}
@@ -0,0 +1,185 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationJobResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TimeSlotGenerationJob implements TimeSlotGenerationPipeline.ProgressListener {
+
+    private final String id;
+    private final int rooms;
+    private final int candidates;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger conflictsSkipped = new AtomicInteger();
+    private final AtomicInteger roomsCompleted = new AtomicInteger();
+    private final AtomicInteger roomsFailed = new AtomicInteger();
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Executor sender;
+
+    private volatile TimeSlotGenerationJobStatus status = TimeSlotGenerationJobStatus.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile long startedNanos;
+    private volatile LocalDateTime finishedAt;
+
+    TimeSlotGenerationJob(String id, int rooms, int candidates, Executor sender) {
+        this.id = id;
+        this.rooms = rooms;
+        this.candidates = candidates;
+        this.sender = sender;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    synchronized void markRunning() {
+        if (status == TimeSlotGenerationJobStatus.QUEUED) {
+            startedNanos = System.nanoTime();
+            startedAt = LocalDateTime.now();
+            status = TimeSlotGenerationJobStatus.RUNNING;
+        }
+    }
+
+    @Override
+    public void onConflictsSkipped(int count) {
+        conflictsSkipped.addAndGet(count);
+        publish();
+    }
+
+    @Override
+    public void onChunkInserted(int count) {
+        created.addAndGet(count);
+        publish();
+    }
+
+    void roomCompleted() {
+        roomsCompleted.incrementAndGet();
+    }
+
+    void roomFailed(Long roomId, String message) {
+        roomsFailed.incrementAndGet();
+        errors.add("Room " + roomId + ": " + message);
+    }
+
+    void finish() {
+        status = roomsFailed.get() > 0 ? TimeSlotGenerationJobStatus.FAILED : TimeSlotGenerationJobStatus.COMPLETED;
+        finishedAt = LocalDateTime.now();
+        publish();
+    }
+
+    void subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        schedule(subscriber);
+    }
+
+    TimeSlotGenerationJobResponse toResponse() {
+        TimeSlotGenerationJobResponse response = new TimeSlotGenerationJobResponse();
+        response.setJobId(id);
+        response.setStatus(status);
+        response.setRooms(rooms);
+        response.setRoomsCompleted(roomsCompleted.get());
+        response.setRoomsFailed(roomsFailed.get());
+        response.setCandidates(candidates);
+        response.setCreated(created.get());
+        response.setConflictsSkipped(conflictsSkipped.get());
+        response.setEstimatedSecondsRemaining(estimateSecondsRemaining());
+        response.setSubmittedAt(submittedAt);
+        response.setStartedAt(startedAt);
+        response.setFinishedAt(finishedAt);
+        response.setErrors(new ArrayList<>(errors));
+        return response;
+    }
+
+    // Extrapolates from the rate observed so far; candidates of failed rooms stay unprocessed, so
+    // the estimate is only meaningful while the job is running.
+    private Long estimateSecondsRemaining() {
+        if (status != TimeSlotGenerationJobStatus.RUNNING) {
+            return status == TimeSlotGenerationJobStatus.QUEUED ? null : 0L;
+        }
+        long processed = created.get() + conflictsSkipped.get();
+        if (processed == 0) {
+            return null;
+        }
+        double elapsedSeconds = (System.nanoTime() - startedNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        long remaining = Math.max(0, candidates - processed);
+        return Math.round(elapsedSeconds * remaining / processed);
+    }
+
+    private void publish() {
+        subscribers.forEach(this::schedule);
+    }
+
+    // Progress is sent on the sender, never on the generation worker, with at most one send per
+    // subscriber in flight. Each send takes the latest snapshot, so a slow client skips the ones
+    // published while it was busy.
+    private void schedule(Subscriber subscriber) {
+        subscriber.dirty.set(true);
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            while (subscriber.dirty.getAndSet(false) && subscribers.contains(subscriber)) {
+                boolean finished = isFinished();
+                send(subscriber, toResponse());
+                if (finished && subscribers.remove(subscriber)) {
+                    subscriber.emitter.complete();
+                }
+            }
+            subscriber.sending.set(false);
+            // A snapshot published after the last check but before the flag was cleared has no
+            // drain scheduled for it; take it over unless another drain already has.
+        } while (subscriber.dirty.get() && subscriber.sending.compareAndSet(false, true));
+    }
+
+    private void send(Subscriber subscriber, TimeSlotGenerationJobResponse snapshot) {
+        try {
+            subscriber.emitter.send(SseEmitter.event().name("progress").data(snapshot));
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
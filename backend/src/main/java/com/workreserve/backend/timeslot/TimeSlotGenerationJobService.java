@@ -0,0 +1,168 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.exception.ResourceNotFoundException;
+import com.workreserve.backend.exception.ValidationException;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationJobRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationJobResponse;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class TimeSlotGenerationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSlotGenerationJobService.class);
+
+    private static final long EMITTER_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+
+    @Autowired
+    private TimeSlotGenerationPipeline timeSlotGenerationPipeline;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.timeslots.generation.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${app.timeslots.generation.queue-capacity:200}")
+    private int queueCapacity = 200;
+
+    @Value("${app.timeslots.generation.job-retention-minutes:60}")
+    private long jobRetentionMinutes = 60;
+
+    private final Map<String, TimeSlotGenerationJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    // Writes progress to subscribers off the generation workers. Each subscriber has at most one
+    // send in flight, so a client that stops reading holds one thread here and nothing else.
+    private ExecutorService progressSender;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slot-generation-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        AtomicInteger senderNumber = new AtomicInteger();
+        progressSender = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "slot-generation-progress-" + senderNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+        progressSender.shutdownNow();
+    }
+
+    public TimeSlotGenerationJobResponse submit(TimeSlotGenerationJobRequest request) {
+        List<TimeSlotGenerationRequest> generations = request.getGenerations();
+        if (executor.getQueue().remainingCapacity() < generations.size()) {
+            throw new ValidationException("Too many time slot generations are queued, try again later");
+        }
+
+        int candidates = 0;
+        for (TimeSlotGenerationRequest generation : generations) {
+            candidates += timeSlotGenerationPipeline.expand(generation).size();
+        }
+
+        TimeSlotGenerationJob job = new TimeSlotGenerationJob(
+                UUID.randomUUID().toString(), generations.size(), candidates, progressSender);
+        jobs.put(job.getId(), job);
+
+        List<CompletableFuture<Void>> rooms = new ArrayList<>();
+        for (TimeSlotGenerationRequest generation : generations) {
+            try {
+                rooms.add(CompletableFuture.runAsync(() -> generateRoom(job, generation), executor));
+            } catch (RejectedExecutionException e) {
+                job.roomFailed(generation.getRoomId(), "Generation queue is full");
+            }
+        }
+        CompletableFuture.allOf(rooms.toArray(CompletableFuture<?>[]::new))
+                .whenComplete((result, error) -> finish(job, generations));
+
+        logger.info("Time slot generation job {} submitted for {} rooms and {} candidate slots",
+                job.getId(), generations.size(), candidates);
+        return job.toResponse();
+    }
+
+    public TimeSlotGenerationJobResponse getJob(String jobId) {
+        return findJob(jobId).toResponse();
+    }
+
+    public SseEmitter subscribe(String jobId) {
+        TimeSlotGenerationJob job = findJob(jobId);
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelay = 600000)
+    public void removeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void generateRoom(TimeSlotGenerationJob job, TimeSlotGenerationRequest generation) {
+        job.markRunning();
+        try {
+            timeSlotGenerationPipeline.generate(generation, job);
+            job.roomCompleted();
+        } catch (RuntimeException e) {
+            logger.warn("Time slot generation job {} failed for room {}", job.getId(), generation.getRoomId(), e);
+            job.roomFailed(generation.getRoomId(), e.getMessage());
+        }
+    }
+
+    // Caches are invalidated once per job rather than per inserted chunk; failed rooms may have
+    // committed some chunks, so every room of the job is covered.
+    private void finish(TimeSlotGenerationJob job, List<TimeSlotGenerationRequest> generations) {
+        try {
+            for (TimeSlotGenerationRequest generation : generations) {
+                eventPublisher.publishEvent(TimeSlotChangeEvent.generated(
+                        generation.getRoomId(), generation.getStartDate(), generation.getEndDate()));
+            }
+        } finally {
+            job.finish();
+        }
+        logger.info("Time slot generation job {} finished: {}", job.getId(), job.toResponse().getStatus());
+    }
+
+    private TimeSlotGenerationJob findJob(String jobId) {
+        TimeSlotGenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Generation job not found");
+        }
+        return job;
+    }
+}
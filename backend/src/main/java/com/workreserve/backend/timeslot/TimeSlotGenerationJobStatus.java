@@ -0,0 +1,8 @@
+package com.workreserve.backend.timeslot;
+
+public enum TimeSlotGenerationJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,209 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.exception.ConflictException;
+import com.workreserve.backend.exception.ResourceNotFoundException;
+import com.workreserve.backend.exception.ValidationException;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class TimeSlotGenerationPipeline {
+
+    private static final String EXISTING_SLOTS_SQL =
+            "SELECT id, date, start_time, end_time FROM time_slots WHERE room_id = ? AND date BETWEEN ? AND ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO time_slots (date, start_time, end_time, room_id) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private TimeSlotIntervalIndex timeSlotIntervalIndex;
+
+    @Autowired
+    private TimeSlotRuleService timeSlotRuleService;
+
+    @Value("${app.timeslots.generation.batch-size:1000}")
+    private int batchSize = 1000;
+
+    public interface ProgressListener {
+        void onConflictsSkipped(int conflictsSkipped);
+
+        void onChunkInserted(int created);
+    }
+
+    private static final ProgressListener NO_PROGRESS = new ProgressListener() {
+        @Override
+        public void onConflictsSkipped(int conflictsSkipped) {
+        }
+
+        @Override
+        public void onChunkInserted(int created) {
+        }
+    };
+
+    public TimeSlotGenerationResult generate(TimeSlotGenerationRequest request) {
+        return generate(request, NO_PROGRESS);
+    }
+
+    public TimeSlotGenerationResult generate(TimeSlotGenerationRequest request, ProgressListener listener) {
+        Room room = roomRepository.findById(request.getRoomId())
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
+
+        List<Candidate> candidates = expand(request);
+        List<Candidate> accepted = withoutConflicts(room.getId(), request.getStartDate(), request.getEndDate(), candidates);
+        listener.onConflictsSkipped(candidates.size() - accepted.size());
+
+        List<Long> createdIds = new ArrayList<>(accepted.size());
+        for (int from = 0; from < accepted.size(); from += batchSize) {
+            List<Candidate> chunk = accepted.subList(from, Math.min(from + batchSize, accepted.size()));
+            List<Long> chunkIds = transactionTemplate.execute(status -> insertChunk(room.getId(), chunk));
+            timeSlotIntervalIndex.addAll(toSlots(room, chunk, chunkIds));
+            createdIds.addAll(chunkIds);
+            listener.onChunkInserted(chunkIds.size());
+        }
+
+        TimeSlotGenerationResult result = new TimeSlotGenerationResult();
+        result.setRoomId(room.getId());
+        result.setCandidates(candidates.size());
+        result.setCreated(createdIds.size());
+        result.setConflictsSkipped(candidates.size() - createdIds.size());
+        result.setCreatedIds(createdIds);
+        return result;
+    }
+
+    List<Candidate> expand(TimeSlotGenerationRequest request) {
+        List<LocalTime[]> templates = new ArrayList<>();
+        for (TimeSlotGenerationRequest.TimeSlotTemplate template : request.getTimeSlots()) {
+            LocalTime startTime = LocalTime.parse(template.getStartTime());
+            LocalTime endTime = LocalTime.parse(template.getEndTime());
+            if (!startTime.isBefore(endTime)) {
+                throw new ValidationException("Start time must be before end time");
+            }
+            templates.add(new LocalTime[] {startTime, endTime});
+        }
+
+        boolean filterWeekDays = request.isRepeatWeekly() && request.getWeekDays() != null && !request.getWeekDays().isEmpty();
+        List<Candidate> candidates = new ArrayList<>();
+        for (LocalDate date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (request.isSkipWeekends() && (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY)) {
+                continue;
+            }
+            if (filterWeekDays && !request.getWeekDays().contains(dayOfWeek.getValue())) {
+                continue;
+            }
+            for (LocalTime[] template : templates) {
+                candidates.add(new Candidate(date, template[0], template[1]));
+            }
+        }
+        return candidates;
+    }
+
+    private List<Candidate> withoutConflicts(Long roomId, LocalDate startDate, LocalDate endDate, List<Candidate> candidates) {
+        Map<LocalDate, TimeSlotIntervalIndex.DayIntervals> days = new HashMap<>();
+        jdbcTemplate.query(EXISTING_SLOTS_SQL, rs -> {
+            LocalDate date = rs.getObject("date", LocalDate.class);
+            days.put(date, days.getOrDefault(date, TimeSlotIntervalIndex.DayIntervals.empty()).with(
+                    rs.getLong("id"),
+                    rs.getObject("start_time", LocalTime.class).toSecondOfDay(),
+                    rs.getObject("end_time", LocalTime.class).toSecondOfDay()));
+        }, roomId, startDate, endDate);
+        // Rule occurrences count as taken whether they are stored yet or not; their ids are virtual
+        // and never clash with the ones given to accepted candidates below.
+        for (TimeSlotRuleService.VirtualSlot occurrence : timeSlotRuleService.occurrences(roomId, startDate, endDate)) {
+            days.put(occurrence.date(), days.getOrDefault(occurrence.date(), TimeSlotIntervalIndex.DayIntervals.empty()).with(
+                    occurrence.id(), occurrence.startTime().toSecondOfDay(), occurrence.endTime().toSecondOfDay()));
+        }
+
+        // Accepted candidates get negative ids so overlapping templates within one request are caught too.
+        List<Candidate> accepted = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            int start = candidate.startTime().toSecondOfDay();
+            int end = candidate.endTime().toSecondOfDay();
+            TimeSlotIntervalIndex.DayIntervals intervals =
+                    days.getOrDefault(candidate.date(), TimeSlotIntervalIndex.DayIntervals.empty());
+            if (intervals.overlapping(start, end, null).isEmpty()) {
+                days.put(candidate.date(), intervals.with(-(accepted.size() + 1L), start, end));
+                accepted.add(candidate);
+            }
+        }
+        return accepted;
+    }
+
+    private List<Long> insertChunk(Long roomId, List<Candidate> chunk) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        try {
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Candidate candidate = chunk.get(i);
+                            ps.setObject(1, candidate.date());
+                            ps.setObject(2, candidate.startTime());
+                            ps.setObject(3, candidate.endTime());
+                            ps.setLong(4, roomId);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Time slot conflicts with existing slot", e);
+        }
+
+        List<Long> ids = new ArrayList<>(chunk.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private List<TimeSlot> toSlots(Room room, List<Candidate> chunk, List<Long> ids) {
+        List<TimeSlot> slots = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            TimeSlot slot = new TimeSlot();
+            slot.setId(ids.get(i));
+            slot.setRoom(room);
+            slot.setDate(chunk.get(i).date());
+            slot.setStartTime(chunk.get(i).startTime());
+            slot.setEndTime(chunk.get(i).endTime());
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    record Candidate(LocalDate date, LocalTime startTime, LocalTime endTime) {
+    }
+}
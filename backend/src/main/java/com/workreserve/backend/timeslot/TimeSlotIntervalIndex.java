@@ -0,0 +1,199 @@
+package com.workreserve.backend.timeslot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class TimeSlotIntervalIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSlotIntervalIndex.class);
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    private static final long MAX_ROOM_DAYS = 100_000;
+    private static final Duration ROOM_DAY_TTL = Duration.ofMinutes(10);
+
+    private final Map<RoomDay, DayIntervals> days = IndexCaches.expiringAfterLoad(MAX_ROOM_DAYS, ROOM_DAY_TTL);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDate today = LocalDate.now();
+        Map<RoomDay, List<TimeSlot>> grouped = new HashMap<>();
+        for (TimeSlot slot : timeSlotRepository.findByDateGreaterThanEqualOrderByDateAscStartTimeAsc(today)) {
+            grouped.computeIfAbsent(RoomDay.of(slot), key -> new ArrayList<>()).add(slot);
+        }
+
+        days.clear();
+        grouped.forEach((key, slots) -> days.put(key, DayIntervals.of(slots)));
+        logger.info("Time slot interval index rebuilt with {} room-days from {}", days.size(), today);
+    }
+
+    // The index only knows the changes made on this node, so the answer a write relies on comes from
+    // the database. A day the database disagrees with is dropped and reloaded on its next lookup.
+    public boolean hasConflict(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime, Long excludedSlotId) {
+        boolean indexed = !findConflictingSlotIds(roomId, date, startTime, endTime, excludedSlotId).isEmpty();
+        // Stored slot ids are positive, so 0 excludes nothing.
+        boolean stored = timeSlotRepository.existsByRoomIdAndDateAndStartTimeLessThanAndEndTimeGreaterThanAndIdNot(
+                roomId, date, endTime, startTime, excludedSlotId != null ? excludedSlotId : 0L);
+        if (indexed != stored) {
+            days.remove(new RoomDay(roomId, date));
+            logger.debug("Time slot interval index was stale for room {} on {}", roomId, date);
+        }
+        return stored;
+    }
+
+    public List<Long> findConflictingSlotIds(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                             Long excludedSlotId) {
+        return load(new RoomDay(roomId, date))
+                .overlapping(startTime.toSecondOfDay(), endTime.toSecondOfDay(), excludedSlotId);
+    }
+
+    // Days that are not loaded yet are skipped: their first lookup reads the database, which
+    // already contains the slot.
+    public void add(TimeSlot slot) {
+        days.computeIfPresent(RoomDay.of(slot), (k, intervals) -> intervals.with(slot.getId(),
+                slot.getStartTime().toSecondOfDay(), slot.getEndTime().toSecondOfDay()));
+    }
+
+    public void addAll(List<TimeSlot> slots) {
+        slots.forEach(this::add);
+    }
+
+    public void remove(Long slotId, Long roomId, LocalDate date) {
+        days.computeIfPresent(new RoomDay(roomId, date), (k, intervals) -> intervals.without(slotId));
+    }
+
+    public void move(Long previousRoomId, LocalDate previousDate, TimeSlot slot) {
+        remove(slot.getId(), previousRoomId, previousDate);
+        add(slot);
+    }
+
+    public void evictBefore(LocalDate date) {
+        days.keySet().removeIf(key -> key.date().isBefore(date));
+    }
+
+    private DayIntervals load(RoomDay key) {
+        return days.computeIfAbsent(key, k ->
+                DayIntervals.of(timeSlotRepository.findByRoomIdAndDate(k.roomId(), k.date())));
+    }
+
+    record RoomDay(Long roomId, LocalDate date) {
+        static RoomDay of(TimeSlot slot) {
+            return new RoomDay(slot.getRoom().getId(), slot.getDate());
+        }
+    }
+
+    // Intervals of one room-day sorted by start; maxEnd[i] is the largest end among the first i+1
+    // intervals, which lets the overlap scan stop early even if legacy data contains overlaps.
+    static final class DayIntervals {
+
+        private static final DayIntervals EMPTY = new DayIntervals(new long[0], new int[0], new int[0]);
+
+        private final long[] ids;
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] maxEnd;
+
+        private DayIntervals(long[] ids, int[] starts, int[] ends) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnd = new int[ends.length];
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnd[i] = max;
+            }
+        }
+
+        static DayIntervals empty() {
+            return EMPTY;
+        }
+
+        static DayIntervals of(List<TimeSlot> slots) {
+            DayIntervals intervals = EMPTY;
+            for (TimeSlot slot : slots) {
+                intervals = intervals.with(slot.getId(),
+                        slot.getStartTime().toSecondOfDay(), slot.getEndTime().toSecondOfDay());
+            }
+            return intervals;
+        }
+
+        List<Long> overlapping(int start, int end, Long excludedSlotId) {
+            List<Long> result = new ArrayList<>();
+            for (int i = firstStartAtOrAfter(end) - 1; i >= 0 && maxEnd[i] > start; i--) {
+                if (ends[i] > start && (excludedSlotId == null || ids[i] != excludedSlotId)) {
+                    result.add(ids[i]);
+                }
+            }
+            return result;
+        }
+
+        DayIntervals with(long id, int start, int end) {
+            DayIntervals base = without(id);
+            int position = base.firstStartAtOrAfter(start);
+            int size = base.ids.length;
+
+            long[] newIds = new long[size + 1];
+            int[] newStarts = new int[size + 1];
+            int[] newEnds = new int[size + 1];
+            System.arraycopy(base.ids, 0, newIds, 0, position);
+            System.arraycopy(base.starts, 0, newStarts, 0, position);
+            System.arraycopy(base.ends, 0, newEnds, 0, position);
+            newIds[position] = id;
+            newStarts[position] = start;
+            newEnds[position] = end;
+            System.arraycopy(base.ids, position, newIds, position + 1, size - position);
+            System.arraycopy(base.starts, position, newStarts, position + 1, size - position);
+            System.arraycopy(base.ends, position, newEnds, position + 1, size - position);
+            return new DayIntervals(newIds, newStarts, newEnds);
+        }
+
+        DayIntervals without(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    long[] newIds = new long[ids.length - 1];
+                    int[] newStarts = new int[ids.length - 1];
+                    int[] newEnds = new int[ids.length - 1];
+                    System.arraycopy(ids, 0, newIds, 0, i);
+                    System.arraycopy(starts, 0, newStarts, 0, i);
+                    System.arraycopy(ends, 0, newEnds, 0, i);
+                    System.arraycopy(ids, i + 1, newIds, i, ids.length - i - 1);
+                    System.arraycopy(starts, i + 1, newStarts, i, ids.length - i - 1);
+                    System.arraycopy(ends, i + 1, newEnds, i, ids.length - i - 1);
+                    return new DayIntervals(newIds, newStarts, newEnds);
+                }
+            }
+            return this;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        private int firstStartAtOrAfter(int value) {
+            int index = Arrays.binarySearch(starts, value);
+            if (index < 0) {
+                return -index - 1;
+            }
+            while (index > 0 && starts[index - 1] == value) {
+                index--;
+            }
+            return index;
+        }
+    }
+}
@@ -1,43 +1,71 @@
 package com.workreserve.backend.timeslot;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
+public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long>, TimeSlotSearchRepository {
+
+    @Override
+    @EntityGraph(attributePaths = "room")
+    List<TimeSlot> findAll();
     
     List<TimeSlot> findByRoomIdAndDate(Long roomId, LocalDate date);
     
+    @EntityGraph(attributePaths = "room")
     List<TimeSlot> findByDateBetween(LocalDate startDate, LocalDate endDate);
     
-    @Query("SELECT ts FROM TimeSlot ts WHERE ts.date >= :startDate AND ts.date <= :endDate " +
-           "AND NOT EXISTS (SELECT r FROM Reservation r WHERE r.slot = ts AND r.status != 'CANCELLED')")
-    List<TimeSlot> findAvailableTimeSlots(@Param("startDate") LocalDate startDate, 
-                                         @Param("endDate") LocalDate endDate);
-    
-    @Query("SELECT ts FROM TimeSlot ts WHERE ts.room.id = :roomId AND ts.date = :date " +
-           "AND ((ts.startTime < :endTime AND ts.endTime > :startTime))")
-    List<TimeSlot> findConflictingTimeSlots(@Param("roomId") Long roomId, 
-                                           @Param("date") LocalDate date,
-                                           @Param("startTime") LocalTime startTime, 
-                                           @Param("endTime") LocalTime endTime);
+    @EntityGraph(attributePaths = "room")
+    List<TimeSlot> findByDateIn(Collection<LocalDate> dates);
+
+    @EntityGraph(attributePaths = "room")
+    List<TimeSlot> findByIdIn(Collection<Long> ids);
     
+    @EntityGraph(attributePaths = "room")
     List<TimeSlot> findByRoomId(Long roomId);
     
     List<TimeSlot> findByDateGreaterThanEqualOrderByDateAscStartTimeAsc(LocalDate date);
 
+    // Whether another slot of the room overlaps [startTime, endTime) on the date.
+    boolean existsByRoomIdAndDateAndStartTimeLessThanAndEndTimeGreaterThanAndIdNot(
+            Long roomId, LocalDate date, LocalTime endTime, LocalTime startTime, Long excludedSlotId);
+
+    Optional<TimeSlot> findByRoomIdAndDateAndStartTimeAndEndTime(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime);
+
+    @EntityGraph(attributePaths = "room")
+    List<TimeSlot> findByRoomIdAndDateBetweenOrderByDateAscStartTimeAsc(Long roomId, LocalDate startDate, LocalDate endDate);
+
+    // Every stored slot of a recurring series: the room's slots on the series dates that lie within its hours.
+    @EntityGraph(attributePaths = "room")
+    @Query("""
+        SELECT ts FROM TimeSlot ts
+        WHERE ts.room.id = :roomId
+          AND ts.date IN :dates
+          AND ts.startTime >= :startTime
+          AND ts.endTime <= :endTime
+        ORDER BY ts.date, ts.startTime
+    """)
+    List<TimeSlot> findSeriesSlots(
+        @Param("roomId") Long roomId,
+        @Param("dates") Collection<LocalDate> dates,
+        @Param("startTime") LocalTime startTime,
+        @Param("endTime") LocalTime endTime
+    );
+
     @Query("""
         SELECT DISTINCT ts.room FROM TimeSlot ts
         WHERE ts.date = :date
           AND ts.startTime <= :startTime
           AND ts.endTime >= :endTime
-          AND NOT EXISTS (
-            SELECT r FROM Reservation r
-            WHERE r.slot = ts AND r.status != 'CANCELLED'
-          )
+          AND ts.activeReservationId IS NULL
     """)
     List<com.workreserve.backend.room.Room> findAvailableRooms(
         @Param("date") LocalDate date,
@@ -45,5 +73,46 @@ public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
         @Param("endTime") LocalTime endTime
     );
 
-    
-}
\ No newline at end of file
+    @Query("SELECT ts.id, ts.room.id, ts.startTime, ts.endTime, ts.activeReservationId, ts.room.type FROM TimeSlot ts WHERE ts.date = :date")
+    List<Object[]> findSlotTimesByDate(@Param("date") LocalDate date);
+
+    @Query("SELECT ts.room.id, ts.date, ts.startTime, ts.endTime FROM TimeSlot ts WHERE ts.date BETWEEN :startDate AND :endDate")
+    List<Object[]> findSlotKeysByDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Only sets the pointer if the slot is free (or already points at this reservation). The update
+    // row-locks the slot, so racing bookings of one slot queue behind each other and all but the
+    // first to commit get 0 back, while bookings of other slots never contend.
+    String MARK_BOOKED_SQL = "UPDATE time_slots SET active_reservation_id = :reservationId WHERE id = :slotId " +
+            "AND (active_reservation_id IS NULL OR active_reservation_id = :reservationId)";
+
+    // Seat-based counterpart of MARK_BOOKED_SQL: a single conditional increment that can never take
+    // the slot past the room's capacity, and marks the slot as booked once it is full.
+    String TAKE_SEATS_SQL = "UPDATE time_slots SET seats_taken = seats_taken + :seats, active_reservation_id = CASE " +
+            "WHEN seats_taken + :seats >= (SELECT r.capacity FROM rooms r WHERE r.id = time_slots.room_id) " +
+            "THEN :reservationId ELSE NULL END " +
+            "WHERE id = :slotId AND seats_taken + :seats <= (SELECT r.capacity FROM rooms r WHERE r.id = time_slots.room_id)";
+
+    @Transactional
+    @Modifying
+    @Query(value = MARK_BOOKED_SQL, nativeQuery = true)
+    int markBooked(@Param("slotId") Long slotId, @Param("reservationId") Long reservationId);
+
+    // Only clears the pointer if it still refers to this reservation, so a late cancel cannot
+    // free a slot that has since been booked by someone else.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE time_slots SET active_reservation_id = NULL WHERE id = :slotId AND active_reservation_id = :reservationId",
+            nativeQuery = true)
+    int clearBooked(@Param("slotId") Long slotId, @Param("reservationId") Long reservationId);
+
+    @Transactional
+    @Modifying
+    @Query(value = TAKE_SEATS_SQL, nativeQuery = true)
+    int takeSeats(@Param("slotId") Long slotId, @Param("reservationId") Long reservationId, @Param("seats") int seats);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE time_slots SET seats_taken = seats_taken - :seats, active_reservation_id = NULL " +
+            "WHERE id = :slotId AND seats_taken >= :seats", nativeQuery = true)
+    int releaseSeats(@Param("slotId") Long slotId, @Param("seats") int seats);
+}
@@ -0,0 +1,120 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.config.SchedulerLockService;
+import com.workreserve.backend.room.RoomType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Detects and repairs drift between time_slots.active_reservation_id and the reservations table,
+// e.g. after a crash between the two writes, a manual fix in the database or reservations removed
+// together with their user. Also backfills the column on the first start after it was added.
+// Slots of seat-based rooms are checked against the seats their reservations hold instead.
+@Component
+public class TimeSlotReservationPointerChecker {
+
+    static final String LOCK_NAME = "timeslot-reservation-pointer";
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSlotReservationPointerChecker.class);
+
+    private static final String SEAT_BASED_TYPES = Arrays.stream(RoomType.values())
+            .filter(RoomType::isSeatBased)
+            .map(type -> "'" + type.name() + "'")
+            .collect(Collectors.joining(", "));
+
+    private static final String DRIFTED_SQL =
+            "SELECT ts.id, ts.room_id, ts.date FROM time_slots ts JOIN rooms ro ON ro.id = ts.room_id " +
+            "WHERE (ro.type IS NULL OR ro.type NOT IN (" + SEAT_BASED_TYPES + ")) AND (" +
+            "(ts.active_reservation_id IS NULL AND EXISTS (SELECT 1 FROM reservations r " +
+            "WHERE r.slot_id = ts.id AND r.status <> 'CANCELLED')) " +
+            "OR (ts.active_reservation_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM reservations r " +
+            "WHERE r.id = ts.active_reservation_id AND r.slot_id = ts.id AND r.status <> 'CANCELLED')))";
+
+    private static final String REPAIR_SQL =
+            "UPDATE time_slots SET active_reservation_id = (SELECT MIN(r.id) FROM reservations r " +
+            "WHERE r.slot_id = time_slots.id AND r.status <> 'CANCELLED') WHERE id = ?";
+
+    private static final String SEATS_HELD =
+            "(SELECT COALESCE(SUM(r.team_size), 0) FROM reservations r WHERE r.slot_id = %s AND r.status <> 'CANCELLED')";
+
+    private static final String SEAT_DRIFTED_SQL =
+            "SELECT ts.id, ts.room_id, ts.date FROM time_slots ts JOIN rooms ro ON ro.id = ts.room_id " +
+            "WHERE ro.type IN (" + SEAT_BASED_TYPES + ") AND (ts.seats_taken <> " + SEATS_HELD.formatted("ts.id") +
+            " OR (ts.active_reservation_id IS NULL AND ts.seats_taken >= ro.capacity)" +
+            " OR (ts.active_reservation_id IS NOT NULL AND ts.seats_taken < ro.capacity))";
+
+    private static final String SEAT_REPAIR_SQL =
+            "UPDATE time_slots SET seats_taken = " + SEATS_HELD.formatted("time_slots.id") + ", " +
+            "active_reservation_id = CASE WHEN " + SEATS_HELD.formatted("time_slots.id") +
+            " >= (SELECT ro.capacity FROM rooms ro WHERE ro.id = time_slots.room_id) " +
+            "THEN (SELECT MAX(r.id) FROM reservations r WHERE r.slot_id = time_slots.id AND r.status <> 'CANCELLED') " +
+            "ELSE NULL END WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.timeslots.pointer-check.lock-minutes:30}")
+    private long lockMinutes = 30;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.timeslots.pointer-check.cron:0 30 * * * ?}")
+    public void check() {
+        if (!schedulerLockService.tryLock(LOCK_NAME, Duration.ofMinutes(lockMinutes))) {
+            logger.debug("Skipping reservation pointer check, another node is running it");
+            return;
+        }
+        try {
+            repair();
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    // Returns the number of repaired slots.
+    public int repair() {
+        List<TimeSlotChangeEvent> drifted = new ArrayList<>(repair(DRIFTED_SQL, REPAIR_SQL));
+        drifted.addAll(repair(SEAT_DRIFTED_SQL, SEAT_REPAIR_SQL));
+        if (drifted.isEmpty()) {
+            return 0;
+        }
+
+        drifted.forEach(eventPublisher::publishEvent);
+        meterRegistry.counter("timeslots.reservation-pointer.repaired").increment(drifted.size());
+        logger.warn("Repaired the active reservation of {} time slots", drifted.size());
+        return drifted.size();
+    }
+
+    private List<TimeSlotChangeEvent> repair(String driftedSql, String repairSql) {
+        List<TimeSlotChangeEvent> drifted = jdbcTemplate.query(driftedSql, (rs, rowNum) -> new TimeSlotChangeEvent(
+                TimeSlotChangeType.UPDATED, rs.getLong(1), rs.getLong(2), rs.getDate(3).toLocalDate(),
+                rs.getDate(3).toLocalDate(), null, null, null, null));
+        if (!drifted.isEmpty()) {
+            jdbcTemplate.batchUpdate(repairSql, drifted, drifted.size(),
+                    (statement, event) -> statement.setLong(1, event.slotId()));
+        }
+        return drifted;
+    }
+}
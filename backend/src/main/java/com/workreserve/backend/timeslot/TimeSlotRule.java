@@ -0,0 +1,72 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.room.Room;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Recurring schedule for one room. Its occurrences are served as virtual slots and only become
+// TimeSlot rows when somebody books one.
+@Entity
+@Table(name = "time_slot_rules")
+public class TimeSlotRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "room_id", nullable = false)
+    private Room room;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "time_slot_rule_week_days", joinColumns = @JoinColumn(name = "rule_id"))
+    @Column(name = "week_day")
+    private Set<Integer> weekDays = new HashSet<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "time_slot_rule_times", joinColumns = @JoinColumn(name = "rule_id"))
+    @OrderColumn(name = "position")
+    private List<TimeSlotRuleTime> times = new ArrayList<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "time_slot_rule_exceptions", joinColumns = @JoinColumn(name = "rule_id"))
+    @Column(name = "excluded_date")
+    private Set<LocalDate> exceptions = new HashSet<>();
+
+    @Column(nullable = false)
+    private LocalDate validFrom;
+
+    @Column(nullable = false)
+    private LocalDate validUntil;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Room getRoom() { return room; }
+    public void setRoom(Room room) { this.room = room; }
+
+    public Set<Integer> getWeekDays() { return weekDays; }
+    public void setWeekDays(Set<Integer> weekDays) { this.weekDays = weekDays; }
+
+    public List<TimeSlotRuleTime> getTimes() { return times; }
+    public void setTimes(List<TimeSlotRuleTime> times) { this.times = times; }
+
+    public Set<LocalDate> getExceptions() { return exceptions; }
+    public void setExceptions(Set<LocalDate> exceptions) { this.exceptions = exceptions; }
+
+    public LocalDate getValidFrom() { return validFrom; }
+    public void setValidFrom(LocalDate validFrom) { this.validFrom = validFrom; }
+
+    public LocalDate getValidUntil() { return validUntil; }
+    public void setValidUntil(LocalDate validUntil) { this.validUntil = validUntil; }
+}
@@ -0,0 +1,10 @@
+package com.workreserve.backend.timeslot;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TimeSlotRuleRepository extends JpaRepository<TimeSlotRule, Long> {
+
+    List<TimeSlotRule> findByRoomId(Long roomId);
+}
@@ -0,0 +1,457 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.exception.ConflictException;
+import com.workreserve.backend.exception.ResourceNotFoundException;
+import com.workreserve.backend.exception.ValidationException;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotRuleRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotRuleResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Serves recurring schedules as virtual slots. Rules are few and rarely change, so a compiled copy
+// is kept in memory, replaced on every change and refreshed periodically to pick up changes made
+// on other nodes.
+@Service
+public class TimeSlotRuleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSlotRuleService.class);
+
+    // Virtual slot ids are negative and pack the rule id, the epoch day and the time position,
+    // so an occurrence can be resolved without ever being stored.
+    private static final int POSITION_BITS = 8;
+    private static final int DAY_BITS = 24;
+    private static final int MAX_TIMES_PER_DAY = 1 << POSITION_BITS;
+
+    @Autowired
+    private TimeSlotRuleRepository timeSlotRuleRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private TimeSlotIntervalIndex timeSlotIntervalIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Reads that are not bounded by a date range (all slots, slots of a room) list virtual slots
+    // up to this many days ahead.
+    @Value("${app.timeslots.rules.horizon-days:90}")
+    private int horizonDays;
+
+    private volatile List<CompiledRule> rules;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.timeslots.rules.refresh-millis:60000}")
+    public void refresh() {
+        rules = timeSlotRuleRepository.findAll().stream().map(CompiledRule::of).toList();
+        logger.debug("Loaded {} time slot rules", rules.size());
+    }
+
+    public List<TimeSlotRuleResponse> getRules() {
+        return timeSlotRuleRepository.findAll().stream().map(this::toResponse).collect(Collectors.toList());
+    }
+
+    public TimeSlotRuleResponse getRule(Long id) {
+        return toResponse(findRule(id));
+    }
+
+    public TimeSlotRuleResponse createRule(TimeSlotRuleRequest request) {
+        TimeSlotRule rule = new TimeSlotRule();
+        apply(rule, request);
+        TimeSlotRule saved = timeSlotRuleRepository.save(rule);
+        refresh();
+        publishChange(saved.getRoom().getId(), saved.getValidFrom(), saved.getValidUntil());
+        return toResponse(saved);
+    }
+
+    public TimeSlotRuleResponse updateRule(Long id, TimeSlotRuleRequest request) {
+        TimeSlotRule rule = findRule(id);
+        Long previousRoomId = rule.getRoom().getId();
+        LocalDate previousFrom = rule.getValidFrom();
+        LocalDate previousUntil = rule.getValidUntil();
+
+        apply(rule, request);
+        TimeSlotRule saved = timeSlotRuleRepository.save(rule);
+        refresh();
+        publishChange(previousRoomId, previousFrom, previousUntil);
+        publishChange(saved.getRoom().getId(), saved.getValidFrom(), saved.getValidUntil());
+        return toResponse(saved);
+    }
+
+    // Booked occurrences already exist as TimeSlot rows and are kept.
+    public void deleteRule(Long id) {
+        TimeSlotRule rule = findRule(id);
+        timeSlotRuleRepository.delete(rule);
+        refresh();
+        publishChange(rule.getRoom().getId(), rule.getValidFrom(), rule.getValidUntil());
+    }
+
+    public static boolean isVirtual(Long slotId) {
+        return slotId != null && slotId < 0;
+    }
+
+    // Occurrences in [startDate, endDate] that overlap none of the stored slots. A materialized
+    // occurrence overlaps its own row, so it is left out as well.
+    List<VirtualSlot> expandExcept(LocalDate startDate, LocalDate endDate, Collection<SlotKey> stored) {
+        List<VirtualSlot> slots = new ArrayList<>();
+        for (CompiledRule rule : rules()) {
+            rule.expand(startDate, endDate, slots);
+        }
+        return withoutStored(slots, stored);
+    }
+
+    List<VirtualSlot> expand(LocalDate startDate, LocalDate endDate, Collection<TimeSlot> materialized) {
+        List<SlotKey> keys = new ArrayList<>(materialized.size());
+        for (TimeSlot timeSlot : materialized) {
+            keys.add(SlotKey.of(timeSlot));
+        }
+        return expandExcept(startDate, endDate, keys);
+    }
+
+    static List<VirtualSlot> withoutStored(List<VirtualSlot> slots, Collection<SlotKey> stored) {
+        Map<TimeSlotIntervalIndex.RoomDay, List<SlotKey>> storedByDay = new HashMap<>();
+        for (SlotKey key : stored) {
+            storedByDay.computeIfAbsent(new TimeSlotIntervalIndex.RoomDay(key.roomId(), key.date()), day -> new ArrayList<>())
+                    .add(key);
+        }
+        List<VirtualSlot> kept = new ArrayList<>(slots.size());
+        for (VirtualSlot slot : slots) {
+            List<SlotKey> sameDay = storedByDay.getOrDefault(
+                    new TimeSlotIntervalIndex.RoomDay(slot.roomId(), slot.date()), List.of());
+            if (sameDay.stream().noneMatch(key -> key.overlaps(slot.startTime(), slot.endTime()))) {
+                kept.add(slot);
+            }
+        }
+        return kept;
+    }
+
+    // All occurrences of the room's rules in [startDate, endDate], stored or not.
+    List<VirtualSlot> occurrences(Long roomId, LocalDate startDate, LocalDate endDate) {
+        List<VirtualSlot> slots = new ArrayList<>();
+        for (CompiledRule rule : rules()) {
+            if (rule.roomId().equals(roomId)) {
+                rule.expand(startDate, endDate, slots);
+            }
+        }
+        return slots;
+    }
+
+    // Whether a slot in [startTime, endTime) would overlap an occurrence of the room's rules. The
+    // ignored occurrence is the one a slot being edited was materialized from.
+    boolean overlapsOccurrence(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime, SlotKey ignored) {
+        return occurrences(roomId, date, date).stream()
+                .anyMatch(slot -> !slot.key().equals(ignored) && slot.key().overlaps(startTime, endTime));
+    }
+
+    // Occurrences of the room's rules on the given dates within [startTime, endTime] that have no row
+    // yet, as unsaved slots carrying their virtual id for materialize().
+    public List<TimeSlot> findVirtualSlots(Room room, Collection<LocalDate> dates, LocalTime startTime,
+                                           LocalTime endTime, Collection<TimeSlot> materialized) {
+        if (dates.isEmpty()) {
+            return List.of();
+        }
+        List<TimeSlot> slots = new ArrayList<>();
+        for (VirtualSlot virtualSlot : expand(Collections.min(dates), Collections.max(dates), materialized)) {
+            if (room.getId().equals(virtualSlot.roomId()) && dates.contains(virtualSlot.date())
+                    && !virtualSlot.startTime().isBefore(startTime) && !virtualSlot.endTime().isAfter(endTime)) {
+                TimeSlot timeSlot = new TimeSlot();
+                timeSlot.setId(virtualSlot.id());
+                timeSlot.setRoom(room);
+                timeSlot.setDate(virtualSlot.date());
+                timeSlot.setStartTime(virtualSlot.startTime());
+                timeSlot.setEndTime(virtualSlot.endTime());
+                slots.add(timeSlot);
+            }
+        }
+        return slots;
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    Optional<VirtualSlot> findVirtualSlot(long slotId) {
+        if (slotId >= 0) {
+            return Optional.empty();
+        }
+        long packed = -slotId;
+        long ruleId = packed >>> (DAY_BITS + POSITION_BITS);
+        LocalDate date = LocalDate.ofEpochDay((packed >>> POSITION_BITS) & ((1L << DAY_BITS) - 1));
+        int position = (int) (packed & (MAX_TIMES_PER_DAY - 1));
+        for (CompiledRule rule : rules()) {
+            if (rule.id() == ruleId) {
+                return rule.occurrence(date, position);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Turns a virtual slot into a TimeSlot row so it can be reserved. Concurrent calls for the same
+    // occurrence end up on the same row through the unique (date, start, end, room) constraint.
+    public TimeSlot materialize(long slotId) {
+        VirtualSlot virtualSlot = findVirtualSlot(slotId)
+                .orElseThrow(() -> new ResourceNotFoundException("Time slot not found"));
+        Optional<TimeSlot> existing = findMaterialized(virtualSlot);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        if (timeSlotIntervalIndex.hasConflict(virtualSlot.roomId(), virtualSlot.date(),
+                virtualSlot.startTime(), virtualSlot.endTime(), null)) {
+            throw new ConflictException("Time slot conflicts with existing slot");
+        }
+
+        Room room = roomRepository.findById(virtualSlot.roomId())
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
+        TimeSlot timeSlot = new TimeSlot();
+        timeSlot.setRoom(room);
+        timeSlot.setDate(virtualSlot.date());
+        timeSlot.setStartTime(virtualSlot.startTime());
+        timeSlot.setEndTime(virtualSlot.endTime());
+
+        // The row is committed on its own so a lost race does not poison the caller's transaction.
+        TimeSlot saved;
+        try {
+            saved = newTransaction().execute(status -> timeSlotRepository.save(timeSlot));
+        } catch (DataIntegrityViolationException e) {
+            return findMaterialized(virtualSlot)
+                    .orElseThrow(() -> new ConflictException("Time slot conflicts with existing slot", e));
+        }
+        timeSlotIntervalIndex.add(saved);
+        eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.CREATED, saved));
+        return saved;
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate;
+    }
+
+    private Optional<TimeSlot> findMaterialized(VirtualSlot virtualSlot) {
+        return timeSlotRepository.findByRoomIdAndDateAndStartTimeAndEndTime(
+                virtualSlot.roomId(), virtualSlot.date(), virtualSlot.startTime(), virtualSlot.endTime());
+    }
+
+    private List<CompiledRule> rules() {
+        List<CompiledRule> current = rules;
+        if (current == null) {
+            refresh();
+            current = rules;
+        }
+        return current;
+    }
+
+    private TimeSlotRule findRule(Long id) {
+        return timeSlotRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Time slot rule not found"));
+    }
+
+    private void apply(TimeSlotRule rule, TimeSlotRuleRequest request) {
+        if (request.getValidUntil().isBefore(request.getValidFrom())) {
+            throw new ValidationException("Valid until must not be before valid from");
+        }
+        if (request.getValidFrom().isBefore(LocalDate.EPOCH)) {
+            throw new ValidationException("Valid from must not be before 1970-01-01");
+        }
+        if (request.getTimeSlots().size() > MAX_TIMES_PER_DAY) {
+            throw new ValidationException("A rule can have at most " + MAX_TIMES_PER_DAY + " time slots per day");
+        }
+        for (Integer weekDay : request.getWeekDays()) {
+            if (weekDay == null || weekDay < 1 || weekDay > 7) {
+                throw new ValidationException("Week days must be between 1 (Monday) and 7 (Sunday)");
+            }
+        }
+
+        List<TimeSlotRuleTime> times = new ArrayList<>();
+        for (TimeSlotGenerationRequest.TimeSlotTemplate template : request.getTimeSlots()) {
+            LocalTime startTime = LocalTime.parse(template.getStartTime());
+            LocalTime endTime = LocalTime.parse(template.getEndTime());
+            if (!startTime.isBefore(endTime)) {
+                throw new ValidationException("Start time must be before end time");
+            }
+            times.add(new TimeSlotRuleTime(startTime, endTime));
+        }
+        if (overlapsItself(times)) {
+            throw new ValidationException("Time slots of a rule must not overlap");
+        }
+        Set<Integer> weekDays = new HashSet<>(request.getWeekDays());
+        for (TimeSlotRule other : timeSlotRuleRepository.findByRoomId(request.getRoomId())) {
+            if (!Objects.equals(other.getId(), rule.getId())
+                    && sharesDay(weekDays, request.getValidFrom(), request.getValidUntil(), other)
+                    && overlapping(times, other.getTimes())) {
+                throw new ConflictException("Time slot rule overlaps another rule for this room");
+            }
+        }
+
+        Room room = roomRepository.findById(request.getRoomId())
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
+        rule.setRoom(room);
+        rule.setWeekDays(weekDays);
+        rule.setTimes(times);
+        rule.setValidFrom(request.getValidFrom());
+        rule.setValidUntil(request.getValidUntil());
+        rule.setExceptions(request.getExceptions() != null ? new HashSet<>(request.getExceptions()) : new HashSet<>());
+    }
+
+    private static boolean overlapsItself(List<TimeSlotRuleTime> times) {
+        List<TimeSlotRuleTime> sorted = new ArrayList<>(times);
+        sorted.sort(Comparator.comparing(TimeSlotRuleTime::getStartTime));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getStartTime().isBefore(sorted.get(i - 1).getEndTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean overlapping(List<TimeSlotRuleTime> times, List<TimeSlotRuleTime> others) {
+        for (TimeSlotRuleTime time : times) {
+            for (TimeSlotRuleTime other : others) {
+                if (time.getStartTime().isBefore(other.getEndTime()) && other.getStartTime().isBefore(time.getEndTime())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Exceptions are ignored: they are edited more often than the schedule itself and a rule
+    // should not start overlapping another one when a day is taken off its list.
+    private static boolean sharesDay(Set<Integer> weekDays, LocalDate validFrom, LocalDate validUntil, TimeSlotRule other) {
+        LocalDate from = validFrom.isAfter(other.getValidFrom()) ? validFrom : other.getValidFrom();
+        LocalDate until = validUntil.isBefore(other.getValidUntil()) ? validUntil : other.getValidUntil();
+        for (LocalDate date = from; !date.isAfter(until) && date.isBefore(from.plusDays(7)); date = date.plusDays(1)) {
+            int weekDay = date.getDayOfWeek().getValue();
+            if (weekDays.contains(weekDay) && other.getWeekDays().contains(weekDay)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void publishChange(Long roomId, LocalDate validFrom, LocalDate validUntil) {
+        eventPublisher.publishEvent(TimeSlotChangeEvent.ruleChanged(roomId, validFrom, validUntil));
+    }
+
+    private TimeSlotRuleResponse toResponse(TimeSlotRule rule) {
+        TimeSlotRuleResponse response = new TimeSlotRuleResponse();
+        response.setId(rule.getId());
+        response.setRoomId(rule.getRoom().getId());
+        response.setRoomName(rule.getRoom().getName());
+        response.setWeekDays(rule.getWeekDays().stream().sorted().collect(Collectors.toList()));
+        List<TimeSlotGenerationRequest.TimeSlotTemplate> timeSlots = new ArrayList<>();
+        for (TimeSlotRuleTime time : rule.getTimes()) {
+            TimeSlotGenerationRequest.TimeSlotTemplate template = new TimeSlotGenerationRequest.TimeSlotTemplate();
+            template.setStartTime(time.getStartTime().toString());
+            template.setEndTime(time.getEndTime().toString());
+            timeSlots.add(template);
+        }
+        response.setTimeSlots(timeSlots);
+        response.setValidFrom(rule.getValidFrom());
+        response.setValidUntil(rule.getValidUntil());
+        response.setExceptions(rule.getExceptions().stream().sorted().collect(Collectors.toList()));
+        return response;
+    }
+
+    record VirtualSlot(long id, Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+
+        SlotKey key() {
+            return new SlotKey(roomId, date, startTime, endTime);
+        }
+    }
+
+    record SlotKey(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+
+        static SlotKey of(TimeSlot timeSlot) {
+            return new SlotKey(timeSlot.getRoom().getId(), timeSlot.getDate(), timeSlot.getStartTime(), timeSlot.getEndTime());
+        }
+
+        boolean overlaps(LocalTime otherStart, LocalTime otherEnd) {
+            return startTime.isBefore(otherEnd) && otherStart.isBefore(endTime);
+        }
+    }
+
+    private record CompiledRule(long id, Long roomId, int weekDayMask, LocalTime[] startTimes, LocalTime[] endTimes,
+                                Set<LocalDate> exceptions, LocalDate validFrom, LocalDate validUntil) {
+
+        static CompiledRule of(TimeSlotRule rule) {
+            int mask = 0;
+            for (Integer weekDay : rule.getWeekDays()) {
+                mask |= 1 << weekDay;
+            }
+            LocalTime[] startTimes = new LocalTime[rule.getTimes().size()];
+            LocalTime[] endTimes = new LocalTime[rule.getTimes().size()];
+            for (int i = 0; i < startTimes.length; i++) {
+                startTimes[i] = rule.getTimes().get(i).getStartTime();
+                endTimes[i] = rule.getTimes().get(i).getEndTime();
+            }
+            return new CompiledRule(rule.getId(), rule.getRoom().getId(), mask, startTimes, endTimes,
+                    Set.copyOf(rule.getExceptions()), rule.getValidFrom(), rule.getValidUntil());
+        }
+
+        void expand(LocalDate startDate, LocalDate endDate, List<VirtualSlot> slots) {
+            LocalDate from = startDate.isAfter(validFrom) ? startDate : validFrom;
+            LocalDate until = endDate.isBefore(validUntil) ? endDate : validUntil;
+            for (LocalDate date = from; !date.isAfter(until); date = date.plusDays(1)) {
+                if (occursOn(date)) {
+                    for (int position = 0; position < startTimes.length; position++) {
+                        slots.add(slot(date, position));
+                    }
+                }
+            }
+        }
+
+        Optional<VirtualSlot> occurrence(LocalDate date, int position) {
+            if (date.isBefore(validFrom) || date.isAfter(validUntil) || !occursOn(date) || position >= startTimes.length) {
+                return Optional.empty();
+            }
+            return Optional.of(slot(date, position));
+        }
+
+        private boolean occursOn(LocalDate date) {
+            return (weekDayMask & (1 << date.getDayOfWeek().getValue())) != 0 && !exceptions.contains(date);
+        }
+
+        private VirtualSlot slot(LocalDate date, int position) {
+            long packed = (id << (DAY_BITS + POSITION_BITS)) | (date.toEpochDay() << POSITION_BITS) | position;
+            return new VirtualSlot(-packed, roomId, date, startTimes[position], endTimes[position]);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.timeslot.DTO.TimeSlotSearchRequest;
+
+import java.util.List;
+
+public interface TimeSlotSearchRepository {
+
+    // Up to limit slots matching the filters, strictly after the cursor (null for the first page)
+    // in (date, startTime, id) order, with their rooms fetched.
+    List<TimeSlot> search(TimeSlotSearchRequest filters, TimeSlotCursor after, int limit);
+}
@@ -0,0 +1,77 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.timeslot.DTO.TimeSlotSearchRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keyset pagination: the cursor becomes a range predicate on (date, startTime, id), so every page
+// is an index range scan of limit rows whatever its depth, unlike OFFSET which reads and discards
+// all earlier rows. Only the filters that are set are added, which keeps the statement sargable.
+class TimeSlotSearchRepositoryImpl implements TimeSlotSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private Clock clock;
+
+    @Override
+    public List<TimeSlot> search(TimeSlotSearchRequest filters, TimeSlotCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT ts FROM TimeSlot ts JOIN FETCH ts.room r WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (filters.getRoomId() != null) {
+            jpql.append(" AND r.id = :roomId");
+            parameters.put("roomId", filters.getRoomId());
+        }
+        if (filters.getType() != null) {
+            jpql.append(" AND r.type = :type");
+            parameters.put("type", filters.getType());
+        }
+        if (filters.getMinCapacity() != null) {
+            jpql.append(" AND r.capacity >= :minCapacity");
+            parameters.put("minCapacity", filters.getMinCapacity());
+        }
+        if (filters.getStartDate() != null) {
+            jpql.append(" AND ts.date >= :startDate");
+            parameters.put("startDate", filters.getStartDate());
+        }
+        if (filters.getEndDate() != null) {
+            jpql.append(" AND ts.date <= :endDate");
+            parameters.put("endDate", filters.getEndDate());
+        }
+        if (filters.getAvailable() != null) {
+            // Same rule as TimeSlotViewAssembler: booked or already ended slots are unavailable.
+            parameters.put("today", LocalDate.now(clock));
+            parameters.put("now", LocalTime.now(clock));
+            if (filters.getAvailable()) {
+                jpql.append(" AND ts.activeReservationId IS NULL"
+                        + " AND (ts.date > :today OR (ts.date = :today AND ts.endTime > :now))");
+            } else {
+                jpql.append(" AND (ts.activeReservationId IS NOT NULL"
+                        + " OR ts.date < :today OR (ts.date = :today AND ts.endTime <= :now))");
+            }
+        }
+        if (after != null) {
+            jpql.append(" AND (ts.date > :afterDate OR (ts.date = :afterDate AND (ts.startTime > :afterStart"
+                    + " OR (ts.startTime = :afterStart AND ts.id > :afterId))))");
+            parameters.put("afterDate", after.date());
+            parameters.put("afterStart", after.startTime());
+            parameters.put("afterId", after.id());
+        }
+        jpql.append(" ORDER BY ts.date, ts.startTime, ts.id");
+
+        TypedQuery<TimeSlot> query = entityManager.createQuery(jpql.toString(), TimeSlot.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
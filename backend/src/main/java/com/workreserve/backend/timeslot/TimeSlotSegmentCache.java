@@ -0,0 +1,164 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.reservation.Reservation;
+import com.workreserve.backend.reservation.ReservationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Caches slot data per (room, day) plus, per day, the ids of the rooms that have slots on it.
+// Range reads stitch the cached days together and load all missing days with one query, so
+// overlapping ranges share entries and a booking only invalidates its own segment.
+@Component
+public class TimeSlotSegmentCache {
+
+    static final String CACHE_NAME = "timeslot-segments";
+
+    // Keeps IN lists well below driver bind-parameter limits for very large ranges.
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TimeSlotRuleService timeSlotRuleService;
+
+    List<TimeSlotDaySegment> getSegments(LocalDate startDate, LocalDate endDate) {
+        Cache cache = cache();
+        List<TimeSlotDaySegment> segments = new ArrayList<>();
+        List<LocalDate> missingDays = new ArrayList<>();
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            List<TimeSlotDaySegment> day = cachedDay(cache, date);
+            if (day == null) {
+                missingDays.add(date);
+            } else {
+                segments.addAll(day);
+            }
+        }
+
+        for (int from = 0; from < missingDays.size(); from += CHUNK_SIZE) {
+            segments.addAll(loadDays(cache, missingDays.subList(from, Math.min(from + CHUNK_SIZE, missingDays.size()))));
+        }
+        return segments;
+    }
+
+    public void evictSegment(Long roomId, LocalDate date) {
+        cache().evict(new SegmentKey(roomId, date));
+    }
+
+    public void evictDay(Long roomId, LocalDate date) {
+        Cache cache = cache();
+        cache.evict(new DayKey(date));
+        cache.evict(new SegmentKey(roomId, date));
+    }
+
+    private List<TimeSlotDaySegment> cachedDay(Cache cache, LocalDate date) {
+        long[] roomIds = cache.get(new DayKey(date), long[].class);
+        if (roomIds == null) {
+            return null;
+        }
+        List<TimeSlotDaySegment> day = new ArrayList<>(roomIds.length);
+        for (long roomId : roomIds) {
+            TimeSlotDaySegment segment = cache.get(new SegmentKey(roomId, date), TimeSlotDaySegment.class);
+            if (segment == null) {
+                return null;
+            }
+            day.add(segment);
+        }
+        return day;
+    }
+
+    private List<TimeSlotDaySegment> loadDays(Cache cache, List<LocalDate> days) {
+        List<TimeSlot> slots = timeSlotRepository.findByDateIn(days);
+        Map<Long, Reservation> activeReservations = loadActiveReservations(slots);
+        List<TimeSlotRuleService.VirtualSlot> virtualSlots =
+                timeSlotRuleService.expand(days.get(0), days.get(days.size() - 1), slots);
+
+        Map<LocalDate, Map<Long, List<TimeSlot>>> byDayAndRoom = new HashMap<>();
+        Map<LocalDate, Map<Long, List<TimeSlotRuleService.VirtualSlot>>> virtualByDayAndRoom = new HashMap<>();
+        for (LocalDate day : days) {
+            byDayAndRoom.put(day, new TreeMap<>());
+            virtualByDayAndRoom.put(day, new TreeMap<>());
+        }
+        for (TimeSlot slot : slots) {
+            byDayAndRoom.get(slot.getDate())
+                    .computeIfAbsent(slot.getRoom().getId(), roomId -> new ArrayList<>())
+                    .add(slot);
+        }
+        // Missing days need not be contiguous, so occurrences between them are dropped here.
+        for (TimeSlotRuleService.VirtualSlot slot : virtualSlots) {
+            Map<Long, List<TimeSlotRuleService.VirtualSlot>> byRoom = virtualByDayAndRoom.get(slot.date());
+            if (byRoom != null) {
+                byRoom.computeIfAbsent(slot.roomId(), roomId -> new ArrayList<>()).add(slot);
+            }
+        }
+
+        List<TimeSlotDaySegment> segments = new ArrayList<>();
+        byDayAndRoom.forEach((day, byRoom) -> {
+            Map<Long, List<TimeSlotRuleService.VirtualSlot>> virtualByRoom = virtualByDayAndRoom.get(day);
+            Set<Long> dayRoomIds = new TreeSet<>(byRoom.keySet());
+            dayRoomIds.addAll(virtualByRoom.keySet());
+
+            long[] roomIds = new long[dayRoomIds.size()];
+            int i = 0;
+            for (Long roomId : dayRoomIds) {
+                TimeSlotDaySegment segment = TimeSlotDaySegment.of(roomId, day,
+                        byRoom.getOrDefault(roomId, List.of()), virtualByRoom.getOrDefault(roomId, List.of()),
+                        activeReservations);
+                cache.put(new SegmentKey(roomId, day), segment);
+                segments.add(segment);
+                roomIds[i++] = roomId;
+            }
+            cache.put(new DayKey(day), roomIds);
+        });
+        return segments;
+    }
+
+    // Rule changes can span years of days, so the whole cache is dropped rather than day by day.
+    public void clear() {
+        cache().clear();
+    }
+
+    private Map<Long, Reservation> loadActiveReservations(List<TimeSlot> slots) {
+        Map<Long, Reservation> bySlotId = new HashMap<>();
+        List<Long> slotIds = slots.stream()
+                .filter(slot -> slot.getActiveReservationId() != null)
+                .filter(slot -> slot.getRoom().getType() == null || !slot.getRoom().getType().isSeatBased())
+                .map(TimeSlot::getId)
+                .toList();
+        for (int from = 0; from < slotIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = slotIds.subList(from, Math.min(from + CHUNK_SIZE, slotIds.size()));
+            for (Reservation reservation : reservationRepository.findActiveBySlotIdsWithUser(chunk)) {
+                bySlotId.putIfAbsent(reservation.getSlot().getId(), reservation);
+            }
+        }
+        return bySlotId;
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
+    record SegmentKey(Long roomId, LocalDate date) {
+    }
+
+    record DayKey(LocalDate date) {
+    }
+}
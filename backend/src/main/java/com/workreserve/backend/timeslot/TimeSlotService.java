@@ -5,24 +5,37 @@ import com.workreserve.backend.exception.ResourceNotFoundException;
 import com.workreserve.backend.exception.ValidationException;
 import com.workreserve.backend.room.Room;
 import com.workreserve.backend.room.RoomRepository;
-import com.workreserve.backend.room.RoomService;
+import com.workreserve.backend.timeslot.DTO.TimeSlotChangeNotification;
+import com.workreserve.backend.timeslot.DTO.TimeSlotChangesResponse;
 import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationResult;
+import com.workreserve.backend.timeslot.DTO.TimeSlotPageResponse;
 import com.workreserve.backend.timeslot.DTO.TimeSlotRequest;
 import com.workreserve.backend.timeslot.DTO.TimeSlotResponse;
-import com.workreserve.backend.reservation.Reservation;
+import com.workreserve.backend.timeslot.DTO.TimeSlotSearchRequest;
 import com.workreserve.backend.reservation.ReservationRepository;
-import com.workreserve.backend.reservation.ReservationStatus;
+import com.workreserve.backend.user.User;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,60 +43,147 @@ import org.springframework.security.core.context.SecurityContextHolder;
 @Service
 public class TimeSlotService {
 
+    private static final int MAX_CHANGES = 1000;
+
     @Autowired
     private TimeSlotRepository timeSlotRepository;
     
     @Autowired
     private RoomRepository roomRepository;
     
-    @Autowired
-    private RoomService roomService;
-    
     @Autowired
     private ReservationRepository reservationRepository;
 
-    @Cacheable("timeslots")
+    @Autowired
+    private TimeSlotViewAssembler timeSlotViewAssembler;
+
+    @Autowired
+    private TimeSlotIntervalIndex timeSlotIntervalIndex;
+
+    @Autowired
+    private TimeSlotSegmentCache timeSlotSegmentCache;
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    private TimeSlotCleanupJob timeSlotCleanupJob;
+
+    @Autowired
+    private TimeSlotGenerationPipeline timeSlotGenerationPipeline;
+
+    @Autowired
+    private TimeSlotRuleService timeSlotRuleService;
+
+    @Autowired
+    private TimeSlotChangeLog timeSlotChangeLog;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private Clock clock;
+
     public List<TimeSlotResponse> getAllTimeSlots() {
-        String currentUserEmail = getCurrentUserEmail();
-        return timeSlotRepository.findAll().stream()
-                .map(slot -> toResponse(slot, currentUserEmail))
-                .collect(Collectors.toList());
+        List<TimeSlotResponse> shared = cached("timeslots", SimpleKey.EMPTY, () -> {
+            List<TimeSlot> timeSlots = timeSlotRepository.findAll();
+            return timeSlotViewAssembler.toSharedResponses(timeSlots, upcomingVirtualSlots(timeSlots, null));
+        });
+        return timeSlotViewAssembler.forUser(shared, getCurrentUserId());
     }
 
-    @Cacheable(value = "timeslots", key = "#id")
     public TimeSlotResponse getTimeSlotById(Long id) {
-        TimeSlot timeSlot = timeSlotRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Time slot not found"));
-        return toResponse(timeSlot);
+        if (TimeSlotRuleService.isVirtual(id)) {
+            return getVirtualTimeSlot(id);
+        }
+        TimeSlotResponse shared = cached("timeslots", id, () -> timeSlotViewAssembler.toSharedResponse(
+                timeSlotRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Time slot not found"))));
+        return timeSlotViewAssembler.forUser(shared, getCurrentUserId());
     }
 
-    @Cacheable(value = "available-timeslots", key = "#startDate + '-' + #endDate")
     public List<TimeSlotResponse> getAvailableTimeSlots(LocalDate startDate, LocalDate endDate) {
-        List<TimeSlot> availableSlots = timeSlotRepository.findAvailableTimeSlots(startDate, endDate);
-        return availableSlots.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return timeSlotViewAssembler.fromSegments(timeSlotSegmentCache.getSegments(startDate, endDate), null, true);
     }
 
-    @Cacheable(value = "room-timeslots", key = "#roomId")
     public List<TimeSlotResponse> getTimeSlotsByRoom(Long roomId) {
-        List<TimeSlot> timeSlots = timeSlotRepository.findByRoomId(roomId);
-        return timeSlots.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        List<TimeSlotResponse> shared = cached("room-timeslots", roomId, () -> {
+            List<TimeSlot> timeSlots = timeSlotRepository.findByRoomId(roomId);
+            return timeSlotViewAssembler.toSharedResponses(timeSlots, upcomingVirtualSlots(timeSlots, roomId));
+        });
+        return timeSlotViewAssembler.forUser(shared, getCurrentUserId());
     }
 
-    @Cacheable(value = "daterange-timeslots", key = "#startDate + '-' + #endDate")
     public List<TimeSlotResponse> getTimeSlotsByDateRange(LocalDate startDate, LocalDate endDate) {
-        String currentUserEmail = getCurrentUserEmail();
-        List<TimeSlot> timeSlots = timeSlotRepository.findByDateBetween(startDate, endDate);
-        return timeSlots.stream()
-                .map(slot -> toResponse(slot, currentUserEmail))
-                .collect(Collectors.toList());
+        return timeSlotViewAssembler.fromSegments(timeSlotSegmentCache.getSegments(startDate, endDate), getCurrentUserId(), false);
+    }
+
+    // Stored and rule-generated slots are read up to size + 1 each, in the same (date, startTime, id)
+    // order, and merged; the extra row tells whether there is a next page.
+    public TimeSlotPageResponse searchTimeSlots(TimeSlotSearchRequest request) {
+        int size = request.getSize() != null
+                ? Math.min(request.getSize(), TimeSlotPageResponse.MAX_PAGE_SIZE)
+                : TimeSlotPageResponse.DEFAULT_PAGE_SIZE;
+        TimeSlotCursor after = request.getCursor() != null ? TimeSlotCursor.decode(request.getCursor()) : null;
+
+        List<TimeSlot> timeSlots = timeSlotRepository.search(request, after, size + 1);
+        List<TimeSlotRuleService.VirtualSlot> virtualSlots = List.of();
+        if (!Boolean.FALSE.equals(request.getAvailable())) {
+            // A full page of stored slots ends the page at the latest on its last day.
+            LocalDate until = timeSlots.size() > size ? timeSlots.get(timeSlots.size() - 1).getDate() : null;
+            virtualSlots = searchVirtualSlots(request, after, size + 1, until);
+        }
+
+        List<TimeSlotResponse> items = new ArrayList<>(timeSlotViewAssembler.toSharedResponses(timeSlots, virtualSlots));
+        items.sort(Comparator.comparing(TimeSlotResponse::getDate)
+                .thenComparing(TimeSlotResponse::getStartTime)
+                .thenComparing(TimeSlotResponse::getId));
+        String nextCursor = null;
+        if (items.size() > size) {
+            items = items.subList(0, size);
+            TimeSlotResponse last = items.get(size - 1);
+            nextCursor = new TimeSlotCursor(last.getDate(), last.getStartTime(), last.getId()).encode();
+        }
+        return new TimeSlotPageResponse(timeSlotViewAssembler.forUser(items, getCurrentUserId()), nextCursor);
+    }
+
+    // Current state of the slots changed after the given version. A slot changed several times in
+    // the window is returned once; slots that no longer exist are listed as deleted.
+    public TimeSlotChangesResponse getChangesSince(long since, Integer limit) {
+        int pageSize = limit != null ? Math.max(1, Math.min(limit, MAX_CHANGES)) : MAX_CHANGES;
+        TimeSlotChangeLog.Window window = timeSlotChangeLog.read(since, pageSize);
+
+        TimeSlotChangesResponse response = new TimeSlotChangesResponse();
+        response.setVersion(window.version());
+        response.setResyncRequired(window.resyncRequired());
+        response.setHasMore(window.hasMore());
+
+        Set<Long> slotIds = new LinkedHashSet<>();
+        for (TimeSlotChange change : window.changes()) {
+            if (change.getSlotId() != null) {
+                slotIds.add(change.getSlotId());
+            } else {
+                TimeSlotChangeNotification range = new TimeSlotChangeNotification();
+                range.setType(change.getType().name());
+                range.setRoomId(change.getRoomId());
+                range.setStartDate(change.getStartDate());
+                range.setEndDate(change.getEndDate());
+                response.getRanges().add(range);
+            }
+        }
+        if (slotIds.isEmpty()) {
+            return response;
+        }
+
+        List<TimeSlot> timeSlots = timeSlotRepository.findByIdIn(slotIds);
+        response.setChanged(timeSlotViewAssembler.toResponses(timeSlots, getCurrentUserId()));
+        timeSlots.forEach(timeSlot -> slotIds.remove(timeSlot.getId()));
+        response.setDeleted(new ArrayList<>(slotIds));
+        return response;
     }
 
-    
-    @CacheEvict(value = {"timeslots", "available-timeslots", "room-timeslots", "daterange-timeslots"}, allEntries = true)
     public TimeSlotResponse createTimeSlot(TimeSlotRequest request) {
         
         if (request.getStartTime().isAfter(request.getEndTime()) || 
@@ -96,16 +196,18 @@ public class TimeSlotService {
                 .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
 
         
-        List<TimeSlot> conflicts = timeSlotRepository.findConflictingTimeSlots(
+        if (timeSlotIntervalIndex.hasConflict(
                 request.getRoomId(), 
                 request.getDate(), 
                 request.getStartTime(), 
-                request.getEndTime()
-        );
-        
-        if (!conflicts.isEmpty()) {
+                request.getEndTime(),
+                null)) {
             throw new ConflictException("Time slot conflicts with existing slot");
         }
+        if (timeSlotRuleService.overlapsOccurrence(
+                request.getRoomId(), request.getDate(), request.getStartTime(), request.getEndTime(), null)) {
+            throw new ConflictException("Time slot conflicts with a time slot rule");
+        }
 
         TimeSlot timeSlot = new TimeSlot();
         timeSlot.setDate(request.getDate());
@@ -113,11 +215,12 @@ public class TimeSlotService {
         timeSlot.setEndTime(request.getEndTime());
         timeSlot.setRoom(room);
 
-        TimeSlot saved = timeSlotRepository.save(timeSlot);
+        TimeSlot saved = saveChecked(timeSlot);
+        timeSlotIntervalIndex.add(saved);
+        eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.CREATED, saved));
         return toResponse(saved);
     }
 
-    @CacheEvict(value = {"timeslots", "available-timeslots", "room-timeslots", "daterange-timeslots"}, allEntries = true)
     public TimeSlotResponse updateTimeSlot(Long id, TimeSlotRequest request) {
         TimeSlot timeSlot = timeSlotRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Time slot not found"));
@@ -133,28 +236,33 @@ public class TimeSlotService {
                 .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
 
         
-        List<TimeSlot> conflicts = timeSlotRepository.findConflictingTimeSlots(
+        if (timeSlotIntervalIndex.hasConflict(
                 request.getRoomId(), 
                 request.getDate(), 
                 request.getStartTime(), 
-                request.getEndTime()
-        ).stream()
-        .filter(slot -> !slot.getId().equals(id))
-        .collect(Collectors.toList());
-        
-        if (!conflicts.isEmpty()) {
+                request.getEndTime(),
+                id)) {
             throw new ConflictException("Time slot conflicts with existing slot");
         }
+        if (timeSlotRuleService.overlapsOccurrence(request.getRoomId(), request.getDate(),
+                request.getStartTime(), request.getEndTime(), TimeSlotRuleService.SlotKey.of(timeSlot))) {
+            throw new ConflictException("Time slot conflicts with a time slot rule");
+        }
+
+        Long previousRoomId = timeSlot.getRoom().getId();
+        LocalDate previousDate = timeSlot.getDate();
 
         timeSlot.setDate(request.getDate());
         timeSlot.setStartTime(request.getStartTime());
         timeSlot.setEndTime(request.getEndTime());
         timeSlot.setRoom(room);
 
-        return toResponse(timeSlotRepository.save(timeSlot));
+        TimeSlot saved = saveChecked(timeSlot);
+        timeSlotIntervalIndex.move(previousRoomId, previousDate, saved);
+        eventPublisher.publishEvent(TimeSlotChangeEvent.moved(saved, previousRoomId, previousDate));
+        return toResponse(saved);
     }
 
-    @CacheEvict(value = {"timeslots", "available-timeslots", "room-timeslots", "daterange-timeslots"}, allEntries = true)
     public void deleteTimeSlot(Long id) {
         TimeSlot timeSlot = timeSlotRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Time slot not found"));
@@ -168,123 +276,172 @@ public class TimeSlotService {
         }
         
         timeSlotRepository.deleteById(id);
+        timeSlotIntervalIndex.remove(id, timeSlot.getRoom().getId(), timeSlot.getDate());
+        eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.DELETED, timeSlot));
     }
 
-    @CacheEvict(value = {"timeslots", "available-timeslots", "room-timeslots", "daterange-timeslots"}, allEntries = true)
     public List<TimeSlotResponse> createTimeSlotsBulk(List<TimeSlotRequest> requests) {
         return requests.stream()
             .map(this::createTimeSlot)
             .collect(Collectors.toList());
     }
 
-    private TimeSlotResponse toResponse(TimeSlot timeSlot) {
-        return toResponse(timeSlot, null);
+    // A virtual id stays valid after its occurrence has been materialized, so it resolves to the
+    // stored slot when there is one.
+    private TimeSlotResponse getVirtualTimeSlot(Long id) {
+        TimeSlotRuleService.VirtualSlot virtualSlot = timeSlotRuleService.findVirtualSlot(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Time slot not found"));
+        return timeSlotRepository.findByRoomIdAndDateAndStartTimeAndEndTime(
+                        virtualSlot.roomId(), virtualSlot.date(), virtualSlot.startTime(), virtualSlot.endTime())
+                .map(timeSlot -> getTimeSlotById(timeSlot.getId()))
+                .orElseGet(() -> timeSlotViewAssembler.forUser(
+                        timeSlotViewAssembler.toSharedResponses(List.of(), List.of(virtualSlot)).get(0), getCurrentUserId()));
     }
 
-    private TimeSlotResponse toResponse(TimeSlot timeSlot, String currentUserEmail) {
-        TimeSlotResponse response = new TimeSlotResponse();
-        response.setId(timeSlot.getId());
-        response.setDate(timeSlot.getDate());
-        response.setStartTime(timeSlot.getStartTime());
-        response.setEndTime(timeSlot.getEndTime());
-        response.setRoom(roomService.getRoomById(timeSlot.getRoom().getId()));
-
-        LocalDate today = LocalDate.now();
-        LocalTime now = LocalTime.now();
-        boolean isPast = timeSlot.getDate().isBefore(today) ||
-            (timeSlot.getDate().isEqual(today) && timeSlot.getEndTime().isBefore(now));
-
-        if (isPast) {
-            response.setAvailable(false);
-            response.setBookedByCurrentUser(false);
-            response.setBookedByUserName(null);
-            return response;
+    private List<TimeSlotRuleService.VirtualSlot> upcomingVirtualSlots(List<TimeSlot> materialized, Long roomId) {
+        LocalDate today = LocalDate.now(clock);
+        List<TimeSlotRuleService.VirtualSlot> virtualSlots = timeSlotRuleService.expand(
+                today, today.plusDays(timeSlotRuleService.getHorizonDays()), materialized);
+        if (roomId == null) {
+            return virtualSlots;
         }
+        return virtualSlots.stream()
+                .filter(virtualSlot -> roomId.equals(virtualSlot.roomId()))
+                .collect(Collectors.toList());
+    }
 
-        Optional<Reservation> activeReservation = reservationRepository
-            .findBySlotIdAndStatusNot(timeSlot.getId(), ReservationStatus.CANCELLED)
-            .stream()
-            .findFirst();
-
-        if (activeReservation.isPresent()) {
-            response.setAvailable(false);
-            Reservation reservation = activeReservation.get();
-            response.setBookedByUserName(reservation.getUser().getFullName());
-            if (currentUserEmail != null) {
-                response.setBookedByCurrentUser(
-                    reservation.getUser().getEmail().equals(currentUserEmail)
-                );
+    // Up to limit upcoming rule occurrences matching the search, skipping the ones that have been
+    // materialized. Materialized rows are only looked up for the days the candidates span.
+    private List<TimeSlotRuleService.VirtualSlot> searchVirtualSlots(TimeSlotSearchRequest request, TimeSlotCursor after,
+                                                                     int limit, LocalDate until) {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate from = latest(today, request.getStartDate(), after != null ? after.date() : null);
+        LocalDate to = today.plusDays(timeSlotRuleService.getHorizonDays());
+        if (request.getEndDate() != null && request.getEndDate().isBefore(to)) {
+            to = request.getEndDate();
+        }
+        if (until != null && until.isBefore(to)) {
+            to = until;
+        }
+        if (from.isAfter(to)) {
+            return List.of();
+        }
+
+        List<TimeSlotRuleService.VirtualSlot> candidates = new ArrayList<>(timeSlotRuleService.expandExcept(from, to, Set.of()));
+        if (request.getRoomId() != null) {
+            candidates.removeIf(slot -> !request.getRoomId().equals(slot.roomId()));
+        }
+        if (request.getType() != null || request.getMinCapacity() != null) {
+            Set<Long> roomIds = candidates.stream().map(TimeSlotRuleService.VirtualSlot::roomId).collect(Collectors.toSet());
+            Map<Long, Room> rooms = roomRepository.findAllById(roomIds).stream()
+                    .collect(Collectors.toMap(Room::getId, Function.identity()));
+            candidates.removeIf(slot -> !matchesRoom(rooms.get(slot.roomId()), request));
+        }
+        if (Boolean.TRUE.equals(request.getAvailable())) {
+            LocalTime now = LocalTime.now(clock);
+            candidates.removeIf(slot -> slot.date().equals(today) && !slot.endTime().isAfter(now));
+        }
+        if (after != null) {
+            candidates.removeIf(slot -> !after.isBefore(slot.date(), slot.startTime(), slot.id()));
+        }
+        candidates.sort(Comparator.comparing(TimeSlotRuleService.VirtualSlot::date)
+                .thenComparing(TimeSlotRuleService.VirtualSlot::startTime)
+                .thenComparingLong(TimeSlotRuleService.VirtualSlot::id));
+
+        List<TimeSlotRuleService.VirtualSlot> page = new ArrayList<>();
+        int next = 0;
+        while (page.size() < limit && next < candidates.size()) {
+            List<TimeSlotRuleService.VirtualSlot> batch =
+                    candidates.subList(next, Math.min(candidates.size(), next + limit - page.size()));
+            next += batch.size();
+            List<TimeSlotRuleService.SlotKey> stored = new ArrayList<>();
+            for (Object[] row : timeSlotRepository.findSlotKeysByDateBetween(
+                    batch.get(0).date(), batch.get(batch.size() - 1).date())) {
+                stored.add(new TimeSlotRuleService.SlotKey(
+                        (Long) row[0], (LocalDate) row[1], (LocalTime) row[2], (LocalTime) row[3]));
             }
-        } else {
-            response.setAvailable(true);
-            response.setBookedByCurrentUser(false);
+            page.addAll(TimeSlotRuleService.withoutStored(batch, stored));
         }
+        return page;
+    }
 
-        return response;
+    private boolean matchesRoom(Room room, TimeSlotSearchRequest request) {
+        return room != null
+                && (request.getType() == null || room.getType() == request.getType())
+                && (request.getMinCapacity() == null
+                        || (room.getCapacity() != null && room.getCapacity() >= request.getMinCapacity()));
     }
 
-        @CacheEvict(value = {"timeslots", "available-timeslots", "room-timeslots", "daterange-timeslots"}, allEntries = true)
-    public List<TimeSlotResponse> generateBulkTimeSlots(TimeSlotGenerationRequest request) {
-        Room room = roomRepository.findById(request.getRoomId())
-                .orElseThrow(() -> new ResourceNotFoundException("Room not found"));
-        
-        List<TimeSlot> createdSlots = new ArrayList<>();
-        LocalDate currentDate = request.getStartDate();
-        
-        while (!currentDate.isAfter(request.getEndDate())) {
-            boolean shouldCreateSlots = true;
-            
-            if (request.isSkipWeekends() && (currentDate.getDayOfWeek().getValue() == 6 || currentDate.getDayOfWeek().getValue() == 7)) {
-                shouldCreateSlots = false;
-            }
-            
-            if (request.isRepeatWeekly() && request.getWeekDays() != null && !request.getWeekDays().isEmpty()) {
-                int dayOfWeek = currentDate.getDayOfWeek().getValue(); 
-                if (!request.getWeekDays().contains(dayOfWeek)) {
-                    shouldCreateSlots = false;
-                }
+    private static LocalDate latest(LocalDate date, LocalDate... others) {
+        LocalDate latest = date;
+        for (LocalDate other : others) {
+            if (other != null && other.isAfter(latest)) {
+                latest = other;
             }
-            
-            if (shouldCreateSlots) {
-                for (TimeSlotGenerationRequest.TimeSlotTemplate template : request.getTimeSlots()) {
-                    LocalTime startTime = LocalTime.parse(template.getStartTime());
-                    LocalTime endTime = LocalTime.parse(template.getEndTime());
-                    
-                    List<TimeSlot> conflicts = timeSlotRepository.findConflictingTimeSlots(
-                            request.getRoomId(), currentDate, startTime, endTime);
-                    
-                    if (conflicts.isEmpty()) {
-                        TimeSlot timeSlot = new TimeSlot();
-                        timeSlot.setDate(currentDate);
-                        timeSlot.setStartTime(startTime);
-                        timeSlot.setEndTime(endTime);
-                        timeSlot.setRoom(room);
-                        
-                        createdSlots.add(timeSlotRepository.save(timeSlot));
-                    }
-                }
-            }
-            
-            currentDate = currentDate.plusDays(1);
         }
-        
-        return createdSlots.stream()
-                .map(this::toResponse)
+        return latest;
+    }
+
+    private TimeSlotResponse toResponse(TimeSlot timeSlot) {
+        return timeSlotViewAssembler.toResponse(timeSlot, null);
+    }
+
+    private TimeSlot saveChecked(TimeSlot timeSlot) {
+        try {
+            return timeSlotRepository.save(timeSlot);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Time slot conflicts with existing slot", e);
+        }
+    }
+
+    public List<TimeSlotResponse> generateBulkTimeSlots(TimeSlotGenerationRequest request) {
+        TimeSlotGenerationResult result = generateTimeSlots(request);
+        if (result.getCreatedIds().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> createdIds = new HashSet<>(result.getCreatedIds());
+        List<TimeSlot> createdSlots = timeSlotRepository
+                .findByRoomIdAndDateBetweenOrderByDateAscStartTimeAsc(request.getRoomId(), request.getStartDate(), request.getEndDate())
+                .stream()
+                .filter(slot -> createdIds.contains(slot.getId()))
                 .collect(Collectors.toList());
+        return timeSlotViewAssembler.toResponses(createdSlots, null);
     }
 
-    private String getCurrentUserEmail() {
+    public TimeSlotGenerationResult generateTimeSlots(TimeSlotGenerationRequest request) {
+        TimeSlotGenerationResult result = timeSlotGenerationPipeline.generate(request);
+        if (result.getCreated() > 0) {
+            eventPublisher.publishEvent(TimeSlotChangeEvent.generated(
+                    request.getRoomId(), request.getStartDate(), request.getEndDate()));
+        }
+        return result;
+    }
+
+    // Cached entries are shared between users and must not be modified; callers copy them
+    // through TimeSlotViewAssembler.forUser before returning them.
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String cacheName, Object key, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Cache.ValueWrapper hit = cache.get(key);
+        if (hit != null) {
+            return (T) hit.get();
+        }
+        T value = loader.get();
+        cache.put(key, value);
+        return value;
+    }
+
+    private Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return authentication != null ? authentication.getName() : null;
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user.getId() : null;
     }
 
     @Scheduled(cron = "0 0 3 * * ?") 
     public void deleteUnusedPastTimeSlots() {
-        LocalDate today = LocalDate.now();
-        List<TimeSlot> pastSlots = timeSlotRepository.findByDateBetween(LocalDate.of(1970, 1, 1), today.minusDays(1));
-        List<TimeSlot> deletable = pastSlots.stream()
-            .filter(slot -> !reservationRepository.existsBySlotId(slot.getId()))
-            .collect(Collectors.toList());
-        timeSlotRepository.deleteAll(deletable);
+        LocalDate today = LocalDate.now(clock);
+        timeSlotCleanupJob.purgeUnusedBefore(today);
+        timeSlotIntervalIndex.evictBefore(today);
+        roomAvailabilityIndex.evictBefore(today);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,265 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.reservation.Reservation;
+import com.workreserve.backend.reservation.ReservationRepository;
+import com.workreserve.backend.reservation.ReservationStatus;
+import com.workreserve.backend.room.DTO.RoomResponse;
+import com.workreserve.backend.room.RoomService;
+import com.workreserve.backend.room.RoomType;
+import com.workreserve.backend.timeslot.DTO.TimeSlotResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class TimeSlotViewAssembler {
+
+    // Keeps IN lists well below driver bind-parameter limits for very large ranges.
+    private static final int SLOT_ID_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private Clock clock;
+
+    public TimeSlotResponse toResponse(TimeSlot timeSlot, Long currentUserId) {
+        return forUser(toSharedResponse(timeSlot), currentUserId);
+    }
+
+    public List<TimeSlotResponse> toResponses(List<TimeSlot> timeSlots, Long currentUserId) {
+        return forUser(toSharedResponses(timeSlots), currentUserId);
+    }
+
+    // Shared responses hold only facts that do not depend on the caller or on the time of the
+    // request (the reserving user's id rather than bookedByCurrentUser, no past check), so they
+    // can be cached for long and served to everyone through forUser.
+    public TimeSlotResponse toSharedResponse(TimeSlot timeSlot) {
+        return toSharedResponses(List.of(timeSlot)).get(0);
+    }
+
+    public List<TimeSlotResponse> toSharedResponses(List<TimeSlot> timeSlots) {
+        if (timeSlots.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        LocalTime now = LocalTime.now(clock);
+
+        // Only booked slots need their reservation, and slots that have already ended never show
+        // one, so the lookup is limited to upcoming slots with an active reservation pointer.
+        // Seat-based slots have no single holder to show; their pointer only marks them full.
+        Set<Long> roomIds = new LinkedHashSet<>();
+        List<Long> bookedSlotIds = new ArrayList<>();
+        for (TimeSlot timeSlot : timeSlots) {
+            roomIds.add(timeSlot.getRoom().getId());
+            if (timeSlot.getActiveReservationId() != null && !isSeatBased(timeSlot.getRoom().getType())
+                    && !isPast(timeSlot.getDate(), timeSlot.getEndTime(), today, now)) {
+                bookedSlotIds.add(timeSlot.getId());
+            }
+        }
+
+        Map<Long, RoomResponse> rooms = roomService.getRoomsByIds(roomIds);
+        Map<Long, Reservation> activeReservations = loadActiveReservations(bookedSlotIds);
+
+        List<TimeSlotResponse> responses = new ArrayList<>(timeSlots.size());
+        for (TimeSlot timeSlot : timeSlots) {
+            responses.add(buildResponse(timeSlot, rooms.get(timeSlot.getRoom().getId()),
+                    activeReservations.get(timeSlot.getId())));
+        }
+        return responses;
+    }
+
+    // Virtual slots are free by definition and are appended after the stored ones.
+    List<TimeSlotResponse> toSharedResponses(List<TimeSlot> timeSlots, List<TimeSlotRuleService.VirtualSlot> virtualSlots) {
+        List<TimeSlotResponse> responses = toSharedResponses(timeSlots);
+        if (virtualSlots.isEmpty()) {
+            return responses;
+        }
+
+        Set<Long> roomIds = new LinkedHashSet<>();
+        for (TimeSlotRuleService.VirtualSlot virtualSlot : virtualSlots) {
+            roomIds.add(virtualSlot.roomId());
+        }
+        Map<Long, RoomResponse> rooms = roomService.getRoomsByIds(roomIds);
+        for (TimeSlotRuleService.VirtualSlot virtualSlot : virtualSlots) {
+            responses.add(toSharedResponse(virtualSlot, rooms.get(virtualSlot.roomId())));
+        }
+        return responses;
+    }
+
+    private TimeSlotResponse toSharedResponse(TimeSlotRuleService.VirtualSlot virtualSlot, RoomResponse room) {
+        TimeSlotResponse response = new TimeSlotResponse();
+        response.setId(virtualSlot.id());
+        response.setDate(virtualSlot.date());
+        response.setStartTime(virtualSlot.startTime());
+        response.setEndTime(virtualSlot.endTime());
+        response.setRoom(room);
+        response.setAvailable(true);
+        return response;
+    }
+
+    public List<TimeSlotResponse> forUser(List<TimeSlotResponse> shared, Long currentUserId) {
+        LocalDate today = LocalDate.now(clock);
+        LocalTime now = LocalTime.now(clock);
+        List<TimeSlotResponse> responses = new ArrayList<>(shared.size());
+        for (TimeSlotResponse response : shared) {
+            responses.add(forUser(response, currentUserId, today, now));
+        }
+        markOwnSeats(responses, currentUserId, today, now);
+        return responses;
+    }
+
+    public TimeSlotResponse forUser(TimeSlotResponse shared, Long currentUserId) {
+        return forUser(List.of(shared), currentUserId).get(0);
+    }
+
+    public List<TimeSlotResponse> fromSegments(List<TimeSlotDaySegment> segments, Long currentUserId,
+                                               boolean availableOnly) {
+        Set<Long> roomIds = new LinkedHashSet<>();
+        for (TimeSlotDaySegment segment : segments) {
+            if (segment.size() > 0) {
+                roomIds.add(segment.getRoomId());
+            }
+        }
+        if (roomIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        LocalTime now = LocalTime.now(clock);
+        Map<Long, RoomResponse> rooms = roomService.getRoomsByIds(roomIds);
+
+        List<TimeSlotResponse> responses = new ArrayList<>();
+        for (TimeSlotDaySegment segment : segments) {
+            for (int i = 0; i < segment.size(); i++) {
+                TimeSlotDaySegment.Booking booking = segment.booking(i);
+                if (availableOnly && booking != null) {
+                    continue;
+                }
+                TimeSlotResponse response = new TimeSlotResponse();
+                response.setId(segment.slotId(i));
+                response.setDate(segment.getDate());
+                response.setStartTime(segment.startTime(i));
+                response.setEndTime(segment.endTime(i));
+                response.setRoom(rooms.get(segment.getRoomId()));
+
+                if (isPast(segment.getDate(), segment.endTime(i), today, now)) {
+                    response.setAvailable(false);
+                } else if (booking != null) {
+                    response.setAvailable(false);
+                    response.setBookedByUserName(booking.userName());
+                    response.setBookedByUserId(booking.userId());
+                    response.setBookedByCurrentUser(currentUserId != null && currentUserId.equals(booking.userId()));
+                } else {
+                    response.setAvailable(true);
+                }
+                responses.add(response);
+            }
+        }
+        responses.sort(Comparator.comparing(TimeSlotResponse::getDate)
+                .thenComparing(TimeSlotResponse::getStartTime)
+                .thenComparing(response -> response.getRoom() != null ? response.getRoom().getId() : 0L)
+                .thenComparing(TimeSlotResponse::getId));
+        markOwnSeats(responses, currentUserId, today, now);
+        return responses;
+    }
+
+    private Map<Long, Reservation> loadActiveReservations(List<Long> slotIds) {
+        Map<Long, Reservation> bySlotId = new HashMap<>();
+        for (int from = 0; from < slotIds.size(); from += SLOT_ID_CHUNK_SIZE) {
+            List<Long> chunk = slotIds.subList(from, Math.min(from + SLOT_ID_CHUNK_SIZE, slotIds.size()));
+            for (Reservation reservation : reservationRepository.findActiveBySlotIdsWithUser(chunk)) {
+                bySlotId.putIfAbsent(reservation.getSlot().getId(), reservation);
+            }
+        }
+        return bySlotId;
+    }
+
+    // Seat-based slots are shared by several holders and only point at a reservation once full, so
+    // whether the caller holds a seat is looked up per caller instead of read from the pointer.
+    private void markOwnSeats(List<TimeSlotResponse> responses, Long currentUserId, LocalDate today, LocalTime now) {
+        if (currentUserId == null) {
+            return;
+        }
+        Map<Long, TimeSlotResponse> seatSlots = new HashMap<>();
+        for (TimeSlotResponse response : responses) {
+            if (response.getId() > 0 && response.getRoom() != null && isSeatBased(response.getRoom().getType())
+                    && !isPast(response.getDate(), response.getEndTime(), today, now)) {
+                seatSlots.put(response.getId(), response);
+            }
+        }
+        List<Long> slotIds = new ArrayList<>(seatSlots.keySet());
+        for (int from = 0; from < slotIds.size(); from += SLOT_ID_CHUNK_SIZE) {
+            List<Long> chunk = slotIds.subList(from, Math.min(from + SLOT_ID_CHUNK_SIZE, slotIds.size()));
+            for (Reservation reservation : reservationRepository.findByUserIdAndSlotIdIn(currentUserId, chunk)) {
+                if (reservation.getStatus() != ReservationStatus.CANCELLED) {
+                    seatSlots.get(reservation.getSlot().getId()).setBookedByCurrentUser(true);
+                }
+            }
+        }
+    }
+
+    private boolean isSeatBased(RoomType type) {
+        return type != null && type.isSeatBased();
+    }
+
+    private TimeSlotResponse buildResponse(TimeSlot timeSlot, RoomResponse room, Reservation activeReservation) {
+        TimeSlotResponse response = new TimeSlotResponse();
+        response.setId(timeSlot.getId());
+        response.setDate(timeSlot.getDate());
+        response.setStartTime(timeSlot.getStartTime());
+        response.setEndTime(timeSlot.getEndTime());
+        response.setRoom(room);
+
+        if (activeReservation != null) {
+            response.setAvailable(false);
+            response.setBookedByUserName(activeReservation.getUser().getFullName());
+            response.setBookedByUserId(activeReservation.getUser().getId());
+        } else if (isSeatBased(timeSlot.getRoom().getType())) {
+            response.setAvailable(timeSlot.getActiveReservationId() == null);
+        } else {
+            response.setAvailable(true);
+        }
+
+        return response;
+    }
+
+    private TimeSlotResponse forUser(TimeSlotResponse shared, Long currentUserId, LocalDate today, LocalTime now) {
+        TimeSlotResponse response = new TimeSlotResponse();
+        response.setId(shared.getId());
+        response.setDate(shared.getDate());
+        response.setStartTime(shared.getStartTime());
+        response.setEndTime(shared.getEndTime());
+        response.setRoom(shared.getRoom());
+
+        if (isPast(shared.getDate(), shared.getEndTime(), today, now)) {
+            response.setAvailable(false);
+            return response;
+        }
+
+        response.setAvailable(shared.isAvailable());
+        response.setBookedByUserName(shared.getBookedByUserName());
+        response.setBookedByUserId(shared.getBookedByUserId());
+        response.setBookedByCurrentUser(currentUserId != null && currentUserId.equals(shared.getBookedByUserId()));
+        return response;
+    }
+
+    // A slot counts as past from its end time on, so one that has just ended is never bookable.
+    private boolean isPast(LocalDate date, LocalTime endTime, LocalDate today, LocalTime now) {
+        return date.isBefore(today) || (date.isEqual(today) && !endTime.isAfter(now));
+    }
+}
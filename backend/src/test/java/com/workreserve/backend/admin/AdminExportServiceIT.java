@@ -0,0 +1,173 @@
+package com.workreserve.backend.admin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workreserve.backend.config.TestConfig;
+import com.workreserve.backend.reservation.Reservation;
+import com.workreserve.backend.reservation.ReservationRepository;
+import com.workreserve.backend.reservation.ReservationStatus;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.room.RoomType;
+import com.workreserve.backend.timeslot.TimeSlot;
+import com.workreserve.backend.timeslot.TimeSlotRepository;
+import com.workreserve.backend.user.Role;
+import com.workreserve.backend.user.User;
+import com.workreserve.backend.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class AdminExportServiceIT {
+
+    private static final LocalDate START = LocalDate.now().plusDays(300);
+    private static final int DAYS = 120;
+
+    @Autowired
+    private AdminExportService adminExportService;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        Room room = new Room();
+        room.setName("Export Room");
+        room.setType(RoomType.CONFERENCE_ROOM);
+        room.setPricePerHour(10.0);
+        room.setCapacity(4);
+        room.setImageUrls(new ArrayList<>());
+        room = roomRepository.save(room);
+
+        List<TimeSlot> slots = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            for (int hour = 8; hour < 18; hour++) {
+                TimeSlot slot = new TimeSlot();
+                slot.setRoom(room);
+                slot.setDate(START.plusDays(day));
+                slot.setStartTime(LocalTime.of(hour, 0));
+                slot.setEndTime(LocalTime.of(hour + 1, 0));
+                slots.add(slot);
+            }
+        }
+        slots = timeSlotRepository.saveAll(slots);
+
+        User user = new User();
+        user.setFullName("Export User");
+        user.setEmail("export@example.com");
+        user.setPassword("$2a$10$dummyhash");
+        user.setRole(Role.USER);
+        user.setTwoFactorEnabled(false);
+        user = userRepository.save(user);
+
+        reservation = new Reservation();
+        reservation.setSlot(slots.get(15));
+        reservation.setUser(user);
+        reservation.setTeamSize(2);
+        reservation.setTotalCost(10.0);
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        reservation = reservationRepository.save(reservation);
+        timeSlotRepository.markBooked(slots.get(15).getId(), reservation.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void exportTimeSlots_writesOneOrderedLinePerSlot() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        adminExportService.exportTimeSlots(START, START.plusDays(DAYS - 1)).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(DAYS * 10, lines.length);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(START.toString(), first.get("date").asText());
+        assertEquals("08:00", first.get("startTime").asText());
+        assertFalse(first.get("booked").asBoolean());
+
+        JsonNode booked = objectMapper.readTree(lines[15]);
+        assertTrue(booked.get("booked").asBoolean());
+        assertEquals(reservation.getId(), booked.get("reservationId").asLong());
+
+        JsonNode last = objectMapper.readTree(lines[lines.length - 1]);
+        assertEquals(START.plusDays(DAYS - 1).toString(), last.get("date").asText());
+        assertEquals("17:00", last.get("startTime").asText());
+    }
+
+    @Test
+    void exportReservations_includesSlotAndUser() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        adminExportService.exportReservations(START, START.plusDays(DAYS - 1)).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        JsonNode line = objectMapper.readTree(lines[0]);
+        assertEquals(reservation.getId(), line.get("id").asLong());
+        assertEquals("export@example.com", line.get("userEmail").asText());
+        assertEquals("CONFIRMED", line.get("status").asText());
+        assertEquals(START.plusDays(1).toString(), line.get("date").asText());
+    }
+
+    @Test
+    void exportTimeSlots_stopsWhenClientDisconnects() {
+        OutputStream disconnecting = new OutputStream() {
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (++written > 10_000) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        assertThrows(IOException.class,
+                () -> adminExportService.exportTimeSlots(START, START.plusDays(DAYS - 1)).writeTo(disconnecting));
+        // The aborted export released its connection and transaction.
+        assertEquals(DAYS * 10, timeSlotRepository.findByDateBetween(START, START.plusDays(DAYS - 1)).size());
+    }
+
+    private void cleanUp() {
+        reservationRepository.deleteAll();
+        timeSlotRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.findByEmail("export@example.com").ifPresent(userRepository::delete);
+    }
+}
@@ -0,0 +1,147 @@
+package com.workreserve.backend.config;
+
+import com.workreserve.backend.exception.ValidationException;
+import com.workreserve.backend.reservation.DTO.ReservationRequest;
+import com.workreserve.backend.reservation.DTO.ReservationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class IdempotencyServiceIT {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        executions = new AtomicInteger();
+        jdbcTemplate.update("DELETE FROM idempotent_responses");
+        cacheManager.getCache(IdempotencyService.CACHE_NAME).clear();
+    }
+
+    @Test
+    void execute_replaysStoredResponseWithoutRunningAgain() {
+        String key = UUID.randomUUID().toString();
+
+        ResponseEntity<ReservationResponse> first = execute(key, request(5L), () -> reservation(41L));
+        ResponseEntity<ReservationResponse> retry = execute(key, request(5L), () -> reservation(42L));
+
+        assertEquals(1, executions.get());
+        assertEquals(41L, retry.getBody().getId());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+
+        // Another node, or this one after a restart, answers from the database.
+        cacheManager.getCache(IdempotencyService.CACHE_NAME).clear();
+        assertEquals(41L, execute(key, request(5L), () -> reservation(43L)).getBody().getId());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_rejectsKeyReusedForDifferentRequest() {
+        String key = UUID.randomUUID().toString();
+        execute(key, request(5L), () -> reservation(41L));
+
+        assertThrows(ValidationException.class, () -> execute(key, request(6L), () -> reservation(42L)));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_runsAgainAfterFailure() {
+        String key = UUID.randomUUID().toString();
+
+        assertThrows(IllegalStateException.class, () -> execute(key, request(5L), () -> {
+            throw new IllegalStateException("Stripe unavailable");
+        }));
+        assertEquals(44L, execute(key, request(5L), () -> reservation(44L)).getBody().getId());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void execute_concurrentDuplicatesWaitForInFlightExecution() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<ResponseEntity<ReservationResponse>> first = executor.submit(() -> execute(key, request(5L), () -> {
+                started.countDown();
+                await(release);
+                return reservation(41L);
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Future<ResponseEntity<ReservationResponse>> second = executor.submit(() -> execute(key, request(5L), () -> reservation(42L)));
+            Future<ResponseEntity<ReservationResponse>> third = executor.submit(() -> execute(key, request(5L), () -> reservation(43L)));
+            Thread.sleep(200);
+            assertFalse(second.isDone());
+            release.countDown();
+
+            assertEquals(41L, first.get(5, TimeUnit.SECONDS).getBody().getId());
+            assertEquals(41L, second.get(5, TimeUnit.SECONDS).getBody().getId());
+            assertEquals(41L, third.get(5, TimeUnit.SECONDS).getBody().getId());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<ReservationResponse> execute(String key, ReservationRequest request,
+                                                        Supplier<ReservationResponse> action) {
+        return idempotencyService.execute(key, "test", request, ReservationResponse.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok(action.get());
+        });
+    }
+
+    private static ReservationRequest request(Long slotId) {
+        ReservationRequest request = new ReservationRequest();
+        request.setSlotId(slotId);
+        request.setTeamSize(2);
+        return request;
+    }
+
+    private static ReservationResponse reservation(Long id) {
+        ReservationResponse response = new ReservationResponse();
+        response.setId(id);
+        response.setSlotId(5L);
+        response.setTeamSize(2);
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
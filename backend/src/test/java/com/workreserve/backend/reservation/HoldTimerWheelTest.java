@@ -0,0 +1,50 @@
+package com.workreserve.backend.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldTimerWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void advance_returnsHoldsOnlyOnceTheyAreDue() {
+        HoldTimerWheel wheel = new HoldTimerWheel(100, 8, START);
+        wheel.schedule(1L, START + 250);
+        wheel.schedule(2L, START + 300);
+        wheel.schedule(3L, START + 100 * 8 * 3 + 50);
+
+        assertEquals(List.of(), wheel.advance(START + 250));
+        assertEquals(List.of(1L, 2L), wheel.advance(START + 300));
+        // Hold 3 shares a bucket with earlier ticks but is three turns away.
+        assertEquals(List.of(), wheel.advance(START + 100 * 8 * 3));
+        assertEquals(List.of(3L), wheel.advance(START + 100 * 8 * 3 + 100));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_catchesUpAfterLongPause() {
+        HoldTimerWheel wheel = new HoldTimerWheel(100, 8, START);
+        for (long id = 1; id <= 20; id++) {
+            wheel.schedule(id, START + id * 70);
+        }
+        wheel.schedule(99L, START + 100_000);
+
+        List<Long> due = wheel.advance(START + 20 * 70);
+
+        assertEquals(20, due.size());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void schedule_firesPastDeadlinesOnNextTick() {
+        HoldTimerWheel wheel = new HoldTimerWheel(100, 8, START);
+        wheel.advance(START + 500);
+        wheel.schedule(7L, START);
+
+        assertEquals(List.of(7L), wheel.advance(START + 600));
+    }
+}
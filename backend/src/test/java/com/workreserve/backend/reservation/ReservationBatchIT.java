@@ -0,0 +1,242 @@
+package com.workreserve.backend.reservation;
+
+import com.workreserve.backend.activity.ActivityRepository;
+import com.workreserve.backend.config.TestConfig;
+import com.workreserve.backend.exception.ConflictException;
+import com.workreserve.backend.exception.ValidationException;
+import com.workreserve.backend.reservation.DTO.BatchReservationRequest;
+import com.workreserve.backend.reservation.DTO.BatchReservationResponse;
+import com.workreserve.backend.reservation.DTO.ReservationRequest;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.room.RoomType;
+import com.workreserve.backend.timeslot.TimeSlot;
+import com.workreserve.backend.timeslot.TimeSlotRepository;
+import com.workreserve.backend.user.Role;
+import com.workreserve.backend.user.User;
+import com.workreserve.backend.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class ReservationBatchIT {
+
+    private static final int SLOTS_PER_DAY = 10;
+    private static final int DAYS = 20;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    private Room room;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        room = new Room();
+        room.setName("Batch Room");
+        room.setType(RoomType.CONFERENCE_ROOM);
+        room.setPricePerHour(30.0);
+        room.setCapacity(8);
+        room.setImageUrls(new ArrayList<>());
+        room = roomRepository.save(room);
+
+        user = new User();
+        user.setFullName("Batch Booker");
+        user.setEmail("batch@example.com");
+        user.setPassword("$2a$10$dummyhash");
+        user.setRole(Role.USER);
+        user.setTwoFactorEnabled(false);
+        user = userRepository.save(user);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        cleanUp();
+    }
+
+    @Test
+    void createReservations_booksEverySlot() {
+        List<TimeSlot> slots = day(room, 0);
+
+        BatchReservationResponse response = reservationService.createReservations(request(slots, 4));
+
+        assertEquals(SLOTS_PER_DAY, response.getReservations().size());
+        assertEquals(SLOTS_PER_DAY * 30.0, response.getTotalCost(), 0.001);
+        for (int i = 0; i < slots.size(); i++) {
+            assertEquals(slots.get(i).getId(), response.getReservations().get(i).getSlotId());
+            assertEquals(response.getReservations().get(i).getId(),
+                    timeSlotRepository.findById(slots.get(i).getId()).orElseThrow().getActiveReservationId());
+        }
+        assertEquals(1, activityRepository.count());
+    }
+
+    @Test
+    void createReservations_booksNothingWhenOneSlotIsTaken() {
+        List<TimeSlot> slots = day(room, 0);
+        ReservationRequest single = new ReservationRequest();
+        single.setSlotId(slots.get(5).getId());
+        single.setTeamSize(2);
+        reservationService.createReservation(single);
+
+        assertThrows(ConflictException.class, () -> reservationService.createReservations(request(slots, 2)));
+
+        assertEquals(1, reservationRepository.count());
+        for (TimeSlot slot : slots) {
+            TimeSlot stored = timeSlotRepository.findById(slot.getId()).orElseThrow();
+            assertEquals(slot == slots.get(5), stored.getActiveReservationId() != null);
+        }
+    }
+
+    @Test
+    void createReservations_booksNothingWhenSeatsRunOut() {
+        Room desks = new Room();
+        desks.setName("Batch Desks");
+        desks.setType(RoomType.HOT_DESK);
+        desks.setPricePerHour(5.0);
+        desks.setCapacity(4);
+        desks.setImageUrls(new ArrayList<>());
+        desks = roomRepository.save(desks);
+        List<TimeSlot> slots = day(desks, 0);
+        ReservationRequest single = new ReservationRequest();
+        single.setSlotId(slots.get(3).getId());
+        single.setTeamSize(3);
+        reservationService.createReservation(single);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("other@example.com", null, List.of()));
+        User other = new User();
+        other.setFullName("Other Booker");
+        other.setEmail("other@example.com");
+        other.setPassword("$2a$10$dummyhash");
+        other.setRole(Role.USER);
+        other.setTwoFactorEnabled(false);
+        userRepository.save(other);
+
+        assertThrows(ConflictException.class, () -> reservationService.createReservations(request(slots, 2)));
+
+        assertEquals(1, reservationRepository.count());
+        for (TimeSlot slot : slots) {
+            int expected = slot == slots.get(3) ? 3 : 0;
+            assertEquals(expected, timeSlotRepository.findById(slot.getId()).orElseThrow().getSeatsTaken());
+        }
+    }
+
+    @Test
+    void createReservations_rejectsRepeatedSlot() {
+        List<TimeSlot> slots = day(room, 0);
+        List<TimeSlot> repeated = List.of(slots.get(0), slots.get(1), slots.get(0));
+
+        assertThrows(ValidationException.class, () -> reservationService.createReservations(request(repeated, 2)));
+        assertEquals(0, reservationRepository.count());
+    }
+
+    @Test
+    void benchmark_batchAgainstSingleBookings() {
+        List<List<TimeSlot>> days = new ArrayList<>();
+        for (int d = 0; d < DAYS; d++) {
+            days.add(day(room, d));
+        }
+
+        // Warm up both paths on their own days so neither pays for class loading and JIT alone.
+        bookOneByOne(days.get(0));
+        reservationService.createReservations(request(days.get(1), 2));
+
+        long singleNanos = 0;
+        long batchNanos = 0;
+        for (int d = 2; d < DAYS; d += 2) {
+            long started = System.nanoTime();
+            bookOneByOne(days.get(d));
+            singleNanos += System.nanoTime() - started;
+
+            started = System.nanoTime();
+            reservationService.createReservations(request(days.get(d + 1), 2));
+            batchNanos += System.nanoTime() - started;
+        }
+
+        assertEquals((long) DAYS * SLOTS_PER_DAY, reservationRepository.count());
+        int measuredDays = (DAYS - 2) / 2;
+        System.out.printf("Booking a day of %d slots, %d days each: one by one %.2f ms/day, batch %.2f ms/day (%.1fx)%n",
+                SLOTS_PER_DAY, measuredDays,
+                TimeUnit.NANOSECONDS.toMicros(singleNanos) / 1000.0 / measuredDays,
+                TimeUnit.NANOSECONDS.toMicros(batchNanos) / 1000.0 / measuredDays,
+                (double) singleNanos / Math.max(1, batchNanos));
+    }
+
+    private void bookOneByOne(List<TimeSlot> slots) {
+        for (TimeSlot slot : slots) {
+            ReservationRequest request = new ReservationRequest();
+            request.setSlotId(slot.getId());
+            request.setTeamSize(2);
+            reservationService.createReservation(request);
+        }
+    }
+
+    private List<TimeSlot> day(Room room, int offset) {
+        List<TimeSlot> slots = new ArrayList<>();
+        LocalDate date = LocalDate.now().plusDays(3 + offset);
+        for (int i = 0; i < SLOTS_PER_DAY; i++) {
+            TimeSlot slot = new TimeSlot();
+            slot.setRoom(room);
+            slot.setDate(date);
+            slot.setStartTime(LocalTime.of(8 + i, 0));
+            slot.setEndTime(LocalTime.of(9 + i, 0));
+            slots.add(timeSlotRepository.save(slot));
+        }
+        return slots;
+    }
+
+    private static BatchReservationRequest request(List<TimeSlot> slots, int teamSize) {
+        BatchReservationRequest request = new BatchReservationRequest();
+        request.setSlotIds(slots.stream().map(TimeSlot::getId).toList());
+        request.setTeamSize(teamSize);
+        return request;
+    }
+
+    private void cleanUp() {
+        activityRepository.deleteAll();
+        reservationRepository.deleteAll();
+        timeSlotRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.findAll().stream()
+                .filter(user -> user.getEmail().equals("batch@example.com") || user.getEmail().equals("other@example.com"))
+                .forEach(userRepository::delete);
+    }
+}
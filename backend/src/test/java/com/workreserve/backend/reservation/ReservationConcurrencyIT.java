@@ -0,0 +1,257 @@
+package com.workreserve.backend.reservation;
+
+import com.workreserve.backend.activity.ActivityRepository;
+import com.workreserve.backend.config.TestConfig;
+import com.workreserve.backend.exception.ConflictException;
+import com.workreserve.backend.reservation.DTO.ReservationRequest;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.room.RoomType;
+import com.workreserve.backend.timeslot.TimeSlot;
+import com.workreserve.backend.timeslot.TimeSlotRepository;
+import com.workreserve.backend.user.Role;
+import com.workreserve.backend.user.User;
+import com.workreserve.backend.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class ReservationConcurrencyIT {
+
+    private static final int SLOTS = 40;
+    private static final int USERS = 100;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    private List<TimeSlot> slots;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        Room room = new Room();
+        room.setName("Hot Room");
+        room.setType(RoomType.CONFERENCE_ROOM);
+        room.setPricePerHour(30.0);
+        room.setCapacity(8);
+        room.setImageUrls(new ArrayList<>());
+        room = roomRepository.save(room);
+
+        slots = new ArrayList<>();
+        LocalDate day = LocalDate.now().plusDays(3);
+        for (int i = 0; i < SLOTS; i++) {
+            TimeSlot slot = new TimeSlot();
+            slot.setRoom(room);
+            slot.setDate(day.plusDays(i / 10));
+            slot.setStartTime(LocalTime.of(8 + i % 10, 0));
+            slot.setEndTime(LocalTime.of(9 + i % 10, 0));
+            slots.add(timeSlotRepository.save(slot));
+        }
+
+        users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setFullName("Racer " + i);
+            user.setEmail("racer" + i + "@example.com");
+            user.setPassword("$2a$10$dummyhash");
+            user.setRole(Role.USER);
+            user.setTwoFactorEnabled(false);
+            users.add(userRepository.save(user));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void concurrentBookings_leaveExactlyOneActiveReservationPerSlot() throws Exception {
+        // Every user tries every slot once, in an order that mixes contended and unrelated slots.
+        List<Runnable> attempts = new ArrayList<>();
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        for (User user : users) {
+            for (TimeSlot slot : slots) {
+                attempts.add(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+                    ReservationRequest request = new ReservationRequest();
+                    request.setSlotId(slot.getId());
+                    request.setTeamSize(2);
+                    try {
+                        reservationService.createReservation(request);
+                        booked.incrementAndGet();
+                    } catch (ConflictException e) {
+                        conflicts.incrementAndGet();
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                });
+            }
+        }
+        Collections.shuffle(attempts, new Random(7));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        attempts.forEach(executor::execute);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failure: " + unexpected.peek());
+        assertEquals(SLOTS, booked.get());
+        assertEquals(attempts.size() - SLOTS, conflicts.get());
+
+        Map<Long, List<Reservation>> activeBySlot = reservationRepository.findAll().stream()
+                .filter(reservation -> reservation.getStatus() != ReservationStatus.CANCELLED)
+                .collect(Collectors.groupingBy(reservation -> reservation.getSlot().getId()));
+        for (TimeSlot slot : slots) {
+            List<Reservation> active = activeBySlot.get(slot.getId());
+            assertNotNull(active, "Slot " + slot.getId() + " was never booked");
+            assertEquals(1, active.size(), "Slot " + slot.getId() + " is double-booked");
+            assertEquals(active.get(0).getId(),
+                    timeSlotRepository.findById(slot.getId()).orElseThrow().getActiveReservationId());
+        }
+
+        System.out.printf("%d concurrent bookings of %d slots on %d threads: %d booked, %d conflicts in %d ms (%.0f attempts/s)%n",
+                attempts.size(), SLOTS, THREADS, booked.get(), conflicts.get(), elapsedMillis,
+                attempts.size() * 1000.0 / Math.max(1, elapsedMillis));
+    }
+
+    @Test
+    void concurrentSeatBookings_neverOversellASlot() throws Exception {
+        Room desks = new Room();
+        desks.setName("Hot Desks");
+        desks.setType(RoomType.HOT_DESK);
+        desks.setPricePerHour(5.0);
+        desks.setCapacity(50);
+        desks.setImageUrls(new ArrayList<>());
+        desks = roomRepository.save(desks);
+
+        List<TimeSlot> seatSlots = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            TimeSlot slot = new TimeSlot();
+            slot.setRoom(desks);
+            slot.setDate(LocalDate.now().plusDays(5));
+            slot.setStartTime(LocalTime.of(8 + i, 0));
+            slot.setEndTime(LocalTime.of(9 + i, 0));
+            seatSlots.add(timeSlotRepository.save(slot));
+        }
+
+        // Team sizes of 1 to 3 from 100 users ask for about 200 seats of each 50-seat slot.
+        List<Runnable> attempts = new ArrayList<>();
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        for (int u = 0; u < users.size(); u++) {
+            User user = users.get(u);
+            int teamSize = 1 + u % 3;
+            for (TimeSlot slot : seatSlots) {
+                attempts.add(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+                    ReservationRequest request = new ReservationRequest();
+                    request.setSlotId(slot.getId());
+                    request.setTeamSize(teamSize);
+                    try {
+                        reservationService.createReservation(request);
+                        booked.incrementAndGet();
+                    } catch (ConflictException e) {
+                        conflicts.incrementAndGet();
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                });
+            }
+        }
+        Collections.shuffle(attempts, new Random(11));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        attempts.forEach(executor::execute);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failure: " + unexpected.peek());
+        assertEquals(attempts.size(), booked.get() + conflicts.get());
+
+        Map<Long, Integer> seatsBySlot = reservationRepository.findAll().stream()
+                .filter(reservation -> reservation.getStatus() != ReservationStatus.CANCELLED)
+                .collect(Collectors.groupingBy(reservation -> reservation.getSlot().getId(),
+                        Collectors.summingInt(Reservation::getTeamSize)));
+        for (TimeSlot slot : seatSlots) {
+            int seats = seatsBySlot.getOrDefault(slot.getId(), 0);
+            TimeSlot stored = timeSlotRepository.findById(slot.getId()).orElseThrow();
+            assertTrue(seats <= 50, "Slot " + slot.getId() + " sold " + seats + " of 50 seats");
+            // Every request asks for at most 3 seats, so a slot stops selling only within 2 seats of full.
+            assertTrue(seats >= 48, "Slot " + slot.getId() + " sold only " + seats + " of 50 seats");
+            assertEquals(seats, stored.getSeatsTaken());
+            assertEquals(seats == 50, stored.getActiveReservationId() != null);
+        }
+
+        System.out.printf("%d concurrent seat bookings of %d slots on %d threads: %d booked, %d conflicts in %d ms (%.0f attempts/s)%n",
+                attempts.size(), seatSlots.size(), THREADS, booked.get(), conflicts.get(), elapsedMillis,
+                attempts.size() * 1000.0 / Math.max(1, elapsedMillis));
+    }
+
+    private void cleanUp() {
+        activityRepository.deleteAll();
+        reservationRepository.deleteAll();
+        timeSlotRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.findAll().stream()
+                .filter(user -> user.getEmail().startsWith("racer"))
+                .forEach(userRepository::delete);
+    }
+}
@@ -29,6 +29,7 @@ import jakarta.persistence.PersistenceContext;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -83,35 +84,8 @@ class ReservationControllerIT {
             System.out.println("Cleanup warning: " + e.getMessage());
         }
 
-        User user = new User();
-        user.setFullName("Res User");
-        user.setEmail("resuser@example.com");
-        user.setPassword("$2a$10$dummyhash");
-        user.setRole(Role.USER);
-        user.setEnabled(true);
-        user.setLocked(false);
-        user.setBanned(false);
-        user.setEmailVerified(true);
-        user.setTwoFactorEnabled(false);
-        user.setFailedLoginAttempts(0);
-        userRepository.save(user);
-        userId = user.getId();
-
-        Room room = new Room();
-        room.setName("Res Room");
-        room.setType(RoomType.HOT_DESK);
-        room.setPricePerHour(10.0);
-        room.setCapacity(5);
-        room.setDescription("Test reservation room");
-        roomRepository.save(room);
-
-        TimeSlot slot = new TimeSlot();
-        slot.setDate(LocalDate.now().plusDays(1));
-        slot.setStartTime(LocalTime.of(9, 0));
-        slot.setEndTime(LocalTime.of(10, 0));
-        slot.setRoom(room);
-        timeSlotRepository.save(slot);
-        slotId = slot.getId();
+        userId = saveUser("Res User", "resuser@example.com").getId();
+        slotId = saveSlot("Res Room", RoomType.HOT_DESK, 5).getId();
     }
 
     @Test
@@ -159,13 +133,25 @@ class ReservationControllerIT {
     }
 
     @Test
-    @WithMockUser(username = "resuser@example.com", roles = "USER")
     void getUserReservations_shouldReturnOk() throws Exception {
-        mockMvc.perform(get("/api/reservations/user"))
+        mockMvc.perform(get("/api/reservations/user").with(user(resUser())))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
     }
 
+    @Test
+    void getUserReservations_shouldReturnNotModified_whenETagMatches() throws Exception {
+        User user = resUser();
+        String etag = mockMvc.perform(get("/api/reservations/user").with(user(user)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/reservations/user").with(user(user)).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @WithMockUser(username = "resuser@example.com", roles = "USER")
     void getReservationById_shouldReturnBadRequest_whenNotFound() throws Exception {
@@ -271,16 +257,18 @@ class ReservationControllerIT {
     @Test
     @WithMockUser(username = "resuser@example.com", roles = "USER")
     void createReservation_shouldReturnBadRequest_whenSlotAlreadyReserved() throws Exception {
+        // The fixture room is a hot desk, which takes several bookings; a conference room takes one.
+        TimeSlot conferenceSlot = saveSlot("Conference Room", RoomType.CONFERENCE_ROOM, 5);
         Reservation existingReservation = new Reservation();
-        existingReservation.setUser(userRepository.findById(userId).orElseThrow());
-        existingReservation.setSlot(timeSlotRepository.findById(slotId).orElseThrow());
+        existingReservation.setUser(saveUser("Other User", "other@example.com"));
+        existingReservation.setSlot(conferenceSlot);
         existingReservation.setTeamSize(2);
         existingReservation.setTotalCost(10.0);
         existingReservation.setStatus(ReservationStatus.CONFIRMED);
         reservationRepository.save(existingReservation);
 
         ReservationRequest req = new ReservationRequest();
-        req.setSlotId(slotId);
+        req.setSlotId(conferenceSlot.getId());
         req.setTeamSize(2);
 
         mockMvc.perform(post("/api/reservations")
@@ -290,6 +278,29 @@ class ReservationControllerIT {
                 .andExpect(jsonPath("$.error").value("Time slot already reserved"));
     }
 
+    @Test
+    @WithMockUser(username = "resuser@example.com", roles = "USER")
+    void createReservation_shouldReturnBadRequest_whenSeatBasedSlotIsFull() throws Exception {
+        Reservation existingReservation = new Reservation();
+        existingReservation.setUser(saveUser("Other User", "other@example.com"));
+        existingReservation.setSlot(timeSlotRepository.findById(slotId).orElseThrow());
+        existingReservation.setTeamSize(5);
+        existingReservation.setTotalCost(10.0);
+        existingReservation.setStatus(ReservationStatus.CONFIRMED);
+        reservationRepository.save(existingReservation);
+        timeSlotRepository.takeSeats(slotId, existingReservation.getId(), 5);
+
+        ReservationRequest req = new ReservationRequest();
+        req.setSlotId(slotId);
+        req.setTeamSize(1);
+
+        mockMvc.perform(post("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Not enough seats left in this time slot"));
+    }
+
     @Test
     @WithMockUser(username = "resuser@example.com", roles = "USER")
     void getReservationBySlotId_shouldReturnOk() throws Exception {
@@ -313,4 +324,41 @@ class ReservationControllerIT {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Reservation not found for this slot and user"));
     }
-}
\ No newline at end of file
+
+    private User saveUser(String fullName, String email) {
+        User user = new User();
+        user.setFullName(fullName);
+        user.setEmail(email);
+        user.setPassword("$2a$10$dummyhash");
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+        user.setLocked(false);
+        user.setBanned(false);
+        user.setEmailVerified(true);
+        user.setTwoFactorEnabled(false);
+        user.setFailedLoginAttempts(0);
+        return userRepository.save(user);
+    }
+
+    private TimeSlot saveSlot(String roomName, RoomType type, int capacity) {
+        Room room = new Room();
+        room.setName(roomName);
+        room.setType(type);
+        room.setPricePerHour(10.0);
+        room.setCapacity(capacity);
+        room.setDescription("Test reservation room");
+        roomRepository.save(room);
+
+        TimeSlot slot = new TimeSlot();
+        slot.setDate(LocalDate.now().plusDays(1));
+        slot.setStartTime(LocalTime.of(9, 0));
+        slot.setEndTime(LocalTime.of(10, 0));
+        slot.setRoom(room);
+        return timeSlotRepository.save(slot);
+    }
+
+    // JwtAuthFilter puts the User entity itself in the principal.
+    private User resUser() {
+        return userRepository.findById(userId).orElseThrow();
+    }
+}
@@ -0,0 +1,240 @@
+package com.workreserve.backend.reservation;
+
+import com.workreserve.backend.activity.ActivityRepository;
+import com.workreserve.backend.config.TestConfig;
+import com.workreserve.backend.exception.ValidationException;
+import com.workreserve.backend.reservation.DTO.RecurringReservationRequest;
+import com.workreserve.backend.reservation.DTO.RecurringReservationResponse;
+import com.workreserve.backend.reservation.DTO.RecurringReservationResponse.OccurrenceStatus;
+import com.workreserve.backend.reservation.DTO.ReservationRequest;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.room.RoomType;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotRuleRequest;
+import com.workreserve.backend.timeslot.TimeSlot;
+import com.workreserve.backend.timeslot.TimeSlotRepository;
+import com.workreserve.backend.timeslot.TimeSlotRuleRepository;
+import com.workreserve.backend.timeslot.TimeSlotRuleService;
+import com.workreserve.backend.user.Role;
+import com.workreserve.backend.user.User;
+import com.workreserve.backend.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class ReservationRecurringIT {
+
+    private static final int WEEKS = 8;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private TimeSlotRuleRepository timeSlotRuleRepository;
+
+    @Autowired
+    private TimeSlotRuleService timeSlotRuleService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    private Room room;
+    private User user;
+    private User other;
+    private LocalDate firstTuesday;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        room = room("Series Room");
+        user = user("series@example.com");
+        other = user("series-other@example.com");
+        firstTuesday = LocalDate.now().plusDays(3).with(TemporalAdjusters.nextOrSame(DayOfWeek.TUESDAY));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        cleanUp();
+    }
+
+    @Test
+    void createRecurringReservations_booksFreeOccurrencesAndReportsTheRest() {
+        List<List<TimeSlot>> weeks = new ArrayList<>();
+        for (int week = 0; week < WEEKS; week++) {
+            // The fifth Tuesday ends at 11:00, so 10:00-12:00 cannot be booked that day.
+            weeks.add(slots(firstTuesday.plusWeeks(week), week == 4 ? 11 : 13));
+        }
+        // Someone else holds 11:00-12:00 on the third Tuesday.
+        authenticate(other);
+        ReservationRequest taken = new ReservationRequest();
+        taken.setSlotId(weeks.get(2).get(2).getId());
+        taken.setTeamSize(2);
+        reservationService.createReservation(taken);
+
+        authenticate(user);
+        RecurringReservationResponse response = reservationService.createRecurringReservations(series(room));
+
+        assertEquals(WEEKS, response.getOccurrences().size());
+        assertEquals(WEEKS - 2, response.getBooked());
+        assertEquals(1, response.getConflicts());
+        assertEquals(1, response.getUnavailable());
+        assertEquals((WEEKS - 2) * 2 * 30.0, response.getTotalCost(), 0.001);
+        for (int week = 0; week < WEEKS; week++) {
+            RecurringReservationResponse.Occurrence occurrence = response.getOccurrences().get(week);
+            assertEquals(firstTuesday.plusWeeks(week), occurrence.getDate());
+            OccurrenceStatus expected = week == 2 ? OccurrenceStatus.CONFLICT
+                    : week == 4 ? OccurrenceStatus.UNAVAILABLE : OccurrenceStatus.BOOKED;
+            assertEquals(expected, occurrence.getStatus());
+            assertEquals(expected == OccurrenceStatus.BOOKED ? 2 : 0, occurrence.getReservations().size());
+
+            // Only the 10:00 and 11:00 slots of booked Tuesdays are taken by the series.
+            List<TimeSlot> slots = weeks.get(week);
+            assertNull(stored(slots.get(0)).getActiveReservationId());
+            assertEquals(expected == OccurrenceStatus.BOOKED, stored(slots.get(1)).getActiveReservationId() != null);
+        }
+        assertEquals((WEEKS - 2) * 2 + 1, reservationRepository.count());
+
+        // Booking the same series again conflicts with the user's own reservations and books nothing.
+        RecurringReservationResponse again = reservationService.createRecurringReservations(series(room));
+        assertEquals(0, again.getBooked());
+        assertEquals(WEEKS - 1, again.getConflicts());
+        assertEquals((WEEKS - 2) * 2 + 1, reservationRepository.count());
+    }
+
+    @Test
+    void createRecurringReservations_materializesRuleOccurrences() {
+        Room ruleRoom = room("Rule Series Room");
+        TimeSlotRuleRequest rule = new TimeSlotRuleRequest();
+        rule.setRoomId(ruleRoom.getId());
+        rule.setWeekDays(List.of(DayOfWeek.TUESDAY.getValue()));
+        rule.setTimeSlots(List.of(template("10:00", "12:00"), template("14:00", "15:00")));
+        rule.setValidFrom(firstTuesday);
+        rule.setValidUntil(firstTuesday.plusWeeks(WEEKS - 1));
+        timeSlotRuleService.createRule(rule);
+
+        authenticate(user);
+        RecurringReservationResponse response = reservationService.createRecurringReservations(series(ruleRoom));
+
+        assertEquals(WEEKS, response.getBooked());
+        assertEquals(WEEKS, timeSlotRepository.findByRoomId(ruleRoom.getId()).size());
+        assertTrue(response.getOccurrences().stream()
+                .flatMap(occurrence -> occurrence.getReservations().stream())
+                .allMatch(reservation -> reservation.getSlotId() > 0));
+    }
+
+    @Test
+    void createRecurringReservations_rejectsSeriesLongerThanAYear() {
+        authenticate(user);
+        RecurringReservationRequest request = series(room);
+        request.setEndDate(firstTuesday.plusDays(RecurringReservationRequest.MAX_DAYS));
+
+        assertThrows(ValidationException.class, () -> reservationService.createRecurringReservations(request));
+    }
+
+    private RecurringReservationRequest series(Room room) {
+        RecurringReservationRequest request = new RecurringReservationRequest();
+        request.setRoomId(room.getId());
+        request.setWeekDay(DayOfWeek.TUESDAY.getValue());
+        request.setStartTime(LocalTime.of(10, 0));
+        request.setEndTime(LocalTime.of(12, 0));
+        request.setStartDate(firstTuesday);
+        request.setEndDate(firstTuesday.plusWeeks(WEEKS - 1));
+        request.setTeamSize(4);
+        return request;
+    }
+
+    // Hourly slots from 9:00 until the given hour.
+    private List<TimeSlot> slots(LocalDate date, int untilHour) {
+        List<TimeSlot> slots = new ArrayList<>();
+        for (int hour = 9; hour < untilHour; hour++) {
+            TimeSlot slot = new TimeSlot();
+            slot.setRoom(room);
+            slot.setDate(date);
+            slot.setStartTime(LocalTime.of(hour, 0));
+            slot.setEndTime(LocalTime.of(hour + 1, 0));
+            slots.add(timeSlotRepository.save(slot));
+        }
+        return slots;
+    }
+
+    private TimeSlot stored(TimeSlot slot) {
+        return timeSlotRepository.findById(slot.getId()).orElseThrow();
+    }
+
+    private Room room(String name) {
+        Room room = new Room();
+        room.setName(name);
+        room.setType(RoomType.CONFERENCE_ROOM);
+        room.setPricePerHour(30.0);
+        room.setCapacity(8);
+        room.setImageUrls(new ArrayList<>());
+        return roomRepository.save(room);
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setFullName("Series Booker");
+        user.setEmail(email);
+        user.setPassword("$2a$10$dummyhash");
+        user.setRole(Role.USER);
+        user.setTwoFactorEnabled(false);
+        return userRepository.save(user);
+    }
+
+    private static TimeSlotGenerationRequest.TimeSlotTemplate template(String startTime, String endTime) {
+        TimeSlotGenerationRequest.TimeSlotTemplate template = new TimeSlotGenerationRequest.TimeSlotTemplate();
+        template.setStartTime(startTime);
+        template.setEndTime(endTime);
+        return template;
+    }
+
+    private static void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+    }
+
+    private void cleanUp() {
+        activityRepository.deleteAll();
+        reservationRepository.deleteAll();
+        timeSlotRepository.deleteAll();
+        timeSlotRuleRepository.deleteAll();
+        timeSlotRuleService.refresh();
+        roomRepository.deleteAll();
+        userRepository.findAll().stream()
+                .filter(user -> user.getEmail().startsWith("series"))
+                .forEach(userRepository::delete);
+    }
+}
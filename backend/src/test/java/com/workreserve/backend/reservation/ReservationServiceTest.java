@@ -9,7 +9,10 @@ import com.workreserve.backend.reservation.DTO.ReservationResponse;
 import com.workreserve.backend.room.Room;
 import com.workreserve.backend.room.RoomType;
 import com.workreserve.backend.timeslot.TimeSlot;
+import com.workreserve.backend.timeslot.TimeSlotChangeEvent;
+import com.workreserve.backend.timeslot.TimeSlotChangeType;
 import com.workreserve.backend.timeslot.TimeSlotRepository;
+import com.workreserve.backend.timeslot.TimeSlotRuleService;
 import com.workreserve.backend.user.User;
 import com.workreserve.backend.user.Role;
 import com.workreserve.backend.user.UserRepository;
@@ -21,12 +24,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -45,12 +53,18 @@ class ReservationServiceTest {
     @Mock
     private TimeSlotRepository timeSlotRepository;
 
+    @Mock
+    private TimeSlotRuleService timeSlotRuleService;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private ActivityService activityService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -60,6 +74,8 @@ class ReservationServiceTest {
     @InjectMocks
     private ReservationService reservationService;
 
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 11, 2, 10, 0);
+
     private User testUser;
     private Room testRoom;
     private TimeSlot testTimeSlot;
@@ -103,6 +119,11 @@ class ReservationServiceTest {
         testRequest = new ReservationRequest();
         testRequest.setSlotId(1L);
         testRequest.setTeamSize(5);
+
+        when(timeSlotRepository.markBooked(anyLong(), anyLong())).thenReturn(1);
+        when(timeSlotRepository.takeSeats(anyLong(), anyLong(), anyInt())).thenReturn(1);
+        ReflectionTestUtils.setField(reservationService, "clock",
+                Clock.fixed(NOW.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
     }
 
     @Test
@@ -163,9 +184,26 @@ class ReservationServiceTest {
         assertEquals(testReservation.getId(), result.getId());
         assertEquals(testReservation.getTeamSize(), result.getTeamSize());
         verify(reservationRepository).save(any(Reservation.class));
+        verify(timeSlotRepository).markBooked(1L, 1L);
         verify(activityService).logActivity(eq(1L), contains("Booked"), eq("RESERVATION"), eq(1L), eq("Test Room"));
     }
 
+    @Test
+    void createReservation_materializesVirtualSlot() {
+        testRequest.setSlotId(-42L);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(timeSlotRuleService.materialize(-42L)).thenReturn(testTimeSlot);
+        when(reservationRepository.existsBySlotIdAndStatusNot(1L, ReservationStatus.CANCELLED)).thenReturn(false);
+        when(reservationRepository.findByUserIdAndSlotId(1L, 1L)).thenReturn(Optional.empty());
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
+
+        ReservationResponse result = reservationService.createReservation(testRequest);
+
+        assertEquals(testTimeSlot.getId(), result.getSlotId());
+        verify(timeSlotRepository, never()).findById(anyLong());
+        verify(reservationRepository).save(argThat(reservation -> reservation.getSlot() == testTimeSlot));
+    }
+
     @Test
     void createReservation_userNotFound() {
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
@@ -196,6 +234,110 @@ class ReservationServiceTest {
         });
     }
 
+    @Test
+    void createReservation_lostRaceForSlot() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(timeSlotRepository.findById(1L)).thenReturn(Optional.of(testTimeSlot));
+        when(reservationRepository.existsBySlotIdAndStatusNot(1L, ReservationStatus.CANCELLED)).thenReturn(false);
+        when(reservationRepository.findByUserIdAndSlotId(1L, 1L)).thenReturn(Optional.empty());
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
+        when(timeSlotRepository.markBooked(1L, 1L)).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> reservationService.createReservation(testRequest));
+        verify(eventPublisher, never()).publishEvent(any(TimeSlotChangeEvent.class));
+        verify(activityService, never()).logActivity(anyLong(), anyString(), anyString(), anyLong(), anyString());
+    }
+
+    @Test
+    void createReservation_takesSeatsInSeatBasedRoom() {
+        testRoom.setType(RoomType.HOT_DESK);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(timeSlotRepository.findById(1L)).thenReturn(Optional.of(testTimeSlot));
+        when(reservationRepository.existsBySlotIdAndStatusNot(1L, ReservationStatus.CANCELLED)).thenReturn(true);
+        when(reservationRepository.findByUserIdAndSlotId(1L, 1L)).thenReturn(Optional.empty());
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
+
+        reservationService.createReservation(testRequest);
+
+        verify(timeSlotRepository).takeSeats(1L, 1L, 5);
+        verify(timeSlotRepository, never()).markBooked(anyLong(), anyLong());
+
+        when(timeSlotRepository.takeSeats(1L, 1L, 5)).thenReturn(0);
+        assertThrows(ConflictException.class, () -> reservationService.createReservation(testRequest));
+    }
+
+    @Test
+    void cancelReservation_releasesSeatsOnce() {
+        testRoom.setType(RoomType.HOT_DESK);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
+
+        reservationService.cancelReservation(1L);
+        reservationService.cancelReservation(1L);
+
+        verify(timeSlotRepository).releaseSeats(1L, 5);
+        verify(timeSlotRepository, never()).clearBooked(any(), any());
+    }
+
+    @Test
+    void holdReservation_takesSlotAsPendingUntilExpiry() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(timeSlotRepository.findById(1L)).thenReturn(Optional.of(testTimeSlot));
+        when(reservationRepository.findByUserIdAndSlotId(1L, 1L)).thenReturn(Optional.empty());
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        ReservationResponse hold = reservationService.holdReservation(testRequest);
+
+        assertEquals(ReservationStatus.PENDING, hold.getStatus());
+        assertEquals(NOW.plusMinutes(10), hold.getHoldExpiresAt());
+        verify(timeSlotRepository).markBooked(1L, 1L);
+        verify(activityService, never()).logActivity(anyLong(), anyString(), anyString(), anyLong(), anyString());
+    }
+
+    @Test
+    void confirmHold_confirmsPendingHold() {
+        testReservation.setStatus(ReservationStatus.PENDING);
+        testReservation.setHoldExpiresAt(NOW.plusMinutes(5));
+        Reservation confirmed = new Reservation();
+        confirmed.setId(1L);
+        confirmed.setUser(testUser);
+        confirmed.setSlot(testTimeSlot);
+        confirmed.setTeamSize(5);
+        confirmed.setStatus(ReservationStatus.CONFIRMED);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(timeSlotRepository.findById(1L)).thenReturn(Optional.of(testTimeSlot));
+        when(reservationRepository.findByUserIdAndSlotId(1L, 1L)).thenReturn(Optional.of(testReservation));
+        when(reservationRepository.confirmHold(1L)).thenReturn(1);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(confirmed));
+
+        ReservationResponse result = reservationService.confirmHold(testRequest);
+
+        assertEquals(ReservationStatus.CONFIRMED, result.getStatus());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        verify(activityService).logActivity(eq(1L), contains("Booked"), eq("RESERVATION"), eq(1L), eq("Test Room"));
+    }
+
+    @Test
+    void expireHolds_releasesOnlyHoldsStillPending() {
+        Reservation confirmedMeanwhile = new Reservation();
+        confirmedMeanwhile.setId(2L);
+        confirmedMeanwhile.setUser(testUser);
+        confirmedMeanwhile.setSlot(testTimeSlot);
+        confirmedMeanwhile.setTeamSize(5);
+        when(reservationRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(testReservation, confirmedMeanwhile));
+        when(reservationRepository.expireHold(1L, NOW)).thenReturn(1);
+        when(reservationRepository.expireHold(2L, NOW)).thenReturn(0);
+
+        assertEquals(1, reservationService.expireHolds(List.of(1L, 2L)));
+
+        verify(timeSlotRepository).clearBooked(1L, 1L);
+        verify(timeSlotRepository, never()).clearBooked(1L, 2L);
+        verify(eventPublisher, times(1)).publishEvent(any(TimeSlotChangeEvent.class));
+    }
+
     @Test
     void createReservation_userAlreadyHasReservation() {
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
@@ -261,6 +403,9 @@ class ReservationServiceTest {
         assertDoesNotThrow(() -> reservationService.cancelReservation(1L));
 
         verify(reservationRepository).save(any(Reservation.class));
+        verify(timeSlotRepository).clearBooked(1L, 1L);
+        verify(eventPublisher).publishEvent(new TimeSlotChangeEvent(TimeSlotChangeType.CANCELLED, 1L, 1L,
+                testTimeSlot.getDate(), testTimeSlot.getDate(), null, null, 1L, 1L));
     }
 
     @Test
@@ -282,6 +427,7 @@ class ReservationServiceTest {
         assertNotNull(result);
         assertEquals(testReservation.getId(), result.getId());
         verify(reservationRepository).save(any(Reservation.class));
+        verify(timeSlotRepository, never()).clearBooked(any(), any());
     }
 
     @Test
@@ -154,4 +154,32 @@ class RoomControllerIT {
                 .andExpect(status().isNotFound());
         System.out.println("Completed: deleteRoom_shouldReturnNoContent (id=" + id + ")");
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllRooms_shouldReturnNotModified_untilRoomsChange() throws Exception {
+        String etag = mockMvc.perform(get("/api/rooms"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/rooms").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        RoomRequest req = new RoomRequest();
+        req.setName("Room for ETag " + System.currentTimeMillis());
+        req.setType(RoomType.HOT_DESK);
+        req.setPricePerHour(20.0);
+        req.setCapacity(5);
+        mockMvc.perform(post("/api/rooms")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/rooms").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", org.hamcrest.Matchers.not(etag)))
+                .andExpect(jsonPath("$[?(@.name == '" + req.getName() + "')]").exists());
+    }
 }
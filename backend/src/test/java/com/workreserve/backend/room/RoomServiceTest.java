@@ -1,10 +1,11 @@
 package com.workreserve.backend.room;
 
+import com.workreserve.backend.room.DTO.RoomAvailabilityResponse;
 import com.workreserve.backend.room.DTO.RoomRequest;
 import com.workreserve.backend.room.DTO.RoomResponse;
 import com.workreserve.backend.activity.ActivityService;
 import com.workreserve.backend.config.FileStorageService;
-import com.workreserve.backend.timeslot.TimeSlotRepository;
+import com.workreserve.backend.timeslot.RoomAvailabilityIndex;
 import com.workreserve.backend.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +20,8 @@ import java.util.Optional;
 import java.util.List;
 import java.util.Arrays;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
@@ -31,7 +34,7 @@ class RoomServiceTest {
     private RoomRepository roomRepository;
 
     @Mock
-    private TimeSlotRepository timeSlotRepository;
+    private RoomAvailabilityIndex roomAvailabilityIndex;
 
     @Mock
     private ActivityService activityService;
@@ -298,7 +301,9 @@ class RoomServiceTest {
         room.setCapacity(8);
         room.setImageUrls(new ArrayList<>());
 
-        when(timeSlotRepository.findAvailableRooms(date, startTime, endTime))
+        when(roomAvailabilityIndex.findAvailableRoomIds(date, startTime, endTime))
+                .thenReturn(List.of(1L));
+        when(roomRepository.findAllWithImagesByIdIn(List.of(1L)))
                 .thenReturn(Arrays.asList(room));
 
         
@@ -307,6 +312,58 @@ class RoomServiceTest {
         
         assertEquals(1, result.size());
         assertEquals("Available Room", result.get(0).getName());
-        verify(timeSlotRepository).findAvailableRooms(date, startTime, endTime);
+        verify(roomAvailabilityIndex).findAvailableRoomIds(date, startTime, endTime);
+    }
+
+    @Test
+    void searchAvailableRooms_filtersByCapacityAndType() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        LocalTime startTime = LocalTime.of(9, 0);
+        LocalTime endTime = LocalTime.of(12, 0);
+
+        Room large = new Room();
+        large.setId(1L);
+        large.setName("Large Conference");
+        large.setType(RoomType.CONFERENCE_ROOM);
+        large.setCapacity(12);
+        large.setImageUrls(new ArrayList<>());
+
+        Room small = new Room();
+        small.setId(2L);
+        small.setName("Small Conference");
+        small.setType(RoomType.CONFERENCE_ROOM);
+        small.setCapacity(4);
+        small.setImageUrls(new ArrayList<>());
+
+        Room office = new Room();
+        office.setId(3L);
+        office.setName("Office");
+        office.setType(RoomType.PRIVATE_OFFICE);
+        office.setCapacity(10);
+        office.setImageUrls(new ArrayList<>());
+
+        Map<Long, List<Long>> coverage = new LinkedHashMap<>();
+        coverage.put(1L, List.of(10L, 11L, 12L));
+        coverage.put(2L, List.of(20L));
+        coverage.put(3L, List.of(30L, 31L));
+        when(roomAvailabilityIndex.findCoveringSlotIds(date, startTime, endTime)).thenReturn(coverage);
+        when(roomRepository.findAllWithImagesByIdIn(coverage.keySet())).thenReturn(Arrays.asList(large, small, office));
+
+        List<RoomAvailabilityResponse> result = roomService.searchAvailableRooms(date, startTime, endTime, 8, RoomType.CONFERENCE_ROOM);
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getRoom().getId());
+        assertEquals(List.of(10L, 11L, 12L), result.get(0).getSlotIds());
+        assertEquals(3, roomService.searchAvailableRooms(date, startTime, endTime, null, null).size());
+    }
+
+    @Test
+    void searchAvailableRooms_invalidRange_throwsBadRequest() {
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> roomService.searchAvailableRooms(date, LocalTime.of(12, 0), LocalTime.of(9, 0), null, null));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verifyNoInteractions(roomAvailabilityIndex);
     }
 }
@@ -0,0 +1,311 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.config.TestConfig;
+import com.workreserve.backend.reservation.Reservation;
+import com.workreserve.backend.reservation.ReservationRepository;
+import com.workreserve.backend.reservation.ReservationStatus;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.room.RoomType;
+import com.workreserve.backend.user.Role;
+import com.workreserve.backend.user.User;
+import com.workreserve.backend.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class RoomAvailabilityIndexIT {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(3);
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Random random = new Random(7);
+    private final List<TimeSlot> slots = new ArrayList<>();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        user = new User();
+        user.setFullName("Availability User");
+        user.setEmail("availabilityindex@example.com");
+        user.setPassword("$2a$10$dummyhash");
+        user.setRole(Role.USER);
+        user.setTwoFactorEnabled(false);
+        user = userRepository.save(user);
+
+        for (int r = 0; r < 12; r++) {
+            Room room = new Room();
+            room.setName("Availability Room " + r);
+            room.setType(RoomType.CONFERENCE_ROOM);
+            room.setPricePerHour(20.0);
+            room.setCapacity(6);
+            room.setImageUrls(new ArrayList<>());
+            room = roomRepository.save(room);
+
+            // Slot boundaries on 7-minute steps so many of them fall inside a bitmap bucket.
+            int minute = 7 * 60 + random.nextInt(30);
+            while (minute < 20 * 60) {
+                int length = 7 * (3 + random.nextInt(15));
+                TimeSlot slot = new TimeSlot();
+                slot.setRoom(room);
+                slot.setDate(DAY);
+                slot.setStartTime(LocalTime.of(minute / 60, minute % 60));
+                slot.setEndTime(LocalTime.of(Math.min(minute + length, 23 * 60) / 60, Math.min(minute + length, 23 * 60) % 60));
+                slot = timeSlotRepository.save(slot);
+                slots.add(slot);
+                if (random.nextInt(3) == 0) {
+                    book(slot);
+                }
+                minute += length + 7 * random.nextInt(3);
+            }
+        }
+        roomAvailabilityIndex.evictBefore(LocalDate.MAX);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void findAvailableRoomIds_matchesDatabaseQuery() {
+        assertMatchesDatabase(500);
+    }
+
+    @Test
+    void findAvailableRoomIds_followsBookingsAndCancellations() {
+        assertMatchesDatabase(50);
+
+        for (int i = 0; i < 40; i++) {
+            TimeSlot slot = slots.get(random.nextInt(slots.size()));
+            List<Reservation> active = reservationRepository.findBySlotIdAndStatusNot(slot.getId(), ReservationStatus.CANCELLED);
+            if (active.isEmpty()) {
+                Reservation reservation = book(slot);
+                eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.BOOKED, reservation));
+            } else {
+                Reservation reservation = active.get(0);
+                reservation.setStatus(ReservationStatus.CANCELLED);
+                reservationRepository.save(reservation);
+                timeSlotRepository.clearBooked(slot.getId(), reservation.getId());
+                eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.CANCELLED, reservation));
+            }
+            assertMatchesDatabase(20);
+        }
+    }
+
+    @Test
+    void findAvailableRoomIds_reloadsDayAfterSlotChanges() {
+        assertMatchesDatabase(50);
+
+        TimeSlot slot = slots.get(0);
+        slot.setStartTime(LocalTime.of(5, 0));
+        slot.setEndTime(LocalTime.of(23, 30));
+        timeSlotRepository.save(slot);
+        eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.UPDATED, slot));
+
+        assertMatchesDatabase(50);
+    }
+
+    @Test
+    void findAvailableRoomIds_keepsSeatBasedRoomUntilFull() {
+        Room desks = new Room();
+        desks.setName("Availability Desks");
+        desks.setType(RoomType.HOT_DESK);
+        desks.setPricePerHour(5.0);
+        desks.setCapacity(50);
+        desks.setImageUrls(new ArrayList<>());
+        desks = roomRepository.save(desks);
+        TimeSlot slot = new TimeSlot();
+        slot.setRoom(desks);
+        slot.setDate(DAY);
+        slot.setStartTime(LocalTime.of(4, 0));
+        slot.setEndTime(LocalTime.of(5, 0));
+        slot = timeSlotRepository.save(slot);
+        assertTrue(roomAvailabilityIndex.findAvailableRoomIds(DAY, LocalTime.of(4, 0), LocalTime.of(5, 0)).contains(desks.getId()));
+
+        Reservation seat = reserve(slot, user, 1);
+        timeSlotRepository.takeSeats(slot.getId(), seat.getId(), 1);
+        eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.BOOKED, seat));
+        assertTrue(roomAvailabilityIndex.findAvailableRoomIds(DAY, LocalTime.of(4, 0), LocalTime.of(5, 0)).contains(desks.getId()));
+
+        User other = new User();
+        other.setFullName("Availability Team");
+        other.setEmail("availabilityindex-team@example.com");
+        other.setPassword("$2a$10$dummyhash");
+        other.setRole(Role.USER);
+        other.setTwoFactorEnabled(false);
+        other = userRepository.save(other);
+        Reservation rest = reserve(slot, other, 49);
+        timeSlotRepository.takeSeats(slot.getId(), rest.getId(), 49);
+        eventPublisher.publishEvent(TimeSlotChangeEvent.of(TimeSlotChangeType.BOOKED, rest));
+        assertFalse(roomAvailabilityIndex.findAvailableRoomIds(DAY, LocalTime.of(4, 0), LocalTime.of(5, 0)).contains(desks.getId()));
+        assertMatchesDatabase(50);
+    }
+
+    @Test
+    void findCoveringSlotIds_findsRoomsCoveredByAdjacentFreeSlots() {
+        Map<Long, boolean[]> freeMinutes = new TreeMap<>();
+        Map<Long, TimeSlot> slotsById = new HashMap<>();
+        for (TimeSlot slot : timeSlotRepository.findByDateIn(List.of(DAY))) {
+            slotsById.put(slot.getId(), slot);
+            boolean[] minutes = freeMinutes.computeIfAbsent(slot.getRoom().getId(), id -> new boolean[24 * 60]);
+            if (!reservationRepository.existsBySlotIdAndStatusNot(slot.getId(), ReservationStatus.CANCELLED)) {
+                for (int m = minutes(slot.getStartTime()); m < minutes(slot.getEndTime()); m++) {
+                    minutes[m] = true;
+                }
+            }
+        }
+
+        int multiSlotMatches = 0;
+        for (int i = 0; i < 300; i++) {
+            int start = 6 * 60 + random.nextInt(14 * 60);
+            int end = Math.min(start + 1 + random.nextInt(240), 23 * 60 + 59);
+            Map<Long, List<Long>> coverage = roomAvailabilityIndex.findCoveringSlotIds(DAY,
+                    LocalTime.of(start / 60, start % 60), LocalTime.of(end / 60, end % 60));
+
+            List<Long> expected = new ArrayList<>();
+            freeMinutes.forEach((roomId, minutes) -> {
+                for (int m = start; m < end; m++) {
+                    if (!minutes[m]) {
+                        return;
+                    }
+                }
+                expected.add(roomId);
+            });
+            assertEquals(expected, new ArrayList<>(coverage.keySet()));
+
+            for (Map.Entry<Long, List<Long>> entry : coverage.entrySet()) {
+                int reached = start;
+                for (Long slotId : entry.getValue()) {
+                    TimeSlot slot = slotsById.get(slotId);
+                    assertEquals(entry.getKey(), slot.getRoom().getId());
+                    assertTrue(minutes(slot.getStartTime()) <= reached);
+                    reached = minutes(slot.getEndTime());
+                }
+                assertTrue(reached >= end);
+                if (entry.getValue().size() > 1) {
+                    multiSlotMatches++;
+                }
+            }
+        }
+        assertTrue(multiSlotMatches > 0, "Expected some windows to need more than one slot");
+    }
+
+    @Test
+    void findCoveringSlotIds_chainsSlotsThatMeetInsideABucket() {
+        Room room = new Room();
+        room.setName("Availability Chain Room");
+        room.setType(RoomType.CONFERENCE_ROOM);
+        room.setPricePerHour(20.0);
+        room.setCapacity(6);
+        room.setImageUrls(new ArrayList<>());
+        room = roomRepository.save(room);
+        // 2:02 lies inside the 2:00-2:05 bucket, which neither slot covers on its own.
+        TimeSlot first = slot(room, LocalTime.of(2, 0), LocalTime.of(2, 2));
+        TimeSlot second = slot(room, LocalTime.of(2, 2), LocalTime.of(3, 0));
+        roomAvailabilityIndex.evictBefore(LocalDate.MAX);
+
+        assertEquals(Map.of(room.getId(), List.of(first.getId(), second.getId())),
+                roomAvailabilityIndex.findCoveringSlotIds(DAY, LocalTime.of(2, 0), LocalTime.of(3, 0)));
+    }
+
+    private TimeSlot slot(Room room, LocalTime startTime, LocalTime endTime) {
+        TimeSlot slot = new TimeSlot();
+        slot.setRoom(room);
+        slot.setDate(DAY);
+        slot.setStartTime(startTime);
+        slot.setEndTime(endTime);
+        return timeSlotRepository.save(slot);
+    }
+
+    private static int minutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private void assertMatchesDatabase(int queries) {
+        for (int i = 0; i < queries; i++) {
+            int start = 6 * 60 + random.nextInt(14 * 60);
+            int end = Math.min(start + 1 + random.nextInt(180), 23 * 60 + 59);
+            LocalTime startTime = LocalTime.of(start / 60, start % 60);
+            LocalTime endTime = LocalTime.of(end / 60, end % 60);
+
+            List<Long> expected = timeSlotRepository.findAvailableRooms(DAY, startTime, endTime).stream()
+                    .map(Room::getId)
+                    .sorted()
+                    .toList();
+            assertEquals(expected, roomAvailabilityIndex.findAvailableRoomIds(DAY, startTime, endTime),
+                    "Mismatch for " + startTime + "-" + endTime);
+        }
+    }
+
+    // A slot the user cancelled earlier is rebooked on the same row, as ReservationService does,
+    // since a user has at most one reservation per slot.
+    private Reservation book(TimeSlot slot) {
+        Reservation reservation = reservationRepository.findByUserIdAndSlotId(user.getId(), slot.getId())
+                .map(cancelled -> {
+                    cancelled.setStatus(ReservationStatus.CONFIRMED);
+                    return reservationRepository.save(cancelled);
+                })
+                .orElseGet(() -> reserve(slot, user, 2));
+        timeSlotRepository.markBooked(slot.getId(), reservation.getId());
+        return reservation;
+    }
+
+    private Reservation reserve(TimeSlot slot, User user, int teamSize) {
+        Reservation reservation = new Reservation();
+        reservation.setSlot(slot);
+        reservation.setUser(user);
+        reservation.setTeamSize(teamSize);
+        reservation.setTotalCost(20.0);
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        return reservationRepository.save(reservation);
+    }
+
+    private void cleanUp() {
+        reservationRepository.deleteAll();
+        timeSlotRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.findByEmail("availabilityindex@example.com").ifPresent(userRepository::delete);
+        userRepository.findByEmail("availabilityindex-team@example.com").ifPresent(userRepository::delete);
+        roomAvailabilityIndex.evictBefore(LocalDate.MAX);
+        slots.clear();
+    }
+}
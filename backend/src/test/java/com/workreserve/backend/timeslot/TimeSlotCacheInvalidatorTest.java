@@ -0,0 +1,200 @@
+package com.workreserve.backend.timeslot;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.workreserve.backend.config.CacheConfig;
+import com.workreserve.backend.config.ResourceVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSlotCacheInvalidatorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 11, 3);
+
+    private static final List<String> SLOT_AND_RESERVATION_CACHES = List.of(
+            "timeslots", "room-timeslots", TimeSlotSegmentCache.CACHE_NAME, "reservations", "user-reservations");
+
+    private CacheManager cacheManager;
+    private TimeSlotSegmentCache segmentCache;
+    private TimeSlotCacheInvalidator invalidator;
+    private TimeSlotETags timeSlotETags;
+
+    @BeforeEach
+    void setUp() {
+        SimpleCacheManager simpleCacheManager = (SimpleCacheManager) new CacheConfig().cacheManager();
+        simpleCacheManager.afterPropertiesSet();
+        cacheManager = simpleCacheManager;
+        segmentCache = new TimeSlotSegmentCache();
+        ReflectionTestUtils.setField(segmentCache, "cacheManager", cacheManager);
+        invalidator = new TimeSlotCacheInvalidator();
+        ReflectionTestUtils.setField(invalidator, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(invalidator, "timeSlotSegmentCache", segmentCache);
+        timeSlotETags = new TimeSlotETags();
+        ReflectionTestUtils.setField(timeSlotETags, "resourceVersions", new ResourceVersions());
+        ReflectionTestUtils.setField(timeSlotETags, "clock",
+                Clock.fixed(DAY.minusDays(1).atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+        ReflectionTestUtils.setField(invalidator, "timeSlotETags", timeSlotETags);
+    }
+
+    @Test
+    void booking_evictsOnlyMatchingRoomSegmentAndUser() {
+        cache("timeslots").put(SimpleKey.EMPTY, "all");
+        cache("timeslots").put(42L, "slot 42");
+        cache("timeslots").put(43L, "slot 43");
+        cache("room-timeslots").put(7L, "room 7");
+        cache("room-timeslots").put(8L, "room 8");
+        putDay(DAY, 7L, 8L);
+        putDay(DAY.plusDays(1), 7L);
+        cache("reservations").put(SimpleKey.EMPTY, "all");
+        cache("reservations").put(99L, "reservation 99");
+        cache("reservations").put(100L, "reservation 100");
+        cache("user-reservations").put(3L, "user 3");
+        cache("user-reservations").put(4L, "user 4");
+
+        invalidator.onTimeSlotChange(new TimeSlotChangeEvent(TimeSlotChangeType.BOOKED, 42L, 7L, DAY, DAY,
+                null, null, 3L, 99L));
+
+        assertNull(cache("timeslots").get(SimpleKey.EMPTY));
+        assertNull(cache("timeslots").get(42L));
+        assertNotNull(cache("timeslots").get(43L));
+        assertNull(cache("room-timeslots").get(7L));
+        assertNotNull(cache("room-timeslots").get(8L));
+        assertNull(segment(7L, DAY));
+        assertNotNull(segment(8L, DAY));
+        assertNotNull(segment(7L, DAY.plusDays(1)));
+        assertNotNull(cache(TimeSlotSegmentCache.CACHE_NAME).get(new TimeSlotSegmentCache.DayKey(DAY)));
+        assertNull(cache("reservations").get(SimpleKey.EMPTY));
+        assertNull(cache("reservations").get(99L));
+        assertNotNull(cache("reservations").get(100L));
+        assertNull(cache("user-reservations").get(3L));
+        assertNotNull(cache("user-reservations").get(4L));
+    }
+
+    @Test
+    void booking_changesETagsOfAffectedListsOnly() {
+        String room7 = timeSlotETags.roomTimeSlots(7L);
+        String room8 = timeSlotETags.roomTimeSlots(8L);
+        String bookedWeek = timeSlotETags.dateRange(DAY.minusDays(2), DAY.plusDays(4), true);
+        String nextWeek = timeSlotETags.dateRange(DAY.plusDays(7), DAY.plusDays(13), true);
+        String user3 = timeSlotETags.userReservations(3L);
+        String user4 = timeSlotETags.userReservations(4L);
+
+        invalidator.onTimeSlotChange(new TimeSlotChangeEvent(TimeSlotChangeType.BOOKED, 42L, 7L, DAY, DAY,
+                null, null, 3L, 99L));
+
+        assertNotEquals(room7, timeSlotETags.roomTimeSlots(7L));
+        assertEquals(room8, timeSlotETags.roomTimeSlots(8L));
+        assertNotEquals(bookedWeek, timeSlotETags.dateRange(DAY.minusDays(2), DAY.plusDays(4), true));
+        assertEquals(nextWeek, timeSlotETags.dateRange(DAY.plusDays(7), DAY.plusDays(13), true));
+        assertNotEquals(user3, timeSlotETags.userReservations(3L));
+        assertEquals(user4, timeSlotETags.userReservations(4L));
+    }
+
+    @Test
+    void slotMove_evictsPreviousRoomAndDayToo() {
+        cache("room-timeslots").put(7L, "room 7");
+        cache("room-timeslots").put(8L, "room 8");
+        putDay(DAY, 7L);
+        putDay(DAY.plusDays(7), 8L);
+        putDay(DAY.plusDays(8), 8L);
+        cache("user-reservations").put(3L, "user 3");
+
+        invalidator.onTimeSlotChange(new TimeSlotChangeEvent(TimeSlotChangeType.UPDATED, 42L, 8L,
+                DAY.plusDays(7), DAY.plusDays(7), 7L, DAY, null, null));
+
+        assertNull(cache("room-timeslots").get(7L));
+        assertNull(cache("room-timeslots").get(8L));
+        assertNull(segment(7L, DAY));
+        assertNull(cache(TimeSlotSegmentCache.CACHE_NAME).get(new TimeSlotSegmentCache.DayKey(DAY)));
+        assertNull(segment(8L, DAY.plusDays(7)));
+        assertNull(cache(TimeSlotSegmentCache.CACHE_NAME).get(new TimeSlotSegmentCache.DayKey(DAY.plusDays(7))));
+        assertNotNull(segment(8L, DAY.plusDays(8)));
+        assertNotNull(cache("user-reservations").get(3L));
+    }
+
+    // Replays the same read-heavy workload (room lists, weekly ranges stitched from day segments,
+    // user reservation lists, one booking per ten requests) against allEntries eviction and
+    // against targeted invalidation.
+    @Test
+    void benchmark_hitRate_allEntriesVersusTargeted() {
+        double allEntries = replayWorkload(false);
+        setUp();
+        double targeted = replayWorkload(true);
+
+        System.out.printf("Slot/reservation cache hit rate: allEntries eviction %.1f%%, targeted invalidation %.1f%%%n",
+                allEntries * 100, targeted * 100);
+        assertTrue(targeted > allEntries + 0.2,
+                "Targeted invalidation should keep caches warm, got " + targeted + " vs " + allEntries);
+    }
+
+    private double replayWorkload(boolean targeted) {
+        Random random = new Random(42);
+        LocalDate monday = LocalDate.of(2026, 11, 2);
+        for (int i = 0; i < 50_000; i++) {
+            long roomId = random.nextInt(50);
+            long userId = random.nextInt(200);
+            LocalDate date = monday.plusDays(random.nextInt(28));
+
+            if (random.nextInt(10) == 0) {
+                if (targeted) {
+                    invalidator.onTimeSlotChange(new TimeSlotChangeEvent(TimeSlotChangeType.BOOKED, (long) i, roomId,
+                            date, date, null, null, userId, (long) i));
+                } else {
+                    SLOT_AND_RESERVATION_CACHES.forEach(name -> cache(name).clear());
+                }
+                continue;
+            }
+
+            switch (random.nextInt(3)) {
+                case 0 -> cache("room-timeslots").get(roomId, () -> "room " + roomId);
+                case 1 -> {
+                    LocalDate weekStart = monday.plusWeeks(random.nextInt(4));
+                    for (LocalDate day = weekStart; day.isBefore(weekStart.plusDays(7)); day = day.plusDays(1)) {
+                        TimeSlotSegmentCache.SegmentKey key = new TimeSlotSegmentCache.SegmentKey(roomId, day);
+                        cache(TimeSlotSegmentCache.CACHE_NAME).get(key, () -> key);
+                    }
+                }
+                default -> cache("user-reservations").get(userId, () -> "user " + userId);
+            }
+        }
+
+        long hits = 0;
+        long requests = 0;
+        for (String name : SLOT_AND_RESERVATION_CACHES) {
+            CacheStats stats = ((CaffeineCache) cache(name)).getNativeCache().stats();
+            hits += stats.hitCount();
+            requests += stats.requestCount();
+        }
+        return (double) hits / requests;
+    }
+
+    private void putDay(LocalDate date, long... roomIds) {
+        cache(TimeSlotSegmentCache.CACHE_NAME).put(new TimeSlotSegmentCache.DayKey(date), roomIds);
+        for (long roomId : roomIds) {
+            cache(TimeSlotSegmentCache.CACHE_NAME).put(new TimeSlotSegmentCache.SegmentKey(roomId, date),
+                    TimeSlotDaySegment.of(roomId, date, List.of(), Map.of()));
+        }
+    }
+
+    private Object segment(Long roomId, LocalDate date) {
+        return cache(TimeSlotSegmentCache.CACHE_NAME).get(new TimeSlotSegmentCache.SegmentKey(roomId, date));
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}
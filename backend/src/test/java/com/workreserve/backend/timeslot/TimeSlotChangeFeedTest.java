@@ -0,0 +1,173 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSlotChangeFeedTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 11, 2);
+
+    private TimeSlotChangeFeed feed;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        feed = new TimeSlotChangeFeed();
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(feed, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(feed, "bufferSize", 3);
+        feed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+    }
+
+    @Test
+    void slowSubscriberIsDroppedInsteadOfBlockingProducers() throws InterruptedException {
+        // A sender that never gets to run stands in for a client that stopped reading.
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor stalledSender = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+        stalledSender.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ReflectionTestUtils.setField(feed, "sender", stalledSender);
+
+        feed.subscribe(Set.of(1L), DAY, DAY);
+
+        feed.onTimeSlotChange(change(2L, DAY));
+        feed.onTimeSlotChange(change(1L, DAY.plusDays(5)));
+        feed.onTimeSlotChange(change(1L, DAY));
+        feed.onTimeSlotChange(change(1L, DAY));
+        assertEquals(1, feed.subscriberCount());
+
+        feed.onTimeSlotChange(change(1L, DAY));
+        assertEquals(0, feed.subscriberCount());
+        assertEquals(1.0, meterRegistry.counter("timeslots.feed.dropped").count());
+
+        release.countDown();
+        stalledSender.shutdown();
+    }
+
+    @Test
+    void stalledSendIsDisconnectedWithoutHoldingUpOtherSubscribers() throws Exception {
+        feed.stop();
+        CountDownLatch release = new CountDownLatch(1);
+        NonReadingEmitter nonReading = new NonReadingEmitter(release);
+        RecordingEmitter reading = new RecordingEmitter(2);
+        List<SseEmitter> emitters = new ArrayList<>(List.of(nonReading, reading));
+        feed = new TimeSlotChangeFeed() {
+            @Override
+            SseEmitter newEmitter() {
+                return emitters.remove(0);
+            }
+        };
+        ReflectionTestUtils.setField(feed, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(feed, "senderThreads", 1);
+        ReflectionTestUtils.setField(feed, "sendTimeoutMillis", 50L);
+        feed.start();
+
+        // The non-reading client takes the only sender thread with its first event.
+        feed.subscribe(null, null, null);
+        assertTrue(nonReading.blocked.await(5, TimeUnit.SECONDS));
+        feed.subscribe(null, null, null);
+        Thread.sleep(100);
+
+        feed.disconnectStalled();
+        assertEquals(1, feed.subscriberCount());
+        assertEquals(1.0, meterRegistry.counter("timeslots.feed.stalled").count());
+
+        feed.onTimeSlotChange(change(1L, DAY));
+        assertTrue(reading.received.await(5, TimeUnit.SECONDS));
+
+        ThreadPoolExecutor sender = (ThreadPoolExecutor) ReflectionTestUtils.getField(feed, "sender");
+        assertEquals(2, sender.getCorePoolSize());
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sender.getCorePoolSize() != 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, sender.getCorePoolSize());
+        assertEquals(1, feed.subscriberCount());
+    }
+
+    @Test
+    void subscriberThatKeepsUpStaysConnected() {
+        ReflectionTestUtils.setField(feed, "bufferSize", 200);
+        feed.subscribe(null, null, null);
+
+        for (int i = 0; i < 100; i++) {
+            feed.onTimeSlotChange(change(1L, DAY.plusDays(i)));
+        }
+
+        assertEquals(1, feed.subscriberCount());
+    }
+
+    @Test
+    void subscribe_rejectsInvertedRange() {
+        assertThrows(ValidationException.class, () -> feed.subscribe(null, DAY, DAY.minusDays(1)));
+    }
+
+    private TimeSlotChangeEvent change(Long roomId, LocalDate date) {
+        return new TimeSlotChangeEvent(TimeSlotChangeType.BOOKED, 10L, roomId, date, date, null, null, 5L, 20L);
+    }
+
+    // A client that stopped reading: the write blocks until the connection finally fails.
+    private static final class NonReadingEmitter extends SseEmitter {
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        NonReadingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Broken pipe");
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch received;
+
+        RecordingEmitter(int events) {
+            this.received = new CountDownLatch(events);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            received.countDown();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.config.TestConfig;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.room.RoomType;
+import com.workreserve.backend.timeslot.DTO.TimeSlotChangesResponse;
+import com.workreserve.backend.timeslot.DTO.TimeSlotRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class TimeSlotChangeLogIT {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(3);
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private TimeSlotChangeLog timeSlotChangeLog;
+
+    @Autowired
+    private TimeSlotChangeRepository timeSlotChangeRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        room = new Room();
+        room.setName("Change Log Room");
+        room.setType(RoomType.CONFERENCE_ROOM);
+        room.setPricePerHour(10.0);
+        room.setCapacity(4);
+        room.setImageUrls(new ArrayList<>());
+        room = roomRepository.save(room);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void getChangesSince_returnsOnlyLaterChanges() {
+        timeSlotChangeLog.onTimeSlotChange(TimeSlotChangeEvent.generated(room.getId(), DAY, DAY.plusDays(6)));
+        long afterGeneration = timeSlotChangeLog.latestVersion();
+
+        TimeSlotResponse kept = timeSlotService.createTimeSlot(request(9));
+        TimeSlotResponse removed = timeSlotService.createTimeSlot(request(10));
+        timeSlotService.deleteTimeSlot(removed.getId());
+
+        TimeSlotChangesResponse changes = timeSlotService.getChangesSince(afterGeneration, null);
+
+        assertFalse(changes.isResyncRequired());
+        assertEquals(afterGeneration + 3, changes.getVersion());
+        assertEquals(List.of(kept.getId()), changes.getChanged().stream().map(TimeSlotResponse::getId).toList());
+        assertEquals(List.of(removed.getId()), changes.getDeleted());
+        assertTrue(changes.getRanges().isEmpty());
+
+        TimeSlotChangesResponse fromBefore = timeSlotService.getChangesSince(afterGeneration - 1, 1);
+        assertEquals(afterGeneration, fromBefore.getVersion());
+        assertTrue(fromBefore.isHasMore());
+        assertEquals("GENERATED", fromBefore.getRanges().get(0).getType());
+
+        TimeSlotChangesResponse upToDate = timeSlotService.getChangesSince(changes.getVersion(), null);
+        assertEquals(changes.getVersion(), upToDate.getVersion());
+        assertTrue(upToDate.getChanged().isEmpty());
+    }
+
+    @Test
+    void getChangesSince_requiresResyncAfterCompaction() {
+        TimeSlotChange old = new TimeSlotChange();
+        old.setType(TimeSlotChangeType.CREATED);
+        old.setSlotId(1L);
+        old.setRoomId(room.getId());
+        old.setChangedAt(LocalDateTime.now().minusDays(30));
+        old = timeSlotChangeRepository.save(old);
+        timeSlotService.createTimeSlot(request(9));
+
+        assertFalse(timeSlotService.getChangesSince(old.getId() - 1, null).isResyncRequired());
+
+        timeSlotChangeLog.compact();
+
+        assertTrue(timeSlotService.getChangesSince(old.getId() - 1, null).isResyncRequired());
+        assertFalse(timeSlotService.getChangesSince(old.getId(), null).isResyncRequired());
+        assertTrue(timeSlotService.getChangesSince(0, null).isResyncRequired());
+    }
+
+    @Test
+    void read_deliversChangeOfTransactionThatCommitsLast() throws Exception {
+        Object commitGraceMillis = ReflectionTestUtils.getField(timeSlotChangeLog, "commitGraceMillis");
+        // Without a grace period, a gap left by the slow transaction would be skipped immediately.
+        ReflectionTestUtils.setField(timeSlotChangeLog, "commitGraceMillis", 0L);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            timeSlotChangeLog.onTimeSlotChange(TimeSlotChangeEvent.generated(room.getId(), DAY, DAY));
+            long since = timeSlotChangeLog.latestVersion();
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            CountDownLatch logged = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+
+            // The slow transaction logs its change first but commits after a later one.
+            Future<?> slow = executor.submit(() -> transaction.executeWithoutResult(status -> {
+                timeSlotChangeLog.onTimeSlotChange(TimeSlotChangeEvent.ruleChanged(room.getId(), DAY, DAY));
+                logged.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(logged.await(5, TimeUnit.SECONDS));
+            transaction.executeWithoutResult(status -> timeSlotChangeLog.onTimeSlotChange(
+                    TimeSlotChangeEvent.generated(room.getId(), DAY.plusDays(1), DAY.plusDays(1))));
+
+            TimeSlotChangeLog.Window first = timeSlotChangeLog.read(since, 10);
+            assertEquals(List.of(TimeSlotChangeType.GENERATED), types(first));
+
+            release.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+
+            TimeSlotChangeLog.Window second = timeSlotChangeLog.read(first.version(), 10);
+            assertEquals(List.of(TimeSlotChangeType.RULE_CHANGED), types(second));
+        } finally {
+            executor.shutdownNow();
+            ReflectionTestUtils.setField(timeSlotChangeLog, "commitGraceMillis", commitGraceMillis);
+        }
+    }
+
+    private static List<TimeSlotChangeType> types(TimeSlotChangeLog.Window window) {
+        return window.changes().stream().map(TimeSlotChange::getType).toList();
+    }
+
+    private TimeSlotRequest request(int hour) {
+        TimeSlotRequest request = new TimeSlotRequest();
+        request.setRoomId(room.getId());
+        request.setDate(DAY);
+        request.setStartTime(LocalTime.of(hour, 0));
+        request.setEndTime(LocalTime.of(hour + 1, 0));
+        return request;
+    }
+
+    private void cleanUp() {
+        timeSlotRepository.deleteAll();
+        timeSlotChangeRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+}
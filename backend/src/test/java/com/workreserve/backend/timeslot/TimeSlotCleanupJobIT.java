@@ -0,0 +1,162 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.config.SchedulerLockService;
+import com.workreserve.backend.config.TestConfig;
+import com.workreserve.backend.reservation.Reservation;
+import com.workreserve.backend.reservation.ReservationRepository;
+import com.workreserve.backend.reservation.ReservationStatus;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.room.RoomType;
+import com.workreserve.backend.user.Role;
+import com.workreserve.backend.user.User;
+import com.workreserve.backend.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class TimeSlotCleanupJobIT {
+
+    @Autowired
+    private TimeSlotCleanupJob cleanupJob;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Room room;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        ReflectionTestUtils.setField(cleanupJob, "batchSize", 7);
+        ReflectionTestUtils.setField(cleanupJob, "pauseMillis", 0L);
+
+        room = new Room();
+        room.setName("Cleanup Room");
+        room.setType(RoomType.HOT_DESK);
+        room.setPricePerHour(10.0);
+        room.setCapacity(1);
+        room.setImageUrls(new ArrayList<>());
+        room = roomRepository.save(room);
+
+        user = new User();
+        user.setFullName("Cleanup User");
+        user.setEmail("cleanupjob@example.com");
+        user.setPassword("$2a$10$dummyhash");
+        user.setRole(Role.USER);
+        user.setTwoFactorEnabled(false);
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+        ReflectionTestUtils.setField(cleanupJob, "batchSize", 1000);
+        ReflectionTestUtils.setField(cleanupJob, "pauseMillis", 200L);
+    }
+
+    @Test
+    void purgeUnusedBefore_deletesOnlyUnreservedPastSlotsInBatches() {
+        LocalDate today = LocalDate.now();
+        for (int day = 1; day <= 10; day++) {
+            for (int hour = 8; hour < 12; hour++) {
+                TimeSlot slot = slot(today.minusDays(day), hour);
+                if (hour == 8) {
+                    reserve(slot, day % 2 == 0 ? ReservationStatus.CANCELLED : ReservationStatus.COMPLETED);
+                }
+            }
+        }
+        for (int hour = 8; hour < 12; hour++) {
+            slot(today, hour);
+            slot(today.plusDays(1), hour);
+        }
+        double purgedBefore = purgedCounter();
+
+        long purged = cleanupJob.purgeUnusedBefore(today);
+
+        assertEquals(30, purged);
+        assertEquals(18, timeSlotRepository.count());
+        assertEquals(10, timeSlotRepository.findByDateBetween(today.minusDays(10), today.minusDays(1)).size());
+        assertEquals(30, purgedCounter() - purgedBefore, 0.0);
+        assertNotNull(meterRegistry.find("timeslots.cleanup.duration").timer());
+    }
+
+    @Test
+    void purgeUnusedBefore_skipsWhileAnotherNodeHoldsTheLock() {
+        LocalDate today = LocalDate.now();
+        slot(today.minusDays(1), 9);
+        assertTrue(schedulerLockService.tryLock(TimeSlotCleanupJob.LOCK_NAME, Duration.ofMinutes(5)));
+        try {
+            assertEquals(-1, cleanupJob.purgeUnusedBefore(today));
+            assertEquals(1, timeSlotRepository.count());
+        } finally {
+            schedulerLockService.unlock(TimeSlotCleanupJob.LOCK_NAME);
+        }
+
+        assertEquals(1, cleanupJob.purgeUnusedBefore(today));
+        assertEquals(0, timeSlotRepository.count());
+    }
+
+    private double purgedCounter() {
+        var counter = meterRegistry.find("timeslots.cleanup.purged").counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private TimeSlot slot(LocalDate date, int hour) {
+        TimeSlot slot = new TimeSlot();
+        slot.setRoom(room);
+        slot.setDate(date);
+        slot.setStartTime(LocalTime.of(hour, 0));
+        slot.setEndTime(LocalTime.of(hour + 1, 0));
+        return timeSlotRepository.save(slot);
+    }
+
+    private void reserve(TimeSlot slot, ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setSlot(slot);
+        reservation.setUser(user);
+        reservation.setTeamSize(1);
+        reservation.setTotalCost(10.0);
+        reservation.setStatus(status);
+        reservationRepository.save(reservation);
+    }
+
+    private void cleanUp() {
+        reservationRepository.deleteAll();
+        timeSlotRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.findByEmail("cleanupjob@example.com").ifPresent(userRepository::delete);
+    }
+}
@@ -1,11 +1,14 @@
 package com.workreserve.backend.timeslot;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.workreserve.backend.reservation.ReservationRepository;
 import com.workreserve.backend.room.Room;
 import com.workreserve.backend.room.RoomRepository;
 import com.workreserve.backend.room.RoomType;
+import com.workreserve.backend.timeslot.DTO.TimeSlotListResponse;
 import com.workreserve.backend.timeslot.DTO.TimeSlotRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotResponse;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,7 +20,11 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -40,6 +47,9 @@ class TimeSlotControllerIT {
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private TimeSlotService timeSlotService;
+
     private Long testRoomId;
 
     @BeforeEach
@@ -279,4 +289,150 @@ class TimeSlotControllerIT {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Time slot not found"));
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void searchTimeSlots_pagesThroughAllSlotsInOrder() throws Exception {
+        Room room = roomRepository.findById(testRoomId).orElseThrow();
+        List<Long> expected = new ArrayList<>();
+        for (int day = 1; day <= 3; day++) {
+            for (int hour = 9; hour <= 11; hour++) {
+                expected.add(saveSlot(room, LocalDate.now().plusDays(day), LocalTime.of(hour, 0)).getId());
+            }
+        }
+        TimeSlot booked = timeSlotRepository.findById(expected.get(4)).orElseThrow();
+        timeSlotRepository.markBooked(booked.getId(), 1L);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/timeslots/search")
+                    .param("roomId", testRoomId.toString())
+                    .param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(expected, seen);
+
+        mockMvc.perform(get("/api/timeslots/search")
+                .param("roomId", testRoomId.toString())
+                .param("available", "true")
+                .param("startDate", LocalDate.now().plusDays(2).toString())
+                .param("endDate", LocalDate.now().plusDays(2).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void searchTimeSlots_shouldReturnBadRequest_whenCursorOrSizeInvalid() throws Exception {
+        mockMvc.perform(get("/api/timeslots/search").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+
+        mockMvc.perform(get("/api/timeslots/search").param("size", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getTimeSlotsByDateRange_normalizedFormatSendsEachRoomOnce() throws Exception {
+        LocalDate startDate = LocalDate.now().plusDays(200);
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Room room = new Room();
+            room.setName("Calendar Room " + i);
+            room.setType(RoomType.CONFERENCE_ROOM);
+            room.setPricePerHour(25.0);
+            room.setCapacity(8);
+            room.setDescription("Bright meeting room with a whiteboard, a screen, video conferencing and a view of the park.");
+            room.setImageUrls(new ArrayList<>(List.of(
+                    "https://images.example.com/rooms/" + i + "/front.jpg",
+                    "https://images.example.com/rooms/" + i + "/back.jpg",
+                    "https://images.example.com/rooms/" + i + "/desk.jpg",
+                    "https://images.example.com/rooms/" + i + "/screen.jpg")));
+            rooms.add(roomRepository.save(room));
+        }
+        for (int i = 0; i < 500; i++) {
+            int perRoom = i / rooms.size();
+            saveSlot(rooms.get(i % rooms.size()), startDate.plusDays(perRoom / 10), LocalTime.of(8 + perRoom % 10, 0));
+        }
+        LocalDate endDate = startDate.plusDays(4);
+
+        String embedded = mockMvc.perform(get("/api/timeslots/date-range")
+                .param("startDate", startDate.toString())
+                .param("endDate", endDate.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String normalized = mockMvc.perform(get("/api/timeslots/date-range")
+                .param("startDate", startDate.toString())
+                .param("endDate", endDate.toString())
+                .param("format", "normalized"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slots.length()").value(500))
+                .andExpect(jsonPath("$.slots[0].roomId").isNumber())
+                .andExpect(jsonPath("$.slots[0].room").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(12, objectMapper.readTree(normalized).get("rooms").size());
+        assertTrue(normalized.length() * 2 < embedded.length());
+
+        List<TimeSlotResponse> slots = timeSlotService.getTimeSlotsByDateRange(startDate, endDate);
+        long embeddedNanos = 0;
+        long normalizedNanos = 0;
+        for (int i = 0; i < 50; i++) {
+            long start = System.nanoTime();
+            objectMapper.writeValueAsBytes(slots);
+            embeddedNanos += System.nanoTime() - start;
+            start = System.nanoTime();
+            objectMapper.writeValueAsBytes(new TimeSlotListResponse(slots));
+            normalizedNanos += System.nanoTime() - start;
+        }
+        System.out.printf("500 slots, 12 rooms: embedded %d bytes in %d us, normalized %d bytes in %d us%n",
+                embedded.length(), embeddedNanos / 50_000, normalized.length(), normalizedNanos / 50_000);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getTimeSlotsByRoom_shouldReturnNotModified_untilRoomSlotsChange() throws Exception {
+        String etag = mockMvc.perform(get("/api/timeslots/room/" + testRoomId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/timeslots/room/" + testRoomId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        TimeSlotRequest req = new TimeSlotRequest();
+        req.setDate(LocalDate.now().plusDays(4));
+        req.setStartTime(LocalTime.of(15, 0));
+        req.setEndTime(LocalTime.of(16, 0));
+        req.setRoomId(testRoomId);
+        mockMvc.perform(post("/api/timeslots")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/timeslots/room/" + testRoomId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    private TimeSlot saveSlot(Room room, LocalDate date, LocalTime startTime) {
+        TimeSlot slot = new TimeSlot();
+        slot.setRoom(room);
+        slot.setDate(date);
+        slot.setStartTime(startTime);
+        slot.setEndTime(startTime.plusHours(1));
+        return timeSlotRepository.save(slot);
+    }
 }
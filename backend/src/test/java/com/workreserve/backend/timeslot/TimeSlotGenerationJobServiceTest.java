@@ -0,0 +1,193 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.exception.ResourceNotFoundException;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationJobRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationJobResponse;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class TimeSlotGenerationJobServiceTest {
+
+    @Mock
+    private TimeSlotGenerationPipeline timeSlotGenerationPipeline;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TimeSlotGenerationJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jobService.start();
+        when(timeSlotGenerationPipeline.expand(any())).thenAnswer(invocation -> {
+            List<TimeSlotGenerationPipeline.Candidate> candidates = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                candidates.add(new TimeSlotGenerationPipeline.Candidate(LocalDate.now(), LocalTime.of(8, 0), LocalTime.of(9, 0)));
+            }
+            return candidates;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.stop();
+    }
+
+    @Test
+    void submit_runsRoomsInParallelAndInvalidatesCachesWhenDone() throws Exception {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(timeSlotGenerationPipeline.generate(any(), any())).thenAnswer(invocation -> {
+            TimeSlotGenerationPipeline.ProgressListener listener = invocation.getArgument(1);
+            threads.add(Thread.currentThread().getName());
+            bothRunning.countDown();
+            assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+            listener.onConflictsSkipped(2);
+            listener.onChunkInserted(5);
+            listener.onChunkInserted(3);
+            return new TimeSlotGenerationResult();
+        });
+
+        TimeSlotGenerationJobResponse submitted = jobService.submit(jobRequest(1L, 2L));
+        assertEquals(20, submitted.getCandidates());
+        assertEquals(2, submitted.getRooms());
+
+        TimeSlotGenerationJobResponse finished = awaitFinished(submitted.getJobId());
+        assertEquals(TimeSlotGenerationJobStatus.COMPLETED, finished.getStatus());
+        assertEquals(16, finished.getCreated());
+        assertEquals(4, finished.getConflictsSkipped());
+        assertEquals(2, finished.getRoomsCompleted());
+        assertEquals(0L, finished.getEstimatedSecondsRemaining());
+        assertEquals(2, threads.size());
+        verify(eventPublisher, times(2)).publishEvent(argThat((Object event) ->
+                event instanceof TimeSlotChangeEvent change && change.type() == TimeSlotChangeType.GENERATED));
+    }
+
+    @Test
+    void submit_reportsFailedRoomsWithoutStoppingOthers() throws Exception {
+        when(timeSlotGenerationPipeline.generate(argThat(request -> request != null && request.getRoomId() == 1L), any()))
+                .thenThrow(new ResourceNotFoundException("Room not found"));
+        when(timeSlotGenerationPipeline.generate(argThat(request -> request != null && request.getRoomId() == 2L), any()))
+                .thenAnswer(invocation -> {
+                    TimeSlotGenerationPipeline.ProgressListener listener = invocation.getArgument(1);
+                    listener.onConflictsSkipped(0);
+                    listener.onChunkInserted(10);
+                    return new TimeSlotGenerationResult();
+                });
+
+        TimeSlotGenerationJobResponse finished = awaitFinished(jobService.submit(jobRequest(1L, 2L)).getJobId());
+
+        assertEquals(TimeSlotGenerationJobStatus.FAILED, finished.getStatus());
+        assertEquals(1, finished.getRoomsFailed());
+        assertEquals(1, finished.getRoomsCompleted());
+        assertEquals(10, finished.getCreated());
+        assertEquals(List.of("Room 1: Room not found"), finished.getErrors());
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void progress_nonReadingSubscriberDoesNotBlockGeneration() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger sends = new AtomicInteger();
+        SseEmitter nonReading = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sends.incrementAndGet();
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Broken pipe");
+            }
+        };
+        ExecutorService sender = Executors.newCachedThreadPool();
+        try {
+            TimeSlotGenerationJob job = new TimeSlotGenerationJob("job", 1, 1000, sender);
+            job.subscribe(nonReading);
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                job.markRunning();
+                for (int chunk = 0; chunk < 100; chunk++) {
+                    job.onChunkInserted(10);
+                }
+                job.roomCompleted();
+                job.finish();
+            });
+            assertEquals(TimeSlotGenerationJobStatus.COMPLETED, job.toResponse().getStatus());
+            assertEquals(1000, job.toResponse().getCreated());
+
+            // The progress made while the write was stuck is dropped with the client.
+            release.countDown();
+            sender.shutdown();
+            assertTrue(sender.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(1, sends.get());
+        } finally {
+            sender.shutdownNow();
+        }
+    }
+
+    @Test
+    void getJob_unknownId_throws() {
+        assertThrows(ResourceNotFoundException.class, () -> jobService.getJob("missing"));
+    }
+
+    private TimeSlotGenerationJobResponse awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        TimeSlotGenerationJobResponse response = jobService.getJob(jobId);
+        while (response.getFinishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            response = jobService.getJob(jobId);
+        }
+        assertNotNull(response.getFinishedAt(), "Job did not finish in time");
+        return response;
+    }
+
+    private TimeSlotGenerationJobRequest jobRequest(Long... roomIds) {
+        List<TimeSlotGenerationRequest> generations = new ArrayList<>();
+        for (Long roomId : roomIds) {
+            TimeSlotGenerationRequest generation = new TimeSlotGenerationRequest();
+            generation.setRoomId(roomId);
+            generation.setStartDate(LocalDate.now().plusDays(1));
+            generation.setEndDate(LocalDate.now().plusDays(10));
+            generation.setTimeSlots(Collections.emptyList());
+            generations.add(generation);
+        }
+        TimeSlotGenerationJobRequest request = new TimeSlotGenerationJobRequest();
+        request.setGenerations(generations);
+        return request;
+    }
+}
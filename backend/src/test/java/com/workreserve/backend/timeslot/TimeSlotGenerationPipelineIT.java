@@ -0,0 +1,200 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.config.TestConfig;
+import com.workreserve.backend.reservation.ReservationRepository;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.room.RoomType;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class TimeSlotGenerationPipelineIT {
+
+    private static final LocalDate START = LocalDate.of(2027, 1, 4);
+
+    @Autowired
+    private TimeSlotGenerationPipeline pipeline;
+
+    @Autowired
+    private TimeSlotIntervalIndex timeSlotIntervalIndex;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private List<Room> rooms;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        rooms = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Room room = new Room();
+            room.setName("Generation Room " + i);
+            room.setType(RoomType.CONFERENCE_ROOM);
+            room.setPricePerHour(20.0);
+            room.setCapacity(6);
+            rooms.add(roomRepository.save(room));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void generate_insertsNonConflictingCandidatesAndSkipsExistingOnes() {
+        Room room = rooms.get(0);
+        TimeSlot existing = new TimeSlot();
+        existing.setRoom(room);
+        existing.setDate(START);
+        existing.setStartTime(LocalTime.of(9, 30));
+        existing.setEndTime(LocalTime.of(10, 30));
+        timeSlotRepository.save(existing);
+
+        ReflectionTestUtils.setField(pipeline, "batchSize", 3);
+        TimeSlotGenerationResult result = pipeline.generate(request(room.getId(), START, START.plusDays(6), 3, false));
+
+        assertEquals(21, result.getCandidates());
+        assertEquals(19, result.getCreated());
+        assertEquals(2, result.getConflictsSkipped());
+        assertEquals(19, new HashSet<>(result.getCreatedIds()).size());
+        assertEquals(20, timeSlotRepository.findByRoomId(room.getId()).size());
+        assertTrue(timeSlotIntervalIndex.hasConflict(room.getId(), START.plusDays(6),
+                LocalTime.of(10, 15), LocalTime.of(10, 45), null));
+    }
+
+    @Test
+    void generate_rejectsTemplatesOverlappingEachOther() {
+        Room room = rooms.get(0);
+        TimeSlotGenerationRequest request = request(room.getId(), START, START.plusDays(1), 1, false);
+        request.getTimeSlots().add(template(LocalTime.of(8, 30), LocalTime.of(9, 30)));
+
+        TimeSlotGenerationResult result = pipeline.generate(request);
+
+        assertEquals(4, result.getCandidates());
+        assertEquals(2, result.getCreated());
+    }
+
+    @Test
+    void generate_honoursWeekendAndWeekDayFilters() {
+        Room room = rooms.get(0);
+        TimeSlotGenerationRequest request = request(room.getId(), START, START.plusDays(13), 1, true);
+        request.setRepeatWeekly(true);
+        request.setWeekDays(List.of(DayOfWeek.MONDAY.getValue(), DayOfWeek.SATURDAY.getValue()));
+
+        TimeSlotGenerationResult result = pipeline.generate(request);
+
+        assertEquals(2, result.getCreated());
+        assertTrue(timeSlotRepository.findByRoomId(room.getId()).stream()
+                .allMatch(slot -> slot.getDate().getDayOfWeek() == DayOfWeek.MONDAY));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_batchedPipelineAgainstPerRowSaves() {
+        for (int total : new int[] {10_000, 100_000}) {
+            int days = total / (rooms.size() * 10);
+
+            cleanSlots();
+            long legacyStart = System.nanoTime();
+            for (Room room : rooms) {
+                legacyGenerate(room, request(room.getId(), START, START.plusDays(days - 1), 10, false));
+            }
+            long legacyMillis = (System.nanoTime() - legacyStart) / 1_000_000;
+
+            cleanSlots();
+            long pipelineStart = System.nanoTime();
+            int created = 0;
+            for (Room room : rooms) {
+                created += pipeline.generate(request(room.getId(), START, START.plusDays(days - 1), 10, false)).getCreated();
+            }
+            long pipelineMillis = (System.nanoTime() - pipelineStart) / 1_000_000;
+
+            assertEquals(total, created);
+            System.out.printf("Generated %d slots: per-row saves %d ms, batched pipeline %d ms%n",
+                    total, legacyMillis, pipelineMillis);
+        }
+    }
+
+    // The generation loop as it was before the pipeline: one conflict query and one insert per candidate.
+    private void legacyGenerate(Room room, TimeSlotGenerationRequest request) {
+        for (LocalDate date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+            for (TimeSlotGenerationRequest.TimeSlotTemplate template : request.getTimeSlots()) {
+                LocalTime startTime = LocalTime.parse(template.getStartTime());
+                LocalTime endTime = LocalTime.parse(template.getEndTime());
+                boolean conflict = timeSlotRepository.findByRoomIdAndDate(room.getId(), date).stream()
+                        .anyMatch(slot -> slot.getStartTime().isBefore(endTime) && slot.getEndTime().isAfter(startTime));
+                if (!conflict) {
+                    TimeSlot slot = new TimeSlot();
+                    slot.setRoom(room);
+                    slot.setDate(date);
+                    slot.setStartTime(startTime);
+                    slot.setEndTime(endTime);
+                    timeSlotRepository.save(slot);
+                }
+            }
+        }
+    }
+
+    private TimeSlotGenerationRequest request(Long roomId, LocalDate startDate, LocalDate endDate, int slotsPerDay,
+                                              boolean skipWeekends) {
+        TimeSlotGenerationRequest request = new TimeSlotGenerationRequest();
+        request.setRoomId(roomId);
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        request.setSkipWeekends(skipWeekends);
+        List<TimeSlotGenerationRequest.TimeSlotTemplate> templates = new ArrayList<>();
+        for (int i = 0; i < slotsPerDay; i++) {
+            templates.add(template(LocalTime.of(8 + i, 0), LocalTime.of(9 + i, 0)));
+        }
+        request.setTimeSlots(templates);
+        return request;
+    }
+
+    private TimeSlotGenerationRequest.TimeSlotTemplate template(LocalTime startTime, LocalTime endTime) {
+        TimeSlotGenerationRequest.TimeSlotTemplate template = new TimeSlotGenerationRequest.TimeSlotTemplate();
+        template.setStartTime(startTime.toString());
+        template.setEndTime(endTime.toString());
+        return template;
+    }
+
+    private void cleanSlots() {
+        timeSlotRepository.deleteAllInBatch();
+        timeSlotIntervalIndex.evictBefore(LocalDate.MAX);
+    }
+
+    private void cleanUp() {
+        reservationRepository.deleteAll();
+        cleanSlots();
+        roomRepository.deleteAll();
+        ReflectionTestUtils.setField(pipeline, "batchSize", 1000);
+    }
+}
@@ -0,0 +1,129 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.room.Room;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TimeSlotIntervalIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 11, 3);
+
+    @Mock
+    private TimeSlotRepository timeSlotRepository;
+
+    @InjectMocks
+    private TimeSlotIntervalIndex index;
+
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        room = new Room();
+        room.setId(7L);
+    }
+
+    @Test
+    void findConflictingSlotIds_detectsOverlapButNotAdjacency() {
+        when(timeSlotRepository.findByRoomIdAndDate(7L, DAY))
+                .thenReturn(List.of(slot(1L, DAY, 9, 10), slot(2L, DAY, 11, 12)));
+
+        assertTrue(indexed(7L, DAY, LocalTime.of(9, 30), LocalTime.of(10, 30), null));
+        assertTrue(indexed(7L, DAY, LocalTime.of(8, 0), LocalTime.of(13, 0), null));
+        assertFalse(indexed(7L, DAY, LocalTime.of(10, 0), LocalTime.of(11, 0), null));
+        assertFalse(indexed(7L, DAY, LocalTime.of(12, 0), LocalTime.of(13, 0), null));
+        assertEquals(List.of(2L, 1L), index.findConflictingSlotIds(7L, DAY, LocalTime.of(8, 0), LocalTime.of(13, 0), null));
+    }
+
+    @Test
+    void findConflictingSlotIds_ignoresExcludedSlot() {
+        when(timeSlotRepository.findByRoomIdAndDate(7L, DAY)).thenReturn(List.of(slot(1L, DAY, 9, 10)));
+
+        assertFalse(indexed(7L, DAY, LocalTime.of(9, 0), LocalTime.of(10, 0), 1L));
+        assertTrue(indexed(7L, DAY, LocalTime.of(9, 0), LocalTime.of(10, 0), 2L));
+    }
+
+    @Test
+    void roomDay_isLoadedFromDatabaseOnlyOnce() {
+        when(timeSlotRepository.findByRoomIdAndDate(7L, DAY)).thenReturn(new ArrayList<>());
+
+        for (int hour = 8; hour < 18; hour++) {
+            indexed(7L, DAY, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0), null);
+        }
+
+        verify(timeSlotRepository, times(1)).findByRoomIdAndDate(7L, DAY);
+    }
+
+    @Test
+    void addRemoveAndMove_keepIndexInSync() {
+        when(timeSlotRepository.findByRoomIdAndDate(any(), any())).thenReturn(new ArrayList<>());
+
+        LocalDate nextDay = DAY.plusDays(1);
+        assertFalse(indexed(7L, DAY, LocalTime.of(14, 0), LocalTime.of(15, 0), null));
+        assertFalse(indexed(7L, nextDay, LocalTime.of(14, 0), LocalTime.of(15, 0), null));
+
+        TimeSlot slot = slot(5L, DAY, 14, 15);
+        index.add(slot);
+        assertTrue(indexed(7L, DAY, LocalTime.of(14, 30), LocalTime.of(16, 0), null));
+
+        slot.setDate(nextDay);
+        index.move(7L, DAY, slot);
+        assertFalse(indexed(7L, DAY, LocalTime.of(14, 30), LocalTime.of(16, 0), null));
+        assertTrue(indexed(7L, nextDay, LocalTime.of(14, 30), LocalTime.of(16, 0), null));
+
+        index.remove(5L, 7L, nextDay);
+        assertFalse(indexed(7L, nextDay, LocalTime.of(14, 30), LocalTime.of(16, 0), null));
+    }
+
+    @Test
+    void hasConflict_confirmsAgainstDatabaseAndReloadsStaleDay() {
+        when(timeSlotRepository.findByRoomIdAndDate(7L, DAY)).thenReturn(new ArrayList<>());
+        assertFalse(indexed(7L, DAY, LocalTime.of(9, 0), LocalTime.of(10, 0), null));
+
+        // Another node stores 9:00-10:00 after this node loaded the day.
+        when(timeSlotRepository.findByRoomIdAndDate(7L, DAY)).thenReturn(List.of(slot(1L, DAY, 9, 10)));
+        when(timeSlotRepository.existsByRoomIdAndDateAndStartTimeLessThanAndEndTimeGreaterThanAndIdNot(
+                7L, DAY, LocalTime.of(10, 0), LocalTime.of(9, 0), 0L)).thenReturn(true);
+
+        assertTrue(index.hasConflict(7L, DAY, LocalTime.of(9, 0), LocalTime.of(10, 0), null));
+        assertTrue(indexed(7L, DAY, LocalTime.of(9, 0), LocalTime.of(10, 0), null));
+        verify(timeSlotRepository, times(2)).findByRoomIdAndDate(7L, DAY);
+    }
+
+    @Test
+    void rebuild_loadsUpcomingSlotsInOneQuery() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        when(timeSlotRepository.findByDateGreaterThanEqualOrderByDateAscStartTimeAsc(any()))
+                .thenReturn(List.of(slot(1L, tomorrow, 9, 10), slot(2L, tomorrow, 10, 11)));
+
+        index.rebuild();
+
+        assertTrue(indexed(7L, tomorrow, LocalTime.of(9, 30), LocalTime.of(9, 45), null));
+        verify(timeSlotRepository, never()).findByRoomIdAndDate(any(), any());
+    }
+
+    private boolean indexed(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime, Long excludedSlotId) {
+        return !index.findConflictingSlotIds(roomId, date, startTime, endTime, excludedSlotId).isEmpty();
+    }
+
+    private TimeSlot slot(Long id, LocalDate date, int startHour, int endHour) {
+        TimeSlot slot = new TimeSlot();
+        slot.setId(id);
+        slot.setRoom(room);
+        slot.setDate(date);
+        slot.setStartTime(LocalTime.of(startHour, 0));
+        slot.setEndTime(LocalTime.of(endHour, 0));
+        return slot;
+    }
+}
@@ -0,0 +1,164 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.config.TestConfig;
+import com.workreserve.backend.reservation.Reservation;
+import com.workreserve.backend.reservation.ReservationRepository;
+import com.workreserve.backend.reservation.ReservationStatus;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.room.RoomType;
+import com.workreserve.backend.user.Role;
+import com.workreserve.backend.user.User;
+import com.workreserve.backend.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class TimeSlotQueryCountIT {
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Room> rooms;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        rooms = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Room room = new Room();
+            room.setName("Query Count Room " + i);
+            room.setType(RoomType.CONFERENCE_ROOM);
+            room.setPricePerHour(20.0);
+            room.setCapacity(6);
+            room.setImageUrls(new ArrayList<>(List.of("/uploads/rooms/" + i + ".png")));
+            rooms.add(roomRepository.save(room));
+        }
+
+        users = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            User user = new User();
+            user.setFullName("Query Count User " + i);
+            user.setEmail("querycount" + i + "@example.com");
+            user.setPassword("$2a$10$dummyhash");
+            user.setRole(Role.USER);
+            user.setTwoFactorEnabled(false);
+            users.add(userRepository.save(user));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void listEndpoints_issueSameNumberOfQueries_regardlessOfSlotCount() {
+        seedSlots(4);
+        long[] small = measureAllListEndpoints();
+
+        seedSlots(80);
+        long[] large = measureAllListEndpoints();
+
+        assertArrayEquals(small, large, "Query count must not grow with the number of slots returned");
+        for (long count : large) {
+            assertTrue(count <= 3, "Expected at most slots + reservations + rooms queries, got " + count);
+        }
+    }
+
+    private long[] measureAllListEndpoints() {
+        LocalDate from = LocalDate.now();
+        LocalDate to = LocalDate.now().plusDays(30);
+        Long roomId = rooms.get(0).getId();
+        return new long[] {
+            countQueries(() -> timeSlotService.getAllTimeSlots()),
+            countQueries(() -> timeSlotService.getTimeSlotsByDateRange(from, to)),
+            countQueries(() -> timeSlotService.getTimeSlotsByRoom(roomId)),
+            countQueries(() -> timeSlotService.getAvailableTimeSlots(from, to))
+        };
+    }
+
+    private long countQueries(Supplier<?> call) {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics.clear();
+        Object result = call.get();
+        assertNotNull(result);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedSlots(int count) {
+        reservationRepository.deleteAll();
+        timeSlotRepository.deleteAll();
+
+        for (int i = 0; i < count; i++) {
+            TimeSlot slot = new TimeSlot();
+            slot.setRoom(rooms.get(i % rooms.size()));
+            slot.setDate(LocalDate.now().plusDays(1 + i / 30));
+            slot.setStartTime(LocalTime.of(7 + (i / rooms.size()) % 10, 0));
+            slot.setEndTime(LocalTime.of(8 + (i / rooms.size()) % 10, 0));
+            slot = timeSlotRepository.save(slot);
+
+            if (i % 2 == 0) {
+                Reservation reservation = new Reservation();
+                reservation.setSlot(slot);
+                reservation.setUser(users.get(i % users.size()));
+                reservation.setTeamSize(2);
+                reservation.setTotalCost(20.0);
+                reservation.setStatus(ReservationStatus.CONFIRMED);
+                reservation = reservationRepository.save(reservation);
+                timeSlotRepository.markBooked(slot.getId(), reservation.getId());
+            }
+        }
+    }
+
+    private void cleanUp() {
+        reservationRepository.deleteAll();
+        timeSlotRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.findAll().stream()
+                .filter(user -> user.getEmail().startsWith("querycount"))
+                .forEach(userRepository::delete);
+    }
+}
@@ -0,0 +1,139 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.config.TestConfig;
+import com.workreserve.backend.reservation.Reservation;
+import com.workreserve.backend.reservation.ReservationRepository;
+import com.workreserve.backend.reservation.ReservationStatus;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.room.RoomType;
+import com.workreserve.backend.user.Role;
+import com.workreserve.backend.user.User;
+import com.workreserve.backend.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class TimeSlotReservationPointerCheckerIT {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(2);
+
+    @Autowired
+    private TimeSlotReservationPointerChecker checker;
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Room room;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        room = new Room();
+        room.setName("Pointer Room");
+        room.setType(RoomType.CONFERENCE_ROOM);
+        room.setPricePerHour(10.0);
+        room.setCapacity(4);
+        room.setImageUrls(new ArrayList<>());
+        room = roomRepository.save(room);
+
+        user = new User();
+        user.setFullName("Pointer User");
+        user.setEmail("pointercheck@example.com");
+        user.setPassword("$2a$10$dummyhash");
+        user.setRole(Role.USER);
+        user.setTwoFactorEnabled(false);
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void repair_fixesMissingAndStalePointers() {
+        TimeSlot consistent = slot(9);
+        timeSlotRepository.markBooked(consistent.getId(), reserve(consistent, ReservationStatus.CONFIRMED).getId());
+
+        TimeSlot missing = slot(10);
+        Reservation missingReservation = reserve(missing, ReservationStatus.PENDING);
+
+        TimeSlot stale = slot(11);
+        Reservation staleReservation = reserve(stale, ReservationStatus.CANCELLED);
+        timeSlotRepository.markBooked(stale.getId(), staleReservation.getId());
+
+        TimeSlot free = slot(12);
+
+        assertEquals(List.of(room.getId()), roomAvailabilityIndex.findAvailableRoomIds(DAY, LocalTime.of(10, 0), LocalTime.of(11, 0)));
+
+        assertEquals(2, checker.repair());
+
+        assertEquals(missingReservation.getId(), pointer(missing));
+        assertNull(pointer(stale));
+        assertNotNull(pointer(consistent));
+        assertNull(pointer(free));
+        assertEquals(List.of(), roomAvailabilityIndex.findAvailableRoomIds(DAY, LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        assertEquals(List.of(room.getId()), roomAvailabilityIndex.findAvailableRoomIds(DAY, LocalTime.of(11, 0), LocalTime.of(12, 0)));
+        assertEquals(0, checker.repair());
+    }
+
+    private Long pointer(TimeSlot slot) {
+        return timeSlotRepository.findById(slot.getId()).orElseThrow().getActiveReservationId();
+    }
+
+    private TimeSlot slot(int hour) {
+        TimeSlot slot = new TimeSlot();
+        slot.setRoom(room);
+        slot.setDate(DAY);
+        slot.setStartTime(LocalTime.of(hour, 0));
+        slot.setEndTime(LocalTime.of(hour + 1, 0));
+        return timeSlotRepository.save(slot);
+    }
+
+    private Reservation reserve(TimeSlot slot, ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setSlot(slot);
+        reservation.setUser(user);
+        reservation.setTeamSize(1);
+        reservation.setTotalCost(10.0);
+        reservation.setStatus(status);
+        return reservationRepository.save(reservation);
+    }
+
+    private void cleanUp() {
+        reservationRepository.deleteAll();
+        timeSlotRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.findByEmail("pointercheck@example.com").ifPresent(userRepository::delete);
+        roomAvailabilityIndex.evictBefore(LocalDate.MAX);
+    }
+}
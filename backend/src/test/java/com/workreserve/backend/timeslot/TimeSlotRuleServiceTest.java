@@ -0,0 +1,251 @@
+package com.workreserve.backend.timeslot;
+
+import com.workreserve.backend.exception.ConflictException;
+import com.workreserve.backend.exception.ValidationException;
+import com.workreserve.backend.room.Room;
+import com.workreserve.backend.room.RoomRepository;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotRuleRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TimeSlotRuleServiceTest {
+
+    // A Monday.
+    private static final LocalDate MONDAY = LocalDate.of(2026, 11, 2);
+
+    @Mock
+    private TimeSlotRuleRepository timeSlotRuleRepository;
+    @Mock
+    private TimeSlotRepository timeSlotRepository;
+    @Mock
+    private RoomRepository roomRepository;
+    @Mock
+    private TimeSlotIntervalIndex timeSlotIntervalIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TimeSlotRuleService timeSlotRuleService;
+
+    private Room room;
+    private TimeSlotRule rule;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        room = new Room();
+        room.setId(3L);
+        room.setName("Rule Room");
+
+        // Mondays and Wednesdays, two slots a day, for two weeks, except the second Monday.
+        rule = new TimeSlotRule();
+        rule.setId(7L);
+        rule.setRoom(room);
+        rule.setWeekDays(Set.of(1, 3));
+        rule.setTimes(List.of(new TimeSlotRuleTime(LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                new TimeSlotRuleTime(LocalTime.of(14, 0), LocalTime.of(15, 30))));
+        rule.setValidFrom(MONDAY);
+        rule.setValidUntil(MONDAY.plusDays(13));
+        rule.setExceptions(Set.of(MONDAY.plusDays(7)));
+        when(timeSlotRuleRepository.findAll()).thenReturn(List.of(rule));
+        timeSlotRuleService.refresh();
+    }
+
+    @Test
+    void expand_followsWeekDaysValidityAndExceptions() {
+        List<TimeSlotRuleService.VirtualSlot> slots = timeSlotRuleService.expand(
+                MONDAY.minusDays(7), MONDAY.plusDays(30), List.of());
+
+        assertEquals(List.of(MONDAY, MONDAY, MONDAY.plusDays(2), MONDAY.plusDays(2), MONDAY.plusDays(9), MONDAY.plusDays(9)),
+                slots.stream().map(TimeSlotRuleService.VirtualSlot::date).toList());
+        assertTrue(slots.stream().allMatch(slot -> slot.id() < 0 && slot.roomId().equals(3L)));
+        assertEquals(slots.size(), slots.stream().map(TimeSlotRuleService.VirtualSlot::id).distinct().count());
+    }
+
+    @Test
+    void expand_skipsMaterializedOccurrences() {
+        TimeSlot stored = slot(MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        List<TimeSlotRuleService.VirtualSlot> slots = timeSlotRuleService.expand(MONDAY, MONDAY, List.of(stored));
+
+        assertEquals(1, slots.size());
+        assertEquals(LocalTime.of(14, 0), slots.get(0).startTime());
+    }
+
+    @Test
+    void expand_skipsOccurrencesOverlappingStoredSlots() {
+        TimeSlot stored = slot(MONDAY, LocalTime.of(9, 30), LocalTime.of(11, 0));
+
+        List<TimeSlotRuleService.VirtualSlot> slots = timeSlotRuleService.expand(MONDAY, MONDAY, List.of(stored));
+
+        assertEquals(List.of(LocalTime.of(14, 0)), slots.stream().map(TimeSlotRuleService.VirtualSlot::startTime).toList());
+    }
+
+    @Test
+    void overlapsOccurrence_ignoresTheOccurrenceBeingEdited() {
+        TimeSlotRuleService.SlotKey occurrence = new TimeSlotRuleService.SlotKey(3L, MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        assertTrue(timeSlotRuleService.overlapsOccurrence(3L, MONDAY, LocalTime.of(9, 30), LocalTime.of(10, 30), null));
+        assertFalse(timeSlotRuleService.overlapsOccurrence(3L, MONDAY, LocalTime.of(9, 30), LocalTime.of(10, 30), occurrence));
+        assertFalse(timeSlotRuleService.overlapsOccurrence(3L, MONDAY, LocalTime.of(10, 0), LocalTime.of(14, 0), null));
+        assertFalse(timeSlotRuleService.overlapsOccurrence(4L, MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0), null));
+    }
+
+    @Test
+    void findVirtualSlot_decodesIdsProducedByExpand() {
+        for (TimeSlotRuleService.VirtualSlot slot : timeSlotRuleService.expand(MONDAY, MONDAY.plusDays(13), List.of())) {
+            assertEquals(Optional.of(slot), timeSlotRuleService.findVirtualSlot(slot.id()));
+        }
+        long exceptionDayId = -((7L << 32) | (MONDAY.plusDays(7).toEpochDay() << 8));
+        assertTrue(timeSlotRuleService.findVirtualSlot(exceptionDayId).isEmpty());
+        assertTrue(timeSlotRuleService.findVirtualSlot(5L).isEmpty());
+    }
+
+    @Test
+    void findVirtualSlots_keepsOccurrencesOnSeriesDatesWithinItsHours() {
+        // The second Monday is an exception and the Wednesday's morning occurrence is stored already.
+        TimeSlot stored = slot(MONDAY.plusDays(9), LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        List<TimeSlot> slots = timeSlotRuleService.findVirtualSlots(room, List.of(MONDAY, MONDAY.plusDays(7), MONDAY.plusDays(9)),
+                LocalTime.of(8, 0), LocalTime.of(12, 0), List.of(stored));
+
+        assertEquals(List.of(MONDAY), slots.stream().map(TimeSlot::getDate).toList());
+        assertTrue(slots.stream().allMatch(slot -> TimeSlotRuleService.isVirtual(slot.getId())
+                && slot.getRoom() == room && slot.getStartTime().equals(LocalTime.of(9, 0))));
+        assertTrue(timeSlotRuleService.findVirtualSlots(room, List.of(), LocalTime.of(8, 0), LocalTime.of(12, 0), List.of()).isEmpty());
+    }
+
+    @Test
+    void materialize_savesOccurrenceOnce() {
+        TimeSlotRuleService.VirtualSlot virtualSlot = timeSlotRuleService.expand(MONDAY, MONDAY, List.of()).get(0);
+        when(timeSlotRepository.findByRoomIdAndDateAndStartTimeAndEndTime(3L, MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)))
+                .thenReturn(Optional.empty());
+        when(roomRepository.findById(3L)).thenReturn(Optional.of(room));
+        when(timeSlotRepository.save(any(TimeSlot.class))).thenAnswer(invocation -> {
+            TimeSlot saved = invocation.getArgument(0);
+            saved.setId(50L);
+            return saved;
+        });
+
+        TimeSlot saved = timeSlotRuleService.materialize(virtualSlot.id());
+
+        assertEquals(50L, saved.getId());
+        assertEquals(MONDAY, saved.getDate());
+        assertEquals(LocalTime.of(9, 0), saved.getStartTime());
+        verify(timeSlotIntervalIndex).add(saved);
+        verify(eventPublisher).publishEvent(any(TimeSlotChangeEvent.class));
+    }
+
+    @Test
+    void materialize_returnsRowCreatedConcurrently() {
+        TimeSlotRuleService.VirtualSlot virtualSlot = timeSlotRuleService.expand(MONDAY, MONDAY, List.of()).get(0);
+        TimeSlot concurrent = slot(MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        when(timeSlotRepository.findByRoomIdAndDateAndStartTimeAndEndTime(3L, MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(concurrent));
+        when(roomRepository.findById(3L)).thenReturn(Optional.of(room));
+        when(timeSlotRepository.save(any(TimeSlot.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertSame(concurrent, timeSlotRuleService.materialize(virtualSlot.id()));
+        verify(eventPublisher, never()).publishEvent(any(TimeSlotChangeEvent.class));
+    }
+
+    @Test
+    void materialize_rejectsOccurrenceOverlappingStoredSlot() {
+        TimeSlotRuleService.VirtualSlot virtualSlot = timeSlotRuleService.expand(MONDAY, MONDAY, List.of()).get(0);
+        when(timeSlotRepository.findByRoomIdAndDateAndStartTimeAndEndTime(3L, MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)))
+                .thenReturn(Optional.empty());
+        when(timeSlotIntervalIndex.hasConflict(3L, MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0), null)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> timeSlotRuleService.materialize(virtualSlot.id()));
+        verify(timeSlotRepository, never()).save(any());
+    }
+
+    @Test
+    void createRule_rejectsOverlappingTimes() {
+        TimeSlotRuleRequest request = request(MONDAY.plusDays(30), template("09:00", "10:00"), template("09:30", "11:00"));
+
+        assertThrows(ValidationException.class, () -> timeSlotRuleService.createRule(request));
+        verify(timeSlotRuleRepository, never()).save(any());
+    }
+
+    @Test
+    void createRule_rejectsOverlapWithAnotherRuleOfTheRoom() {
+        when(timeSlotRuleRepository.findByRoomId(3L)).thenReturn(List.of(rule));
+        when(roomRepository.findById(3L)).thenReturn(Optional.of(room));
+
+        // Monday at 09:30 overlaps the existing rule's first slot while both rules are valid.
+        TimeSlotRuleRequest overlapping = request(MONDAY.plusDays(7), template("09:30", "10:30"));
+        assertThrows(ConflictException.class, () -> timeSlotRuleService.createRule(overlapping));
+
+        // Starting after the existing rule has ended is fine.
+        TimeSlotRuleRequest later = request(MONDAY.plusDays(14), template("09:30", "10:30"));
+        when(timeSlotRuleRepository.save(any(TimeSlotRule.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        timeSlotRuleService.createRule(later);
+        verify(timeSlotRuleRepository).save(any(TimeSlotRule.class));
+    }
+
+    @Test
+    void createRule_rejectsInvertedTimes() {
+        TimeSlotRuleRequest request = new TimeSlotRuleRequest();
+        request.setRoomId(3L);
+        request.setWeekDays(List.of(1));
+        TimeSlotGenerationRequest.TimeSlotTemplate template = new TimeSlotGenerationRequest.TimeSlotTemplate();
+        template.setStartTime("10:00");
+        template.setEndTime("09:00");
+        request.setTimeSlots(new ArrayList<>(List.of(template)));
+        request.setValidFrom(MONDAY);
+        request.setValidUntil(MONDAY.plusDays(7));
+
+        assertThrows(ValidationException.class, () -> timeSlotRuleService.createRule(request));
+        verify(timeSlotRuleRepository, never()).save(any());
+    }
+
+    private TimeSlotRuleRequest request(LocalDate validFrom, TimeSlotGenerationRequest.TimeSlotTemplate... templates) {
+        TimeSlotRuleRequest request = new TimeSlotRuleRequest();
+        request.setRoomId(3L);
+        request.setWeekDays(List.of(1));
+        request.setTimeSlots(new ArrayList<>(List.of(templates)));
+        request.setValidFrom(validFrom);
+        request.setValidUntil(validFrom.plusDays(7));
+        return request;
+    }
+
+    private TimeSlotGenerationRequest.TimeSlotTemplate template(String startTime, String endTime) {
+        TimeSlotGenerationRequest.TimeSlotTemplate template = new TimeSlotGenerationRequest.TimeSlotTemplate();
+        template.setStartTime(startTime);
+        template.setEndTime(endTime);
+        return template;
+    }
+
+    private TimeSlot slot(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        TimeSlot timeSlot = new TimeSlot();
+        timeSlot.setId(11L);
+        timeSlot.setRoom(room);
+        timeSlot.setDate(date);
+        timeSlot.setStartTime(startTime);
+        timeSlot.setEndTime(endTime);
+        return timeSlot;
+    }
+}
@@ -6,16 +6,32 @@ import com.workreserve.backend.room.RoomService;
 import com.workreserve.backend.timeslot.DTO.TimeSlotRequest;
 import com.workreserve.backend.timeslot.DTO.TimeSlotResponse;
 import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationRequest;
+import com.workreserve.backend.timeslot.DTO.TimeSlotGenerationResult;
+import com.workreserve.backend.timeslot.DTO.TimeSlotPageResponse;
+import com.workreserve.backend.timeslot.DTO.TimeSlotSearchRequest;
+import com.workreserve.backend.reservation.Reservation;
 import com.workreserve.backend.reservation.ReservationRepository;
+import com.workreserve.backend.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.Optional;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -33,13 +49,52 @@ class TimeSlotServiceTest {
     private RoomService roomService;
     @Mock
     private ReservationRepository reservationRepository;
+    @Mock
+    private TimeSlotGenerationPipeline timeSlotGenerationPipeline;
+    @Mock
+    private TimeSlotRuleService timeSlotRuleService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private TimeSlotService timeSlotService;
 
+    private TimeSlotViewAssembler timeSlotViewAssembler;
+
+    private TimeSlotIntervalIndex timeSlotIntervalIndex;
+
+    private TimeSlotSegmentCache timeSlotSegmentCache;
+
+    private MutableClock clock;
+
+    @Captor
+    private ArgumentCaptor<Collection<LocalDate>> loadedDays;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+
+        timeSlotViewAssembler = new TimeSlotViewAssembler();
+        ReflectionTestUtils.setField(timeSlotViewAssembler, "reservationRepository", reservationRepository);
+        ReflectionTestUtils.setField(timeSlotViewAssembler, "roomService", roomService);
+        clock = new MutableClock(Instant.now());
+        ReflectionTestUtils.setField(timeSlotViewAssembler, "clock", clock);
+        ReflectionTestUtils.setField(timeSlotService, "clock", clock);
+        ReflectionTestUtils.setField(timeSlotService, "timeSlotViewAssembler", timeSlotViewAssembler);
+
+        timeSlotIntervalIndex = new TimeSlotIntervalIndex();
+        ReflectionTestUtils.setField(timeSlotIntervalIndex, "timeSlotRepository", timeSlotRepository);
+        ReflectionTestUtils.setField(timeSlotService, "timeSlotIntervalIndex", timeSlotIntervalIndex);
+
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        ReflectionTestUtils.setField(timeSlotService, "cacheManager", cacheManager);
+
+        timeSlotSegmentCache = new TimeSlotSegmentCache();
+        ReflectionTestUtils.setField(timeSlotSegmentCache, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(timeSlotSegmentCache, "timeSlotRepository", timeSlotRepository);
+        ReflectionTestUtils.setField(timeSlotSegmentCache, "reservationRepository", reservationRepository);
+        ReflectionTestUtils.setField(timeSlotSegmentCache, "timeSlotRuleService", timeSlotRuleService);
+        ReflectionTestUtils.setField(timeSlotService, "timeSlotSegmentCache", timeSlotSegmentCache);
     }
 
     @Test
@@ -58,7 +113,7 @@ class TimeSlotServiceTest {
         roomResponse.setId(10L);
         
         when(timeSlotRepository.findById(1L)).thenReturn(Optional.of(slot));
-        when(roomService.getRoomById(10L)).thenReturn(roomResponse);
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(10L, roomResponse));
         when(reservationRepository.existsBySlotIdAndStatusNot(1L, com.workreserve.backend.reservation.ReservationStatus.CANCELLED)).thenReturn(false);
         
         TimeSlotResponse res = timeSlotService.getTimeSlotById(1L);
@@ -88,14 +143,100 @@ class TimeSlotServiceTest {
         roomResponse.setId(1L);
         
         when(timeSlotRepository.findAll()).thenReturn(List.of(slot));
-        when(roomService.getRoomById(1L)).thenReturn(roomResponse);
-        when(reservationRepository.findBySlotIdAndStatusNot(1L, com.workreserve.backend.reservation.ReservationStatus.CANCELLED)).thenReturn(Collections.emptyList());
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+        when(reservationRepository.findActiveBySlotIdsWithUser(any())).thenReturn(Collections.emptyList());
         
         List<TimeSlotResponse> result = timeSlotService.getAllTimeSlots();
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).getId());
     }
 
+    @Test
+    void getAllTimeSlots_sharesCachedEntryAndAppliesCurrentUserPerRequest() {
+        Room room = new Room();
+        room.setId(1L);
+
+        TimeSlot slot = new TimeSlot();
+        slot.setId(1L);
+        slot.setRoom(room);
+        slot.setDate(LocalDate.now().plusDays(1));
+        slot.setStartTime(LocalTime.of(9, 0));
+        slot.setEndTime(LocalTime.of(10, 0));
+
+        User booker = new User();
+        booker.setId(5L);
+        booker.setFullName("Booker");
+        User other = new User();
+        other.setId(6L);
+
+        Reservation reservation = new Reservation();
+        reservation.setId(1L);
+        reservation.setSlot(slot);
+        reservation.setUser(booker);
+        slot.setActiveReservationId(1L);
+
+        com.workreserve.backend.room.DTO.RoomResponse roomResponse = new com.workreserve.backend.room.DTO.RoomResponse();
+        roomResponse.setId(1L);
+
+        when(timeSlotRepository.findAll()).thenReturn(List.of(slot));
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+        when(reservationRepository.findActiveBySlotIdsWithUser(any())).thenReturn(List.of(reservation));
+
+        try {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(booker, null, List.of()));
+            assertTrue(timeSlotService.getAllTimeSlots().get(0).isBookedByCurrentUser());
+
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(other, null, List.of()));
+            TimeSlotResponse otherView = timeSlotService.getAllTimeSlots().get(0);
+            assertFalse(otherView.isBookedByCurrentUser());
+            assertEquals("Booker", otherView.getBookedByUserName());
+
+            SecurityContextHolder.clearContext();
+            assertFalse(timeSlotService.getAllTimeSlots().get(0).isBookedByCurrentUser());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        verify(timeSlotRepository, times(1)).findAll();
+        verify(reservationRepository, times(1)).findActiveBySlotIdsWithUser(any());
+    }
+
+    @Test
+    void getAllTimeSlots_computesPastStatusAtReadTimeFromClock() {
+        LocalDate day = LocalDate.now().plusDays(1);
+        clock.set(day.atTime(9, 30));
+
+        Room room = new Room();
+        room.setId(1L);
+
+        TimeSlot slot = new TimeSlot();
+        slot.setId(1L);
+        slot.setRoom(room);
+        slot.setDate(day);
+        slot.setStartTime(LocalTime.of(9, 0));
+        slot.setEndTime(LocalTime.of(10, 0));
+
+        com.workreserve.backend.room.DTO.RoomResponse roomResponse = new com.workreserve.backend.room.DTO.RoomResponse();
+        roomResponse.setId(1L);
+
+        when(timeSlotRepository.findAll()).thenReturn(List.of(slot));
+        when(timeSlotRepository.findByDateIn(any())).thenReturn(List.of(slot));
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+        when(reservationRepository.findActiveBySlotIdsWithUser(any())).thenReturn(Collections.emptyList());
+
+        assertTrue(timeSlotService.getAllTimeSlots().get(0).isAvailable());
+        assertTrue(timeSlotService.getTimeSlotsByDateRange(day, day).get(0).isAvailable());
+
+        clock.set(day.atTime(10, 0));
+        assertFalse(timeSlotService.getAllTimeSlots().get(0).isAvailable());
+        assertFalse(timeSlotService.getTimeSlotsByDateRange(day, day).get(0).isAvailable());
+
+        verify(timeSlotRepository, times(1)).findAll();
+        verify(timeSlotRepository, times(1)).findByDateIn(any());
+    }
+
     @Test
     void createTimeSlot_success() {
         TimeSlotRequest request = new TimeSlotRequest();
@@ -118,14 +259,16 @@ class TimeSlotServiceTest {
         roomResponse.setId(1L);
 
         when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
-        when(timeSlotRepository.findConflictingTimeSlots(1L, request.getDate(), request.getStartTime(), request.getEndTime()))
+        when(timeSlotRepository.findByRoomIdAndDate(1L, request.getDate()))
                 .thenReturn(Collections.emptyList());
         when(timeSlotRepository.save(any(TimeSlot.class))).thenReturn(saved);
-        when(roomService.getRoomById(1L)).thenReturn(roomResponse);
-        when(reservationRepository.findBySlotIdAndStatusNot(1L, com.workreserve.backend.reservation.ReservationStatus.CANCELLED)).thenReturn(Collections.emptyList());
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+        when(reservationRepository.findActiveBySlotIdsWithUser(any())).thenReturn(Collections.emptyList());
 
         TimeSlotResponse result = timeSlotService.createTimeSlot(request);
         assertEquals(1L, result.getId());
+        verify(eventPublisher).publishEvent(new TimeSlotChangeEvent(TimeSlotChangeType.CREATED, 1L, 1L,
+                request.getDate(), request.getDate(), null, null, null, null));
     }
 
     @Test
@@ -179,15 +322,42 @@ class TimeSlotServiceTest {
 
         TimeSlot conflictingSlot = new TimeSlot();
         conflictingSlot.setId(2L);
+        conflictingSlot.setRoom(room);
+        conflictingSlot.setDate(request.getDate());
+        conflictingSlot.setStartTime(LocalTime.of(9, 30));
+        conflictingSlot.setEndTime(LocalTime.of(10, 30));
 
         when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
-        when(timeSlotRepository.findConflictingTimeSlots(1L, request.getDate(), request.getStartTime(), request.getEndTime()))
+        when(timeSlotRepository.findByRoomIdAndDate(1L, request.getDate()))
                 .thenReturn(List.of(conflictingSlot));
+        when(timeSlotRepository.existsByRoomIdAndDateAndStartTimeLessThanAndEndTimeGreaterThanAndIdNot(
+                1L, request.getDate(), request.getEndTime(), request.getStartTime(), 0L)).thenReturn(true);
 
         ConflictException ex = assertThrows(ConflictException.class, () -> timeSlotService.createTimeSlot(request));
         assertEquals("Time slot conflicts with existing slot", ex.getMessage());
     }
 
+    @Test
+    void createTimeSlot_overlapsRuleOccurrence() {
+        TimeSlotRequest request = new TimeSlotRequest();
+        request.setDate(LocalDate.now().plusDays(1));
+        request.setStartTime(LocalTime.of(9, 0));
+        request.setEndTime(LocalTime.of(10, 0));
+        request.setRoomId(1L);
+
+        Room room = new Room();
+        room.setId(1L);
+
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(timeSlotRepository.findByRoomIdAndDate(1L, request.getDate())).thenReturn(Collections.emptyList());
+        when(timeSlotRuleService.overlapsOccurrence(1L, request.getDate(), request.getStartTime(), request.getEndTime(), null))
+                .thenReturn(true);
+
+        ConflictException ex = assertThrows(ConflictException.class, () -> timeSlotService.createTimeSlot(request));
+        assertEquals("Time slot conflicts with a time slot rule", ex.getMessage());
+        verify(timeSlotRepository, never()).save(any(TimeSlot.class));
+    }
+
     @Test
     void updateTimeSlot_success() {
         TimeSlotRequest request = new TimeSlotRequest();
@@ -209,11 +379,11 @@ class TimeSlotServiceTest {
 
         when(timeSlotRepository.findById(1L)).thenReturn(Optional.of(existing));
         when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
-        when(timeSlotRepository.findConflictingTimeSlots(1L, request.getDate(), request.getStartTime(), request.getEndTime()))
+        when(timeSlotRepository.findByRoomIdAndDate(1L, request.getDate()))
                 .thenReturn(Collections.emptyList());
         when(timeSlotRepository.save(existing)).thenReturn(existing);
-        when(roomService.getRoomById(1L)).thenReturn(roomResponse);
-        when(reservationRepository.findBySlotIdAndStatusNot(1L, com.workreserve.backend.reservation.ReservationStatus.CANCELLED)).thenReturn(Collections.emptyList());
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+        when(reservationRepository.findActiveBySlotIdsWithUser(any())).thenReturn(Collections.emptyList());
 
         TimeSlotResponse result = timeSlotService.updateTimeSlot(1L, request);
         assertEquals(1L, result.getId());
@@ -230,8 +400,13 @@ class TimeSlotServiceTest {
 
     @Test
     void deleteTimeSlot_success() {
+        Room room = new Room();
+        room.setId(1L);
+
         TimeSlot timeSlot = new TimeSlot();
         timeSlot.setId(1L);
+        timeSlot.setRoom(room);
+        timeSlot.setDate(LocalDate.now().plusDays(1));
 
         when(timeSlotRepository.findById(1L)).thenReturn(Optional.of(timeSlot));
         when(reservationRepository.existsBySlotIdAndStatusNot(1L, com.workreserve.backend.reservation.ReservationStatus.CANCELLED)).thenReturn(false);
@@ -277,8 +452,8 @@ class TimeSlotServiceTest {
         roomResponse.setId(1L);
 
         when(timeSlotRepository.findByRoomId(1L)).thenReturn(List.of(slot));
-        when(roomService.getRoomById(1L)).thenReturn(roomResponse);
-        when(reservationRepository.findBySlotIdAndStatusNot(1L, com.workreserve.backend.reservation.ReservationStatus.CANCELLED)).thenReturn(Collections.emptyList());
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+        when(reservationRepository.findActiveBySlotIdsWithUser(any())).thenReturn(Collections.emptyList());
 
         List<TimeSlotResponse> result = timeSlotService.getTimeSlotsByRoom(1L);
         assertEquals(1, result.size());
@@ -303,9 +478,9 @@ class TimeSlotServiceTest {
         com.workreserve.backend.room.DTO.RoomResponse roomResponse = new com.workreserve.backend.room.DTO.RoomResponse();
         roomResponse.setId(1L);
 
-        when(timeSlotRepository.findAvailableTimeSlots(startDate, endDate)).thenReturn(List.of(slot));
-        when(roomService.getRoomById(1L)).thenReturn(roomResponse);
-        when(reservationRepository.findBySlotIdAndStatusNot(1L, com.workreserve.backend.reservation.ReservationStatus.CANCELLED)).thenReturn(Collections.emptyList());
+        when(timeSlotRepository.findByDateIn(any())).thenReturn(List.of(slot));
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+        when(reservationRepository.findActiveBySlotIdsWithUser(any())).thenReturn(Collections.emptyList());
 
         List<TimeSlotResponse> result = timeSlotService.getAvailableTimeSlots(startDate, endDate);
         assertEquals(1, result.size());
@@ -330,15 +505,97 @@ class TimeSlotServiceTest {
         com.workreserve.backend.room.DTO.RoomResponse roomResponse = new com.workreserve.backend.room.DTO.RoomResponse();
         roomResponse.setId(1L);
 
-        when(timeSlotRepository.findByDateBetween(startDate, endDate)).thenReturn(List.of(slot));
-        when(roomService.getRoomById(1L)).thenReturn(roomResponse);
-        when(reservationRepository.findBySlotIdAndStatusNot(1L, com.workreserve.backend.reservation.ReservationStatus.CANCELLED)).thenReturn(Collections.emptyList());
+        when(timeSlotRepository.findByDateIn(any())).thenReturn(List.of(slot));
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+        when(reservationRepository.findActiveBySlotIdsWithUser(any())).thenReturn(Collections.emptyList());
 
         List<TimeSlotResponse> result = timeSlotService.getTimeSlotsByDateRange(startDate, endDate);
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).getId());
     }
 
+    @Test
+    void getTimeSlotsByDateRange_mergesVirtualSlotsFromRules() {
+        LocalDate day = LocalDate.now().plusDays(1);
+        Room room = new Room();
+        room.setId(1L);
+
+        TimeSlot slot = new TimeSlot();
+        slot.setId(1L);
+        slot.setRoom(room);
+        slot.setDate(day);
+        slot.setStartTime(LocalTime.of(10, 0));
+        slot.setEndTime(LocalTime.of(11, 0));
+
+        com.workreserve.backend.room.DTO.RoomResponse roomResponse = new com.workreserve.backend.room.DTO.RoomResponse();
+        roomResponse.setId(1L);
+        com.workreserve.backend.room.DTO.RoomResponse otherRoomResponse = new com.workreserve.backend.room.DTO.RoomResponse();
+        otherRoomResponse.setId(2L);
+
+        when(timeSlotRepository.findByDateIn(any())).thenReturn(List.of(slot));
+        when(timeSlotRuleService.expand(eq(day), eq(day), anyCollection())).thenReturn(new java.util.ArrayList<>(List.of(
+                new TimeSlotRuleService.VirtualSlot(-100L, 1L, day, LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                new TimeSlotRuleService.VirtualSlot(-101L, 2L, day, LocalTime.of(9, 0), LocalTime.of(10, 0)))));
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse, 2L, otherRoomResponse));
+        when(reservationRepository.findActiveBySlotIdsWithUser(any())).thenReturn(Collections.emptyList());
+
+        List<TimeSlotResponse> result = timeSlotService.getTimeSlotsByDateRange(day, day);
+
+        assertEquals(List.of(-100L, -101L, 1L), result.stream().map(TimeSlotResponse::getId).toList());
+        assertTrue(result.stream().allMatch(TimeSlotResponse::isAvailable));
+        verify(reservationRepository, never()).findActiveBySlotIdsWithUser(any());
+    }
+
+    @Test
+    void searchTimeSlots_mergesVirtualSlotsAcrossPages() {
+        LocalDate day = LocalDate.now().plusDays(1);
+        Room room = new Room();
+        room.setId(1L);
+
+        TimeSlot first = new TimeSlot();
+        first.setId(1L);
+        first.setRoom(room);
+        first.setDate(day);
+        first.setStartTime(LocalTime.of(10, 0));
+        first.setEndTime(LocalTime.of(11, 0));
+        TimeSlot second = new TimeSlot();
+        second.setId(2L);
+        second.setRoom(room);
+        second.setDate(day);
+        second.setStartTime(LocalTime.of(12, 0));
+        second.setEndTime(LocalTime.of(13, 0));
+
+        com.workreserve.backend.room.DTO.RoomResponse roomResponse = new com.workreserve.backend.room.DTO.RoomResponse();
+        roomResponse.setId(1L);
+
+        TimeSlotSearchRequest request = new TimeSlotSearchRequest();
+        request.setRoomId(1L);
+        request.setSize(2);
+
+        when(timeSlotRepository.search(same(request), isNull(), eq(3))).thenReturn(List.of(first, second));
+        when(timeSlotRepository.search(same(request), notNull(), eq(3))).thenReturn(List.of(second));
+        when(timeSlotRuleService.getHorizonDays()).thenReturn(30);
+        when(timeSlotRuleService.expandExcept(any(), any(), anySet())).thenAnswer(invocation -> new java.util.ArrayList<>(List.of(
+                new TimeSlotRuleService.VirtualSlot(-100L, 1L, day, LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                new TimeSlotRuleService.VirtualSlot(-101L, 1L, day, LocalTime.of(10, 0), LocalTime.of(11, 0)),
+                new TimeSlotRuleService.VirtualSlot(-102L, 1L, day, LocalTime.of(11, 0), LocalTime.of(12, 0)),
+                new TimeSlotRuleService.VirtualSlot(-103L, 2L, day, LocalTime.of(11, 0), LocalTime.of(12, 0)))));
+        when(timeSlotRepository.findSlotKeysByDateBetween(day, day)).thenReturn(List.<Object[]>of(
+                new Object[]{1L, day, LocalTime.of(10, 0), LocalTime.of(11, 0)}));
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+
+        TimeSlotPageResponse firstPage = timeSlotService.searchTimeSlots(request);
+
+        assertEquals(List.of(-100L, 1L), firstPage.getItems().stream().map(TimeSlotResponse::getId).toList());
+        assertNotNull(firstPage.getNextCursor());
+
+        request.setCursor(firstPage.getNextCursor());
+        TimeSlotPageResponse secondPage = timeSlotService.searchTimeSlots(request);
+
+        assertEquals(List.of(-102L, 2L), secondPage.getItems().stream().map(TimeSlotResponse::getId).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
     @Test
     void generateBulkTimeSlots_success() {
         TimeSlotGenerationRequest request = new TimeSlotGenerationRequest();
@@ -364,16 +621,201 @@ class TimeSlotServiceTest {
         com.workreserve.backend.room.DTO.RoomResponse roomResponse = new com.workreserve.backend.room.DTO.RoomResponse();
         roomResponse.setId(1L);
 
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
-        when(timeSlotRepository.findConflictingTimeSlots(any(), any(), any(), any()))
-                .thenReturn(Collections.emptyList());
-        when(timeSlotRepository.save(any(TimeSlot.class))).thenReturn(savedSlot);
-        when(roomService.getRoomById(1L)).thenReturn(roomResponse);
-        when(reservationRepository.findBySlotIdAndStatusNot(1L, com.workreserve.backend.reservation.ReservationStatus.CANCELLED)).thenReturn(Collections.emptyList());
+        TimeSlotGenerationResult generationResult = new TimeSlotGenerationResult();
+        generationResult.setRoomId(1L);
+        generationResult.setCreated(1);
+        generationResult.setCreatedIds(List.of(1L));
+
+        when(timeSlotGenerationPipeline.generate(request)).thenReturn(generationResult);
+        when(timeSlotRepository.findByRoomIdAndDateBetweenOrderByDateAscStartTimeAsc(1L, request.getStartDate(), request.getEndDate()))
+                .thenReturn(List.of(savedSlot));
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+        when(reservationRepository.findActiveBySlotIdsWithUser(any())).thenReturn(Collections.emptyList());
 
         List<TimeSlotResponse> result = timeSlotService.generateBulkTimeSlots(request);
         assertNotNull(result);
-        assertFalse(result.isEmpty());
-        verify(timeSlotRepository, atLeastOnce()).save(any(TimeSlot.class));
+        assertEquals(1, result.size());
+        verify(timeSlotGenerationPipeline).generate(request);
+        verify(timeSlotRepository, never()).save(any(TimeSlot.class));
+    }
+
+    @Test
+    void seatBasedSlots_showOwnSeatsInsteadOfPointerHolder() {
+        Room desks = new Room();
+        desks.setId(1L);
+        desks.setType(com.workreserve.backend.room.RoomType.HOT_DESK);
+
+        TimeSlot open = new TimeSlot();
+        open.setId(1L);
+        open.setRoom(desks);
+        open.setDate(LocalDate.now().plusDays(1));
+        open.setStartTime(LocalTime.of(9, 0));
+        open.setEndTime(LocalTime.of(10, 0));
+
+        // Full, so its pointer names whichever reservation took the last seat.
+        TimeSlot full = new TimeSlot();
+        full.setId(2L);
+        full.setRoom(desks);
+        full.setDate(LocalDate.now().plusDays(1));
+        full.setStartTime(LocalTime.of(10, 0));
+        full.setEndTime(LocalTime.of(11, 0));
+        full.setActiveReservationId(30L);
+
+        User holder = new User();
+        holder.setId(5L);
+        User other = new User();
+        other.setId(6L);
+
+        Reservation seat = new Reservation();
+        seat.setSlot(open);
+        seat.setUser(holder);
+        seat.setStatus(com.workreserve.backend.reservation.ReservationStatus.CONFIRMED);
+
+        com.workreserve.backend.room.DTO.RoomResponse roomResponse = new com.workreserve.backend.room.DTO.RoomResponse();
+        roomResponse.setId(1L);
+        roomResponse.setType(com.workreserve.backend.room.RoomType.HOT_DESK);
+
+        when(timeSlotRepository.findAll()).thenReturn(List.of(open, full));
+        when(timeSlotRepository.findByDateIn(any())).thenReturn(List.of(open, full));
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+        when(reservationRepository.findByUserIdAndSlotIdIn(eq(5L), any())).thenReturn(List.of(seat));
+        when(reservationRepository.findByUserIdAndSlotIdIn(eq(6L), any())).thenReturn(Collections.emptyList());
+
+        try {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(holder, null, List.of()));
+            for (List<TimeSlotResponse> view : List.of(timeSlotService.getAllTimeSlots(),
+                    timeSlotService.getTimeSlotsByDateRange(open.getDate(), open.getDate()))) {
+                assertTrue(view.get(0).isAvailable());
+                assertTrue(view.get(0).isBookedByCurrentUser());
+                assertFalse(view.get(1).isAvailable());
+                assertFalse(view.get(1).isBookedByCurrentUser());
+                assertNull(view.get(1).getBookedByUserName());
+            }
+
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(other, null, List.of()));
+            assertFalse(timeSlotService.getAllTimeSlots().get(0).isBookedByCurrentUser());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        verify(reservationRepository, never()).findActiveBySlotIdsWithUser(any());
+    }
+
+    @Test
+    void getTimeSlotsByDateRange_batchesReservationAndRoomLookups() {
+        LocalDate startDate = LocalDate.now();
+        LocalDate endDate = LocalDate.now().plusDays(7);
+
+        Room room = new Room();
+        room.setId(1L);
+
+        TimeSlot booked = new TimeSlot();
+        booked.setId(1L);
+        booked.setRoom(room);
+        booked.setDate(LocalDate.now().plusDays(1));
+        booked.setStartTime(LocalTime.of(9, 0));
+        booked.setEndTime(LocalTime.of(10, 0));
+
+        TimeSlot free = new TimeSlot();
+        free.setId(2L);
+        free.setRoom(room);
+        free.setDate(LocalDate.now().plusDays(1));
+        free.setStartTime(LocalTime.of(10, 0));
+        free.setEndTime(LocalTime.of(11, 0));
+
+        com.workreserve.backend.user.User user = new com.workreserve.backend.user.User();
+        user.setFullName("Booked User");
+        user.setEmail("booked@example.com");
+
+        com.workreserve.backend.reservation.Reservation reservation = new com.workreserve.backend.reservation.Reservation();
+        reservation.setSlot(booked);
+        reservation.setUser(user);
+        reservation.setStatus(com.workreserve.backend.reservation.ReservationStatus.CONFIRMED);
+        booked.setActiveReservationId(9L);
+
+        com.workreserve.backend.room.DTO.RoomResponse roomResponse = new com.workreserve.backend.room.DTO.RoomResponse();
+        roomResponse.setId(1L);
+
+        when(timeSlotRepository.findByDateIn(any())).thenReturn(List.of(booked, free));
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+        when(reservationRepository.findActiveBySlotIdsWithUser(any())).thenReturn(List.of(reservation));
+
+        List<TimeSlotResponse> result = timeSlotService.getTimeSlotsByDateRange(startDate, endDate);
+
+        assertEquals(2, result.size());
+        assertFalse(result.get(0).isAvailable());
+        assertEquals("Booked User", result.get(0).getBookedByUserName());
+        assertTrue(result.get(1).isAvailable());
+        assertEquals(1L, result.get(1).getRoom().getId());
+        verify(reservationRepository, times(1)).findActiveBySlotIdsWithUser(any());
+        verify(roomService, times(1)).getRoomsByIds(any());
+        verify(reservationRepository, never()).findBySlotIdAndStatusNot(any(), any());
+        verify(roomService, never()).getRoomById(any());
+    }
+
+    @Test
+    void getTimeSlotsByDateRange_stitchesCachedDaysAndLoadsOnlyMissingOnes() {
+        LocalDate monday = LocalDate.now().plusDays(7);
+
+        Room room = new Room();
+        room.setId(1L);
+
+        TimeSlot slot = new TimeSlot();
+        slot.setId(1L);
+        slot.setRoom(room);
+        slot.setDate(monday.plusDays(1));
+        slot.setStartTime(LocalTime.of(9, 0));
+        slot.setEndTime(LocalTime.of(10, 0));
+
+        com.workreserve.backend.room.DTO.RoomResponse roomResponse = new com.workreserve.backend.room.DTO.RoomResponse();
+        roomResponse.setId(1L);
+
+        when(timeSlotRepository.findByDateIn(any())).thenAnswer(invocation -> {
+            Collection<LocalDate> days = invocation.getArgument(0);
+            return days.contains(slot.getDate()) ? List.of(slot) : Collections.emptyList();
+        });
+        when(roomService.getRoomsByIds(any())).thenReturn(Map.of(1L, roomResponse));
+        when(reservationRepository.findActiveBySlotIdsWithUser(any())).thenReturn(Collections.emptyList());
+
+        assertEquals(1, timeSlotService.getTimeSlotsByDateRange(monday, monday.plusDays(6)).size());
+        assertEquals(1, timeSlotService.getAvailableTimeSlots(monday.plusDays(1), monday.plusDays(2)).size());
+        assertEquals(1, timeSlotService.getTimeSlotsByDateRange(monday.plusDays(1), monday.plusDays(9)).size());
+
+        verify(timeSlotRepository, times(2)).findByDateIn(loadedDays.capture());
+        assertEquals(7, loadedDays.getAllValues().get(0).size());
+        assertEquals(List.of(monday.plusDays(7), monday.plusDays(8), monday.plusDays(9)), List.copyOf(loadedDays.getAllValues().get(1)));
+
+        timeSlotSegmentCache.evictSegment(1L, slot.getDate());
+        timeSlotService.getTimeSlotsByDateRange(monday, monday.plusDays(6));
+        verify(timeSlotRepository, times(3)).findByDateIn(loadedDays.capture());
+        assertEquals(List.of(slot.getDate()), List.copyOf(loadedDays.getValue()));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(LocalDateTime dateTime) {
+            instant = dateTime.atZone(getZone()).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
     }
 }